@@ -0,0 +1,40 @@
+package com.assessment.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt encode and match at several cost factors, to size auth.bcrypt.strength
+ * and the password hashing pool.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BCryptBenchmark {
+
+	@Param({"4", "8", "10", "12"})
+	private int strength;
+
+	private BCryptPasswordEncoder encoder;
+	private String hash;
+
+	@Setup
+	public void setUp() {
+		encoder = new BCryptPasswordEncoder(strength);
+		hash = encoder.encode(Fixtures.PASSWORD);
+	}
+
+	@Benchmark
+	public String encode() {
+		return encoder.encode(Fixtures.PASSWORD);
+	}
+
+	@Benchmark
+	public boolean matches() {
+		return encoder.matches(Fixtures.PASSWORD, hash);
+	}
+}
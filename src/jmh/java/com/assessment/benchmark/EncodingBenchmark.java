@@ -0,0 +1,109 @@
+package com.assessment.benchmark;
+
+import com.assessment.model.UserPageResponse;
+import com.assessment.model.UserView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Wire size and encode/decode time of a page of users in each response format GET /api/users offers.
+ *
+ * - format is the negotiated body format; compression is the response compression Tomcat applies
+ *   for Accept-Encoding: gzip (at the JDK's default level, as Tomcat does).
+ * - The bytes on the wire for each combination are printed once per trial, before the warmup.
+ * - encode writes to a counting stream, so it measures encoding rather than buffer growth;
+ *   decode reads the page back as a client would.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EncodingBenchmark {
+
+	@Param({"1000", "100000"})
+	private int pageSize;
+
+	@Param({"json", "cbor", "smile"})
+	private String format;
+
+	@Param({"none", "gzip"})
+	private String compression;
+
+	private ObjectMapper objectMapper;
+	private UserPageResponse page;
+	private byte[] encoded;
+
+	@Setup
+	public void setUp() throws IOException {
+		// Same defaults and modules as the converters MetricsConfig registers for each format
+		Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule());
+		switch (format) {
+			case "cbor" -> builder.factory(new CBORFactory());
+			case "smile" -> builder.factory(new SmileFactory());
+			default -> { }
+		}
+		objectMapper = builder.build();
+
+		page = new UserPageResponse("success", "Fetched users successfully", 100_000L,
+				IntStream.range(0, pageSize).mapToObj(i -> UserView.of(Fixtures.user(i))).toList(), "bmV4dC1wYWdl");
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		write(bytes);
+		encoded = bytes.toByteArray();
+		System.out.printf("%n%s, %s, %d users: %d bytes on the wire%n", format, compression, pageSize, encoded.length);
+	}
+
+	@Benchmark
+	public long encode() throws IOException {
+		CountingOutputStream out = new CountingOutputStream();
+		write(out);
+		return out.count;
+	}
+
+	@Benchmark
+	public UserPageResponse decode() throws IOException {
+		InputStream in = new ByteArrayInputStream(encoded);
+		if (compression.equals("gzip")) {
+			in = new GZIPInputStream(in, 8192);
+		}
+		return objectMapper.readValue(in, UserPageResponse.class);
+	}
+
+	private void write(OutputStream target) throws IOException {
+		OutputStream out = compression.equals("gzip") ? new GZIPOutputStream(target, 8192) : target;
+		objectMapper.writeValue(out, page); // Closes the stream, which finishes the gzip trailer
+	}
+
+	/**
+	 * Discards what is written and keeps its length.
+	 */
+	private static final class CountingOutputStream extends OutputStream {
+
+		private long count;
+
+		@Override
+		public void write(int b) {
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			count += len;
+		}
+	}
+}
@@ -0,0 +1,22 @@
+package com.assessment.benchmark;
+
+import com.assessment.model.User;
+import java.time.Instant;
+
+/**
+ * Shared benchmark data.
+ */
+final class Fixtures {
+
+	static final String JWT_SECRET = "benchmarkSecretKeyThatIsAtLeast32CharactersLong!";
+	static final String PASSWORD = "Password123!";
+
+	private Fixtures() {
+	}
+
+	static User user(int i) {
+		return new User(String.format("%024x", i), "First" + i, "Last" + i, "user" + i + "@example.com",
+				"+1555" + String.format("%07d", i), "$2a$10$abcdefghijklmnopqrstuvABCDEFGHIJKLMNOPQRSTUVWXYZ01234",
+				"USER", 1, Instant.EPOCH, 0, Instant.EPOCH);
+	}
+}
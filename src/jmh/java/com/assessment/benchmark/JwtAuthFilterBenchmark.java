@@ -0,0 +1,71 @@
+package com.assessment.benchmark;
+
+import com.assessment.model.User;
+import com.assessment.security.CustomUserDetailsService;
+import com.assessment.security.JwtAuthFilter;
+import com.assessment.repository.InMemoryRefreshTokenStore;
+import com.assessment.security.JwtUtil;
+import com.assessment.security.SessionRevocationList;
+import com.assessment.security.TokenVersionRegistry;
+import com.assessment.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One pass of an authenticated request through JwtAuthFilter with a stubbed
+ * UserDetailsService and a no-op chain, with and without the verified-token cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtAuthFilterBenchmark {
+
+	@Param({"true", "false"})
+	private boolean tokenCache;
+
+	private JwtAuthFilter filter;
+	private MockHttpServletRequest request;
+	private FilterChain chain;
+
+	@Setup
+	public void setUp(Blackhole blackhole) {
+		JwtUtil jwtUtil = new JwtUtil(Fixtures.JWT_SECRET);
+		ReflectionTestUtils.setField(jwtUtil, "expirationMs", 3_600_000);
+
+		User user = Fixtures.user(0);
+		UserDetails userDetails = CustomUserDetailsService.toUserDetails(user);
+
+		// A cache bounded at zero entries verifies every token
+		VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(tokenCache ? 10_000 : 0);
+		filter = new JwtAuthFilter(jwtUtil, verifiedTokenCache, username -> userDetails,
+				new DefaultListableBeanFactory().getBeanProvider(TokenVersionRegistry.class),
+				new SessionRevocationList(new InMemoryRefreshTokenStore(), 10_000, 0.01), new SimpleMeterRegistry());
+
+		request = new MockHttpServletRequest("GET", "/api/users");
+		request.addHeader("Authorization", "Bearer " + jwtUtil.generateToken(user, "session-0"));
+		chain = (req, res) -> blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+	}
+
+	@Benchmark
+	public void authenticate() throws Exception {
+		// OncePerRequestFilter marks the request as filtered, so each call starts from a fresh one
+		request.clearAttributes();
+		try {
+			filter.doFilter(request, new MockHttpServletResponse(), chain);
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+	}
+}
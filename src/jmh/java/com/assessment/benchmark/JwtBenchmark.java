@@ -0,0 +1,93 @@
+package com.assessment.benchmark;
+
+import com.assessment.model.User;
+import com.assessment.security.JwtUtil;
+import com.assessment.security.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.security.Key;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation and verification costs on the authentication hot path.
+ * The jjwt* benchmarks run the same operations through jjwt's generic builder and parser as a baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+	private JwtUtil jwtUtil;
+	private VerifiedTokenCache verifiedTokenCache;
+	private User user;
+	private String token;
+	private Key key;
+	private JwtParser jjwtParser;
+
+	@Setup
+	public void setUp() {
+		jwtUtil = new JwtUtil(Fixtures.JWT_SECRET);
+		ReflectionTestUtils.setField(jwtUtil, "expirationMs", 3_600_000);
+		verifiedTokenCache = new VerifiedTokenCache(10_000);
+		user = Fixtures.user(0);
+		token = jwtUtil.generateToken(user);
+		verifiedTokenCache.verify(token, jwtUtil::verifyToken);
+		key = Keys.hmacShaKeyFor(Base64.getEncoder().encode(Fixtures.JWT_SECRET.getBytes()));
+		jjwtParser = Jwts.parserBuilder().setSigningKey(key).build();
+	}
+
+	@Benchmark
+	public String generateToken() {
+		return jwtUtil.generateToken(user);
+	}
+
+	@Benchmark
+	public String extractUsername() {
+		return jwtUtil.extractUsername(token);
+	}
+
+	@Benchmark
+	public boolean validateToken() {
+		return jwtUtil.validateToken(token);
+	}
+
+	@Benchmark
+	public Optional<Claims> verifyToken() {
+		return jwtUtil.verifyToken(token);
+	}
+
+	@Benchmark
+	public Optional<Claims> verifyCachedToken() {
+		return verifiedTokenCache.verify(token, jwtUtil::verifyToken);
+	}
+
+	@Benchmark
+	public String jjwtGenerateToken() {
+		long now = System.currentTimeMillis();
+		return Jwts.builder()
+				.setSubject(user.getEmail())
+				.claim(JwtUtil.USER_ID_CLAIM, user.getId())
+				.claim(JwtUtil.TOKEN_VERSION_CLAIM, user.getTokenVersion())
+				.setIssuedAt(new Date(now))
+				.setExpiration(new Date(now + 3_600_000))
+				.claim(JwtUtil.ROLE_CLAIM, user.getRole())
+				.signWith(key, SignatureAlgorithm.HS256)
+				.compact();
+	}
+
+	@Benchmark
+	public Claims jjwtVerifyToken() {
+		return jjwtParser.parseClaimsJws(token).getBody();
+	}
+}
@@ -2,6 +2,7 @@ package com.assessment;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Info;
 
@@ -11,8 +12,10 @@ import io.swagger.v3.oas.annotations.info.Info;
  * - Entry point for the Spring Boot application.
  * - Configures and starts the RunLoyal Assessment application.
  * - Enables OpenAPI documentation using Swagger.
+ * - Enables scheduled background tasks.
  */
 @SpringBootApplication
+@EnableScheduling
 @OpenAPIDefinition(info = @Info(
         title = "RunLoyal Assessment APIs",
         version = "1.0",
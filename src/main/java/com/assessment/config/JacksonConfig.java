@@ -0,0 +1,29 @@
+package com.assessment.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson Configuration
+ * Tunes the ObjectMapper that Spring Boot builds for request and response bodies.
+ *
+ * - Spring Boot registers every Module bean with its ObjectMapper, so the rest of its defaults are kept.
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Replaces reflective getter and constructor calls with lambdas generated through LambdaMetafactory.
+     * 
+     * - Speeds up serialization of the response records and the user views on every request.
+     * - Blackbird is the successor of Afterburner for Java 11 and later and needs no extra JVM flags.
+     *
+     * @return The Blackbird module.
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -1,30 +1,40 @@
 package com.assessment.controller;
 
+import com.assessment.model.IntrospectionRequest;
 import com.assessment.model.User;
 import com.assessment.service.AuthService;
+import com.assessment.service.TokenIntrospectionService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Authentication Controller
- * Handles user authentication-related operations such as signup and signin.
+ * Handles user authentication-related operations such as signup, signin, token revocation and introspection.
  */
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
+@Profile("!reactive")
 public class AuthController {
     
     private final AuthService authService;
+    private final TokenIntrospectionService tokenIntrospectionService;
 
     /**
      * User Registration (Signup)
      * 
      * @param user The user details (first name, last name, email, password, etc.)
-     * @return A response entity with a success status and an authentication token upon successful registration
+     * @return A response entity with a success status and an authentication token upon successful registration,
+     *         completed once the password has been hashed
      */
     @PostMapping("/signup")
-    public ResponseEntity<?> signup(@RequestBody User user) {
+    public CompletableFuture<ResponseEntity<?>> signup(@RequestBody User user) {
         return authService.registerUser(user);
     }
 
@@ -32,10 +42,50 @@ public class AuthController {
      * User Authentication (Signin)
      * 
      * @param user The user login credentials (email and password)
-     * @return A response entity with a success status and an authentication token if credentials are valid
+     * @param request The current request, whose remote address the signin rate limit is keyed by
+     * @return A response entity with a success status and an authentication token if credentials are valid,
+     *         completed once the password has been checked, or 429 if too many attempts were made
      */
     @PostMapping("/signin")
-    public ResponseEntity<?> signin(@RequestBody User user) {
-        return authService.login(user.getEmail(), user.getPassword());
+    public CompletableFuture<ResponseEntity<?>> signin(@RequestBody User user, HttpServletRequest request) {
+        return authService.login(user.getEmail(), user.getPassword(), request.getRemoteAddr());
+    }
+
+    /**
+     * Token Refresh
+     * 
+     * @param body A JSON object with the refreshToken returned by signup, signin or a previous refresh
+     * @return A response entity with a new access token and refresh token, or 401 if the refresh token cannot be used
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody Map<String, String> body) {
+        return authService.refresh(body.get("refreshToken"));
+    }
+
+    /**
+     * Token Revocation (Admin Only)
+     * 
+     * @param id The ID of the user whose tokens should be revoked.
+     * @return A response entity with a success status, or an error if the user does not exist
+     */
+    @PostMapping("/revoke/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> revoke(@PathVariable String id) {
+        return authService.revokeTokens(id);
+    }
+
+    /**
+     * Batch Token Introspection
+     * 
+     * - For other services: checks up to auth.introspect.maxBatch access tokens in one call.
+     * - Callers authenticate with HTTP Basic as one of the clients in auth.introspect.clients (see IntrospectionClientFilter).
+     *
+     * @param request The tokens to check
+     * @return A response entity with one result per token (active, sub, userId, role, exp) and a Cache-Control
+     *         max-age callers may cache it for, or 400 if the batch is empty or too large
+     */
+    @PostMapping("/introspect")
+    public ResponseEntity<?> introspect(@RequestBody IntrospectionRequest request) {
+        return tokenIntrospectionService.introspect(request.tokens());
     }
 }
@@ -0,0 +1,71 @@
+package com.assessment.controller;
+
+import com.assessment.model.UserView;
+import com.assessment.repository.UserSearch;
+import org.bson.types.ObjectId;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Page Cursor
+ * Encodes and decodes the opaque cursors used for keyset pagination of users.
+ *
+ * - In ID order a cursor holds the last ID of the page; in any other order it also holds that user's sort value,
+ *   or a marker when the user has none, so that position can still be resumed.
+ */
+final class PageCursor {
+
+    private static final char SEPARATOR = ':'; // Never part of an ID
+    private static final char NULL_VALUE = '!'; // Follows the ID when the sort value is null
+
+    private PageCursor() {
+    }
+
+    /**
+     * Encodes where a page ended as an opaque, URL-safe cursor.
+     *
+     * @param position The ID and sort value of the last user on the page.
+     * @param sortKey The sort key of the page.
+     * @return The cursor for the following page.
+     */
+    static String encode(UserSearch.Position position, UserSearch.SortKey sortKey) {
+        String text = sortKey == UserSearch.SortKey.ID ? position.id()
+                : position.value() == null ? position.id() + NULL_VALUE
+                : position.id() + SEPARATOR + position.value();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Encodes the cursor of the page that follows the given user.
+     *
+     * @param search The search the page was read with.
+     * @param last The last user on the page.
+     * @return The cursor for the following page.
+     */
+    static String after(UserSearch search, UserView last) {
+        return encode(new UserSearch.Position(search.sortKey().sortValue(last), last.id()), search.sortKey());
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode(UserSearch.Position, UserSearch.SortKey)}.
+     *
+     * @param cursor The cursor sent by the client.
+     * @param sortKey The sort key of the requested page.
+     * @return Where the previous page ended.
+     * @throws IllegalArgumentException if the cursor is not valid, or was issued for ID order but a sort value is needed.
+     */
+    static UserSearch.Position decode(String cursor, UserSearch.SortKey sortKey) {
+        String text = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        boolean nullValue = sortKey != UserSearch.SortKey.ID && text.indexOf(SEPARATOR) < 0
+                && text.endsWith(String.valueOf(NULL_VALUE));
+        int separator = nullValue ? text.length() - 1 : text.indexOf(SEPARATOR);
+        String id = separator < 0 ? text : text.substring(0, separator);
+        if (!ObjectId.isValid(id)) {
+            throw new IllegalArgumentException("Cursor does not contain a valid ID");
+        }
+        if (separator < 0 && sortKey != UserSearch.SortKey.ID) {
+            throw new IllegalArgumentException("Cursor does not contain a sort value");
+        }
+        return new UserSearch.Position(separator < 0 || nullValue ? null : text.substring(separator + 1), id);
+    }
+}
@@ -0,0 +1,67 @@
+package com.assessment.controller;
+
+import com.assessment.model.User;
+import com.assessment.service.ReactiveAuthService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import java.net.InetSocketAddress;
+
+/**
+ * Reactive Authentication Controller
+ * Non-blocking counterpart of {@link AuthController} for the reactive profile, with the same endpoints and responses.
+ */
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+@Profile("reactive")
+public class ReactiveAuthController {
+
+    private final ReactiveAuthService authService;
+
+    /**
+     * User Registration (Signup)
+     * 
+     * @param user The user details (first name, last name, email, password, etc.)
+     * @return A Mono emitting a success status and an authentication token upon successful registration
+     */
+    @PostMapping("/signup")
+    public Mono<ResponseEntity<?>> signup(@RequestBody User user) {
+        return authService.registerUser(user);
+    }
+
+    /**
+     * User Authentication (Signin)
+     * 
+     * @param user The user login credentials (email and password)
+     * @param exchange The current exchange, whose remote address the signin rate limit is keyed by
+     * @return A Mono emitting a success status and an authentication token if credentials are valid,
+     *         or 429 if too many attempts were made
+     */
+    @PostMapping("/signin")
+    public Mono<ResponseEntity<?>> signin(@RequestBody User user, ServerWebExchange exchange) {
+        return authService.login(user.getEmail(), user.getPassword(), clientAddress(exchange));
+    }
+
+    /**
+     * Token Revocation (Admin Only)
+     * 
+     * @param id The ID of the user whose tokens should be revoked.
+     * @return A Mono emitting a success status, or an error if the user does not exist
+     */
+    @PostMapping("/revoke/{id}")
+    public Mono<ResponseEntity<?>> revoke(@PathVariable String id) {
+        return authService.revokeTokens(id);
+    }
+
+    private static String clientAddress(ServerWebExchange exchange) {
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        if (remote == null) {
+            return null;
+        }
+        return remote.getAddress() == null ? remote.getHostString() : remote.getAddress().getHostAddress();
+    }
+}
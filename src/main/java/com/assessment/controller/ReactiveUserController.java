@@ -0,0 +1,213 @@
+package com.assessment.controller;
+
+import com.assessment.model.ApiResponse;
+import com.assessment.model.User;
+import com.assessment.model.UserPageResponse;
+import com.assessment.model.UserResponse;
+import com.assessment.model.UserView;
+import com.assessment.repository.ReactiveUserRepository;
+import com.assessment.repository.UserSearch;
+import com.assessment.security.UserDetailsCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Reactive User Controller
+ * Non-blocking counterpart of {@link UserController} for the reactive profile, with the same endpoints and responses.
+ *
+ * - GET /api/users/stream emits users as a Flux, so the Mongo cursor is only read as fast as the client consumes.
+ */
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+@Profile("reactive")
+public class ReactiveUserController {
+
+    private final ReactiveUserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+
+    @Value("${users.defaultPageSize:50}")
+    private int defaultPageSize; // Page size used when no limit is requested
+
+    @Value("${users.maxPageSize:500}")
+    private int maxPageSize; // Largest page a client may request
+
+    /**
+     * Update User Profile
+     * 
+     * - A user can update only their own profile.
+     * - An admin can update any user's profile.
+     *
+     * @param id The ID of the user to update.
+     * @param updatedUser The updated user data.
+     * @param authentication The authentication object containing the logged-in user's details.
+     * @return A Mono emitting the updated user data or an error message.
+     */
+    @PutMapping("/user/update/{id}")
+    public Mono<ResponseEntity<?>> updateUser(@PathVariable String id, @RequestBody User updatedUser, Authentication authentication) {
+        return userRepository.findById(id)
+            .flatMap(user -> {
+                // Allow update if the user is an admin or updating their own data
+                if (!isAdmin(authentication) && !user.getEmail().equals(authentication.getName())) {
+                    return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).body(
+                        ApiResponse.error("You are not allowed to update this user.")));
+                }
+
+                user.setFirstName(updatedUser.getFirstName());
+                user.setLastName(updatedUser.getLastName());
+                user.setVersion(user.getVersion() + 1);
+                user.setLastModified(Instant.now());
+
+                return userRepository.save(user).<ResponseEntity<?>>map(savedUser -> {
+                    userDetailsCache.evict(savedUser.getEmail()); // Next request reloads the updated user
+                    return ResponseEntity.ok(UserResponse.success("User updated successfully", UserView.of(savedUser)));
+                });
+            })
+            .switchIfEmpty(Mono.fromSupplier(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(
+                ApiResponse.error("User not found"))));
+    }
+
+    /**
+     * Get User(s) Data
+     * 
+     * - If an ID is provided, fetches a specific user's data.
+     * - If no ID is provided, fetches one keyset-paginated page of users, with the same filters, sort keys
+     *   and count mode as {@link UserController#getUsers}.
+     * - Responses carry the same ETags as {@link UserController#getUsers}; a matching If-None-Match is answered with 304.
+     * - Only admins are allowed to access this endpoint.
+     *
+     * @param id (Optional) The ID of the user to fetch.
+     * @param cursor (Optional) The opaque cursor returned with the previous page.
+     * @param limit (Optional) The page size, capped at users.maxPageSize.
+     * @param role (Optional) Only users with this role.
+     * @param emailPrefix (Optional) Only users whose email starts with this prefix (case-sensitive).
+     * @param namePrefix (Optional) Only users whose last name starts with this prefix (case-sensitive).
+     * @param mobileNumber (Optional) Only users with exactly this mobile number.
+     * @param sort (Optional) id, email or lastName; defaults to the field of a prefix filter, else id.
+     *             Without mobileNumber, a prefix filter requires sorting by its field.
+     * @param count (Optional) If true, return only the number of matching users.
+     * @param authentication The authentication object containing the logged-in user's details.
+     * @param exchange The current exchange, used to evaluate If-None-Match.
+     * @return A Mono emitting a page of users or a single user's data.
+     */
+    @GetMapping("/users")
+    public Mono<ResponseEntity<?>> getUsers(@RequestParam(required = false) String id,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer limit,
+                                            @RequestParam(required = false) String role,
+                                            @RequestParam(required = false) String emailPrefix,
+                                            @RequestParam(required = false) String namePrefix,
+                                            @RequestParam(required = false) String mobileNumber,
+                                            @RequestParam(required = false) String sort,
+                                            @RequestParam(defaultValue = "false") boolean count,
+                                            Authentication authentication,
+                                            ServerWebExchange exchange) {
+        if (!isAdmin(authentication)) {
+            return Mono.just(forbidden());
+        }
+
+        // Fetch a specific user by ID
+        if (id != null) {
+            return userRepository.findViewById(id)
+                // The result handler answers a matching If-None-Match with 304 without serializing the body
+                .<ResponseEntity<?>>map(user -> ResponseEntity.ok()
+                    .eTag("\"" + user.version() + "\"")
+                    .body(UserResponse.success("Fetched user successfully", user)))
+                .switchIfEmpty(Mono.fromSupplier(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(
+                    ApiResponse.error("User not found"))));
+        }
+
+        UserSearch search;
+        try {
+            search = UserSearch.of(role, emailPrefix, namePrefix, mobileNumber, sort);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage())));
+        }
+
+        UserSearch.Position after;
+        try {
+            after = cursor == null ? null : PageCursor.decode(cursor, search.sortKey());
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.badRequest().body(ApiResponse.error("Invalid cursor")));
+        }
+
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+
+        return userRepository.collectionVersion().flatMap(version -> {
+            // Checked before the page is read: an unchanged collection version means an unchanged page
+            String etag = "W/\"" + version + "\"";
+            if (exchange.checkNotModified(etag)) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build());
+            }
+
+            if (count) {
+                return userRepository.countMatching(search).map(matching -> ResponseEntity.ok().eTag(etag).body(
+                    new UserPageResponse("success", "Counted users successfully", matching, null, null)));
+            }
+
+            // Fetch one extra user to learn whether another page follows
+            return userRepository.search(search, after, pageSize + 1)
+                .collectList()
+                .zipWith(userRepository.estimatedCount())
+                .map(result -> {
+                    List<UserView> users = result.getT1();
+                    boolean hasMore = users.size() > pageSize;
+                    if (hasMore) {
+                        users = users.subList(0, pageSize);
+                    }
+
+                    if (users.isEmpty() && after == null) {
+                        return ResponseEntity.status(HttpStatus.NO_CONTENT).eTag(etag).body(
+                            new UserPageResponse("success", "No users found", 0, null, null));
+                    }
+
+                    return ResponseEntity.ok().eTag(etag).body(new UserPageResponse(
+                        "success",
+                        "Fetched users successfully",
+                        result.getT2(), // Collection metadata, not a scan
+                        users,
+                        hasMore ? PageCursor.after(search, users.get(users.size() - 1)) : null));
+                });
+        });
+    }
+
+    /**
+     * Stream All Users (NDJSON)
+     * 
+     * - Emits every user as one JSON document per line with backpressure:
+     *   the database cursor is drained only as fast as the client reads.
+     * - Only admins are allowed to access this endpoint.
+     *
+     * @param authentication The authentication object containing the logged-in user's details.
+     * @return A Flux of users rendered as application/x-ndjson.
+     */
+    @GetMapping(value = "/users/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<UserView> streamUsers(Authentication authentication) {
+        if (!isAdmin(authentication)) {
+            return Flux.error(new ResponseStatusException(HttpStatus.FORBIDDEN,
+                "You are not permitted to access this data"));
+        }
+        return userRepository.findViewsBy();
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .anyMatch(role -> role.getAuthority().equals("ROLE_ADMIN"));
+    }
+
+    private static ResponseEntity<?> forbidden() {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("You are not permitted to access this data"));
+    }
+}
@@ -1,32 +1,81 @@
 package com.assessment.controller;
 
+import com.assessment.model.ApiResponse;
+import com.assessment.model.AuditEvent;
+import com.assessment.model.BulkUpdateResponse;
 import com.assessment.model.User;
+import com.assessment.model.UserPageResponse;
+import com.assessment.model.UserResponse;
+import com.assessment.model.UserUpdate;
+import com.assessment.model.UserView;
+import com.assessment.model.VersionConflictResponse;
+import com.assessment.repository.BulkUpdateResult;
+import com.assessment.repository.UserReadModelUpdater;
 import com.assessment.repository.UserRepository;
+import com.assessment.repository.UserSearch;
+import com.assessment.repository.UserViewQueries;
+import com.assessment.security.UserDetailsCache;
+import com.assessment.service.AuditLog;
+import com.assessment.service.UserImportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.core.Authentication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.http.HttpStatus;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * User Controller
  * Handles operations related to user management, including fetching user data and updating user profiles.
+ *
+ * - Bodies are JSON by default. Clients that send Accept (or Content-Type) application/cbor or
+ *   application/x-jackson-smile get the same documents in that binary format; see MetricsConfig.
  */
 @RestController
 @RequestMapping("/api")
 @RequiredArgsConstructor
+@Profile("!reactive")
 public class UserController {
     
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final UserImportService userImportService;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<UserReadModelUpdater> readModelUpdater;
+    private final ObjectProvider<AuditLog> auditLog;
+
+    @Value("${users.defaultPageSize:50}")
+    private int defaultPageSize; // Page size used when no limit is requested
+
+    @Value("${users.maxPageSize:500}")
+    private int maxPageSize; // Largest page a client may request
 
     /**
      * Update User Profile
      * 
      * - A user can update only their own profile.
      * - An admin can update any user's profile.
+     * - Applied atomically with a single findAndModify that sets only the first and last name.
+     * - A body with neither name changes nothing and returns the user as it is, as this endpoint always has.
      *
      * @param id The ID of the user to update.
      * @param updatedUser The updated user data.
@@ -36,88 +85,358 @@ public class UserController {
     @PutMapping("/user/update/{id}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<?> updateUser(@PathVariable String id, @RequestBody User updatedUser, Authentication authentication) {
-        String loggedInUserEmail = authentication.getName(); // Get logged-in user's email
-    
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-    
-        boolean isAdmin = authentication.getAuthorities().stream()
-                .anyMatch(grantedAuthority -> grantedAuthority.getAuthority().equals("ROLE_ADMIN"));
-    
-        // Allow update if the user is an admin or updating their own data
-        if (isAdmin || user.getEmail().equals(loggedInUserEmail)) {
-            user.setFirstName(updatedUser.getFirstName());
-            user.setLastName(updatedUser.getLastName());
-
-            return ResponseEntity.ok(Map.of(
-                "status", "success",
-                "message", "User updated successfully",
-                "user", userRepository.save(user)
-            ));
-        } else {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of(
-                "status", "error",
-                "message", "You are not allowed to update this user."
-            ));
+        UserUpdate update = new UserUpdate(id, updatedUser.getFirstName(), updatedUser.getLastName(), null, null);
+        if (update.changes().isEmpty()) {
+            return unchanged(id, authentication);
+        }
+        return applyUpdate(id, update, authentication);
+    }
+
+    /**
+     * Answers an update that changes nothing with the user as stored, after the same checks as a real update.
+     */
+    private ResponseEntity<?> unchanged(String id, Authentication authentication) {
+        Optional<UserView> existing = userRepository.findViewById(id);
+        if (existing.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error("User not found"));
+        }
+        if (!isAdmin(authentication) && !existing.get().email().equals(authentication.getName())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("You are not allowed to update this user."));
+        }
+        return ResponseEntity.ok()
+                .eTag(etag(existing.get().version()))
+                .body(UserResponse.success("User updated successfully", existing.get()));
+    }
+
+    /**
+     * Partially Update User Profile
+     * 
+     * - Sets only the fields present in the body (firstName, lastName, mobileNumber) in one atomic findAndModify.
+     * - A user can update only their own profile; an admin can update any profile.
+     *   The ownership check is part of the update's query filter.
+     * - Send If-Match with the version last read to fail with 412 instead of overwriting a concurrent change.
+     *   If-Match uses strong comparison (RFC 9110), so a weak tag such as W/"3" never matches and also gets 412.
+     *
+     * @param id The ID of the user to update.
+     * @param update The fields to change.
+     * @param ifMatch (Optional) The expected user version, e.g. "3".
+     * @param authentication The authentication object containing the logged-in user's details.
+     * @return A success response with the updated user data or an error message.
+     */
+    @PatchMapping("/user/{id}")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<?> patchUser(@PathVariable String id, @RequestBody UserUpdate update,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                       Authentication authentication) {
+        if (ifMatch != null && ifMatch.trim().startsWith("W/")) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .body(ApiResponse.error("If-Match needs a strong ETag"));
+        }
+        Long expectedVersion;
+        try {
+            expectedVersion = ifMatch == null ? null : parseVersion(ifMatch);
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Invalid If-Match version"));
+        }
+
+        return applyUpdate(id, new UserUpdate(id, update.firstName(), update.lastName(), update.mobileNumber(), expectedVersion),
+                authentication);
+    }
+
+    /**
+     * Batch Update Users (Admin Only)
+     * 
+     * - Applies every update in one unordered bulk write; each item names its user by id
+     *   and may carry the version it expects.
+     * - Reports how many users were matched and modified; updates whose version no longer matches are not applied.
+     * - The bulk write reports only counts, so audit events record the batch's outcome: every update with reason
+     *   "bulk" when all of them matched, none when none did, and every update with reason "bulk_unconfirmed" otherwise.
+     *
+     * @param updates The updates to apply.
+     * @param authentication The authentication object containing the logged-in user's details.
+     * @return The number of requested, matched and modified users.
+     */
+    @PatchMapping("/users")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> patchUsers(@RequestBody List<UserUpdate> updates, Authentication authentication) {
+        if (!isAdmin(authentication)) {
+            return forbidden();
+        }
+
+        for (UserUpdate update : updates) {
+            String problem = update.id() == null ? "Every update needs an id" : update.validate();
+            if (problem != null) {
+                return ResponseEntity.badRequest().body(ApiResponse.error(problem));
+            }
+        }
+
+        BulkUpdateResult result = userRepository.updateFieldsInBulk(updates);
+        if (result.matched() > 0) {
+            String reason = result.matched() == result.requested() ? "bulk" : "bulk_unconfirmed";
+            auditLog.ifAvailable(events -> updates.forEach(update -> events.record(AuditEvent.profileUpdated(
+                    update.id(), authentication.getName(), List.copyOf(update.changes().keySet()), reason))));
+        }
+
+        return ResponseEntity.ok(new BulkUpdateResponse("success", "Users updated successfully",
+                result.requested(), result.matched(), result.modified()));
+    }
+
+    /**
+     * Applies a single partial update atomically and maps the outcome to a response.
+     *
+     * - Non-admins may only update the user whose email matches their own; this is enforced by the query filter.
+     * - When nothing matched, one extra read tells apart a missing user, a forbidden update and a stale version.
+     * - Applied updates are recorded in the AuditLog, off the request path.
+     */
+    private ResponseEntity<?> applyUpdate(String id, UserUpdate update, Authentication authentication) {
+        String problem = update.validate();
+        if (problem != null) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(problem));
+        }
+
+        String ownerEmail = isAdmin(authentication) ? null : authentication.getName(); // Get logged-in user's email
+        Optional<UserView> updated = userRepository.updateFields(id, ownerEmail, update.version(), update.changes());
+
+        if (updated.isPresent()) {
+            userDetailsCache.evict(updated.get().email()); // Next request reloads the updated user
+            auditLog.ifAvailable(events -> events.record(AuditEvent.profileUpdated(
+                    id, authentication.getName(), List.copyOf(update.changes().keySet()), null)));
+
+            return ResponseEntity.ok()
+                    .eTag(etag(updated.get().version()))
+                    .body(UserResponse.success("User updated successfully", updated.get()));
+        }
+
+        Optional<UserView> existing = userRepository.findViewById(id);
+        if (existing.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error("User not found"));
+        }
+        if (ownerEmail != null && !existing.get().email().equals(ownerEmail)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("You are not allowed to update this user."));
         }
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(new VersionConflictResponse(
+            "error", "User was modified by another request", existing.get().version()));
+    }
+
+    /**
+     * Formats a user version as the strong ETag that If-Match and If-None-Match are compared with.
+     */
+    private static String etag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Reads a version number from a strong If-Match header value such as "3" or 3.
+     *
+     * @throws NumberFormatException if the value does not contain a version number.
+     */
+    private static long parseVersion(String ifMatch) {
+        return Long.parseLong(ifMatch.trim().replace("\"", ""));
     }
 
     /**
      * Get User(s) Data
      * 
      * - If an ID is provided, fetches a specific user's data.
-     * - If no ID is provided, fetches all users with a total count.
+     * - If no ID is provided, fetches one page of users ordered by ID, with an estimated total count.
+     * - Pages can be filtered by role, email prefix, last name prefix and mobile number, and sorted by
+     *   id, email or lastName. Every filter is answered from an index (see {@link UserSearch}).
+     * - With count=true, returns only the number of matching users.
+     * - Pages are keyset-paginated on the sort key: pass the returned nextCursor to fetch the following page.
+     * - Users are read as {@link UserView} projections, so password hashes are never loaded or returned.
+     * - Responses carry an ETag: the user's version (strong) for a single user, the collection version for a page.
+     *   A matching If-None-Match is answered with 304; for pages this happens before any user is read.
+     * - Page ETags are weak: the JSON, CBOR and Smile forms of a page, gzipped or not, share one, and Tomcat
+     *   only compresses responses without a strong ETag. Responses vary by Accept.
+     * - With users.readModel.enabled, reads are answered from the in-memory read model while it is within its
+     *   staleness bound, which is reported in the X-Read-Model-Staleness-Ms header; otherwise they go to MongoDB.
      * - Only admins are allowed to access this endpoint.
      *
      * @param id (Optional) The ID of the user to fetch.
+     * @param cursor (Optional) The opaque cursor returned with the previous page.
+     * @param limit (Optional) The page size, capped at users.maxPageSize.
+     * @param role (Optional) Only users with this role.
+     * @param emailPrefix (Optional) Only users whose email starts with this prefix (case-sensitive).
+     * @param namePrefix (Optional) Only users whose last name starts with this prefix (case-sensitive).
+     * @param mobileNumber (Optional) Only users with exactly this mobile number.
+     * @param sort (Optional) id, email or lastName; defaults to the field of a prefix filter, else id.
+     *             Without mobileNumber, a prefix filter requires sorting by its field.
+     * @param count (Optional) If true, return only the number of matching users.
      * @param authentication The authentication object containing the logged-in user's details.
-     * @return A list of users or a single user's data based on the request parameters.
+     * @param request The current request, used to evaluate If-None-Match.
+     * @param response The current response, which reports the staleness of data read from the read model.
+     * @return A page of users or a single user's data based on the request parameters,
+     *         or null once a 304 response has been prepared.
      */
     @GetMapping("/users")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> getUsers(@RequestParam(required = false) String id, Authentication authentication) {
+    public ResponseEntity<?> getUsers(@RequestParam(required = false) String id,
+                                      @RequestParam(required = false) String cursor,
+                                      @RequestParam(required = false) Integer limit,
+                                      @RequestParam(required = false) String role,
+                                      @RequestParam(required = false) String emailPrefix,
+                                      @RequestParam(required = false) String namePrefix,
+                                      @RequestParam(required = false) String mobileNumber,
+                                      @RequestParam(required = false) String sort,
+                                      @RequestParam(defaultValue = "false") boolean count,
+                                      Authentication authentication,
+                                      WebRequest request,
+                                      HttpServletResponse response) {
         // Ensure user has admin privileges
-        boolean isAdmin = authentication.getAuthorities().stream()
-                .anyMatch(role -> role.getAuthority().equals("ROLE_ADMIN"));
-
-        if (!isAdmin) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of(
-                "status", "error",
-                "message", "You are not permitted to access this data"
-            ));
+        if (!isAdmin(authentication)) {
+            return forbidden();
         }
 
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        UserViewQueries reads = userQueries(response);
+
         // Fetch a specific user by ID
         if (id != null) {
-            return userRepository.findById(id)
-                    .map(user -> ResponseEntity.ok(Map.of(
-                            "status", "success",
-                            "message", "Fetched user successfully",
-                            "user", user
-                    )))
-                    .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
-                            "status", "error",
-                            "message", "User not found"
-                    )));
-        }
-
-        // Fetch all users
-        List<User> users = userRepository.findAll();
-        int totalUsers = users.size(); // Get total user count
-
-        if (users.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NO_CONTENT).body(Map.of(
-                    "status", "success",
-                    "message", "No users found",
-                    "totalUsers", 0
-            ));
-        }
-
-        return ResponseEntity.ok(Map.of(
-                "status", "success",
-                "message", "Fetched users successfully",
-                "totalUsers", totalUsers,
-                "users", users
-        ));
+            Optional<UserView> user = reads.findViewById(id);
+            if (user.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error("User not found"));
+            }
+            // checkNotModified sets the ETag header itself, on 304 and 200 responses alike
+            if (request.checkNotModified(etag(user.get().version()))) {
+                return null; // Unchanged since the client's copy; nothing is serialized
+            }
+            return ResponseEntity.ok(UserResponse.success("Fetched user successfully", user.get()));
+        }
+
+        UserSearch search;
+        try {
+            search = UserSearch.of(role, emailPrefix, namePrefix, mobileNumber, sort);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+
+        UserSearch.Position after;
+        try {
+            after = cursor == null ? null : PageCursor.decode(cursor, search.sortKey());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Invalid cursor"));
+        }
+
+        // Any write to any user changes the collection version, so an unchanged version means an unchanged page
+        if (request.checkNotModified("W/\"" + reads.collectionVersion() + "\"")) {
+            return null;
+        }
+
+        if (count) {
+            return ResponseEntity.ok(new UserPageResponse("success", "Counted users successfully",
+                    reads.countMatching(search), null, null));
+        }
+
+        // Fetch one extra user to learn whether another page follows
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        List<UserView> users = reads.search(search, after, pageSize + 1);
+        boolean hasMore = users.size() > pageSize;
+        if (hasMore) {
+            users = users.subList(0, pageSize);
+        }
+
+        if (users.isEmpty() && after == null) {
+            return ResponseEntity.status(HttpStatus.NO_CONTENT).body(
+                    new UserPageResponse("success", "No users found", 0, null, null));
+        }
+
+        return ResponseEntity.ok(new UserPageResponse(
+                "success",
+                "Fetched users successfully",
+                reads.estimatedCount(), // Collection metadata, not a scan
+                users,
+                hasMore ? PageCursor.after(search, users.get(users.size() - 1)) : null));
+    }
+
+    /**
+     * Stream All Users (NDJSON)
+     * 
+     * - Writes every user as one JSON document per line, straight from a database cursor.
+     * - Memory use stays constant regardless of the number of users.
+     * - Only admins are allowed to access this endpoint.
+     *
+     * @param authentication The authentication object containing the logged-in user's details.
+     * @return A streamed application/x-ndjson response.
+     */
+    @GetMapping(value = "/users/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamUsers(Authentication authentication) {
+        // The body type must be declared for Spring MVC to pick the streaming return value handler
+        if (!isAdmin(authentication)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You are not permitted to access this data");
+        }
+
+        // Let the generator buffer output instead of flushing after every user
+        ObjectWriter writer = objectMapper.writerFor(UserView.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            try (Stream<UserView> users = userRepository.streamViewsBy();
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                users.forEach(user -> {
+                    try {
+                        writer.writeValue(generator, user);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Bulk Import Users (Admin Only)
+     * 
+     * - Accepts a streamed NDJSON (application/x-ndjson) or CSV (text/csv) body of users.
+     * - Duplicate emails and invalid rows are reported per line without aborting the import.
+     *
+     * @param body The streamed request body.
+     * @param contentType The request content type, which selects the row format.
+     * @param authentication The authentication object containing the logged-in user's details.
+     * @return The counts of imported, duplicate and invalid rows, with the first failures.
+     * @throws IOException If the body cannot be read.
+     */
+    @PostMapping(value = "/users/import", consumes = { MediaType.APPLICATION_NDJSON_VALUE, "text/csv" })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importUsers(InputStream body, @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                         Authentication authentication) throws IOException {
+        if (!isAdmin(authentication)) {
+            return forbidden();
+        }
+
+        boolean csv = contentType.isCompatibleWith(MediaType.parseMediaType("text/csv"));
+        return ResponseEntity.ok(userImportService.importUsers(body, csv));
+    }
+
+    /**
+     * Picks where admin reads are answered from: the read model while it is fresh enough, otherwise MongoDB.
+     *
+     * @param response The response that reports how stale the read model may be when it is used.
+     * @return The queries to read users with.
+     */
+    private UserViewQueries userQueries(HttpServletResponse response) {
+        UserReadModelUpdater updater = readModelUpdater.getIfAvailable();
+        if (updater == null) {
+            return userRepository;
+        }
+        return updater.readModel().<UserViewQueries>map(model -> {
+            response.setHeader("X-Read-Model-Staleness-Ms", String.valueOf(updater.stalenessMillis()));
+            return model;
+        }).orElse(userRepository);
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .anyMatch(role -> role.getAuthority().equals("ROLE_ADMIN"));
+    }
+
+    private static ResponseEntity<?> forbidden() {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("You are not permitted to access this data"));
     }
 }
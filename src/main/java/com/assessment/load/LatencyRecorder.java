@@ -0,0 +1,83 @@
+package com.assessment.load;
+
+import java.util.Arrays;
+
+/**
+ * Latency Recorder
+ * Collects request latencies for one load-test worker and summarises them.
+ *
+ * - Not thread-safe: each worker owns one recorder, and recorders are merged once the run ends.
+ * - Percentiles are exact, computed from the sorted samples.
+ * - {@link #histogram(double...)} counts samples per latency bucket, for the shape of the distribution.
+ */
+class LatencyRecorder {
+
+    private long[] samples = new long[1024]; // Latencies in nanoseconds
+    private int count;
+    private long errors;
+
+    void record(long latencyNanos, boolean success) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    long count() {
+        return count;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    /**
+     * Merges several recorders into one, e.g. the recorders of every worker in a run.
+     */
+    static LatencyRecorder merge(Iterable<LatencyRecorder> recorders) {
+        LatencyRecorder merged = new LatencyRecorder();
+        for (LatencyRecorder recorder : recorders) {
+            for (int i = 0; i < recorder.count; i++) {
+                merged.record(recorder.samples[i], true);
+            }
+            merged.errors += recorder.errors;
+        }
+        Arrays.sort(merged.samples, 0, merged.count);
+        return merged;
+    }
+
+    /**
+     * Returns a percentile of a merged (sorted) recorder, in milliseconds.
+     *
+     * @param percentile The percentile between 0 and 100.
+     */
+    double percentileMs(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return samples[Math.max(0, Math.min(index, count - 1))] / 1_000_000.0;
+    }
+
+    /**
+     * Counts the samples of a merged (sorted) recorder in each latency bucket.
+     *
+     * @param boundsMs Ascending upper bounds of the buckets, in milliseconds.
+     * @return One count per bound (samples up to that bound and above the previous one),
+     *         followed by the count of samples above the last bound.
+     */
+    long[] histogram(double... boundsMs) {
+        long[] counts = new long[boundsMs.length + 1];
+        int bucket = 0;
+        for (int i = 0; i < count; i++) {
+            while (bucket < boundsMs.length && samples[i] > boundsMs[bucket] * 1_000_000) {
+                bucket++;
+            }
+            counts[bucket]++;
+        }
+        return counts;
+    }
+}
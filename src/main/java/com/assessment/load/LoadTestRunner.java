@@ -0,0 +1,315 @@
+package com.assessment.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+/**
+ * Load Test Runner
+ * Drives the API at a fixed concurrency once the application has started, and logs throughput,
+ * error rates, latency percentiles and a latency histogram for each scenario.
+ *
+ * - Enabled with the "loadtest" profile; combine it with "virtual-threads" to compare thread modes,
+ *   or with "in-memory" to measure the service without database time.
+ * - Scenarios: signup, signin, read (a user reading their own profile), update, list, and "mix",
+ *   which picks one of those per request using the weights in loadtest.mix.
+ * - Runs closed-loop (each worker sends its next request as soon as the last one returns) unless
+ *   loadtest.rate sets a target total request rate. At a fixed rate, latency is measured from each
+ *   request's scheduled send time, so time spent queued behind a slow response is included.
+ * - Creates its own users (one per worker) through /api/auth/signup, so run it against a disposable database.
+ * - Targets this application by default; set loadtest.baseUrl to drive another instance.
+ */
+@Component
+@Profile("loadtest")
+public class LoadTestRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+    private static final double[] HISTOGRAM_BOUNDS_MS = { 1, 2, 5, 10, 25, 50, 100, 250, 500, 1000 };
+
+    private final ObjectMapper objectMapper;
+    private final ApplicationContext applicationContext;
+    private final Environment environment;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Value("${loadtest.baseUrl:}")
+    private String baseUrl; // Empty means this application
+
+    @Value("${loadtest.concurrency:64}")
+    private int concurrency; // Number of concurrent workers
+
+    @Value("${loadtest.warmupSeconds:5}")
+    private int warmupSeconds; // Unmeasured run before each scenario
+
+    @Value("${loadtest.durationSeconds:30}")
+    private int durationSeconds; // Measured run per scenario
+
+    @Value("${loadtest.scenarios:signin,update,list,mix}")
+    private List<String> scenarios;
+
+    @Value("${loadtest.mix:signup=5,signin=15,read=50,update=20,list=10}")
+    private String mix; // Relative weights of the operations in the "mix" scenario
+
+    @Value("${loadtest.rate:0}")
+    private double rate; // Target requests per second across all workers; 0 = as fast as possible
+
+    private final AtomicLong signups = new AtomicLong(); // Makes each signup email unique
+    private String runId;
+
+    @Value("${loadtest.exitOnFinish:true}")
+    private boolean exitOnFinish;
+
+    /**
+     * Constructor to inject the shared ObjectMapper and application context.
+     *
+     * @param objectMapper Used to build request bodies and read responses.
+     * @param applicationContext Used to shut down after the run.
+     * @param environment Used to find the local server port.
+     */
+    public LoadTestRunner(ObjectMapper objectMapper, ApplicationContext applicationContext, Environment environment) {
+        this.objectMapper = objectMapper;
+        this.applicationContext = applicationContext;
+        this.environment = environment;
+    }
+
+    /**
+     * Runs every configured scenario once the application is ready to serve requests.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void run() throws Exception {
+        String target = baseUrl.isEmpty() ? "http://localhost:" + environment.getProperty("local.server.port") : baseUrl;
+        String threadMode = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false) ? "virtual" : "platform";
+        log.info("Load test against {} with {} workers ({} threads, {})", target, concurrency, threadMode,
+                rate > 0 ? rate + " req/s" : "closed loop");
+
+        runId = UUID.randomUUID().toString().substring(0, 8);
+        List<TestUser> users = createUsers(target);
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        try {
+            for (String scenario : scenarios) {
+                List<Operation> operations = scenarioOperations(scenario.trim(), target, users);
+                runFor(workers, operations, Duration.ofSeconds(warmupSeconds));
+                long start = System.nanoTime();
+                Map<String, LatencyRecorder> results = runFor(workers, operations, Duration.ofSeconds(durationSeconds));
+                report(scenario.trim(), threadMode, results, System.nanoTime() - start);
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+
+        if (exitOnFinish) {
+            System.exit(SpringApplication.exit(applicationContext));
+        }
+    }
+
+    /**
+     * Builds the operations of a scenario: one for a single-endpoint scenario, or the weighted set from loadtest.mix.
+     */
+    private List<Operation> scenarioOperations(String scenario, String target, List<TestUser> users) {
+        if (!scenario.equals("mix")) {
+            return List.of(new Operation(scenario, 1, operationRequests(scenario, target, users)));
+        }
+        List<Operation> operations = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] nameAndWeight = entry.trim().split("=");
+            String name = nameAndWeight[0].trim();
+            operations.add(new Operation(name, Integer.parseInt(nameAndWeight[1].trim()), operationRequests(name, target, users)));
+        }
+        return operations;
+    }
+
+    /**
+     * Builds the request a worker sends for an operation.
+     */
+    private IntFunction<HttpRequest> operationRequests(String operation, String target, List<TestUser> users) {
+        return switch (operation) {
+            case "signup" -> worker -> post(target + "/api/auth/signup", Map.of(
+                    "firstName", "Load", "lastName", "Test",
+                    "email", "loadtest-" + runId + "-signup-" + signups.incrementAndGet() + "@example.com",
+                    "mobileNumber", "0000000000", "password", "LoadTest-" + runId, "role", "USER"));
+            case "signin" -> worker -> post(target + "/api/auth/signin",
+                    Map.of("email", users.get(worker).email(), "password", users.get(worker).password()));
+            case "read" -> worker -> HttpRequest.newBuilder(URI.create(target + "/api/users?id=" + users.get(worker).id()))
+                    .header("Authorization", "Bearer " + users.get(worker).token())
+                    .GET()
+                    .build();
+            case "update" -> worker -> HttpRequest.newBuilder(URI.create(target + "/api/user/update/" + users.get(worker).id()))
+                    .header("Authorization", "Bearer " + users.get(worker).token())
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(json(Map.of("firstName", "Load" + worker, "lastName", "Test"))))
+                    .build();
+            case "list" -> worker -> HttpRequest.newBuilder(URI.create(target + "/api/users?limit=50"))
+                    .header("Authorization", "Bearer " + users.get(worker).token())
+                    .GET()
+                    .build();
+            default -> throw new IllegalArgumentException("Unknown load test operation: " + operation);
+        };
+    }
+
+    /**
+     * Keeps every worker sending requests until the duration has passed, and returns the merged
+     * latencies of each operation.
+     */
+    private Map<String, LatencyRecorder> runFor(ExecutorService workers, List<Operation> operations, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        long intervalNanos = rate > 0 ? (long) (concurrency * 1_000_000_000.0 / rate) : 0; // Per worker
+        int totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+        List<Future<LatencyRecorder[]>> futures = new ArrayList<>();
+
+        for (int i = 0; i < concurrency; i++) {
+            int worker = i;
+            futures.add(workers.submit(() -> {
+                LatencyRecorder[] recorders = new LatencyRecorder[operations.size()];
+                Arrays.setAll(recorders, op -> new LatencyRecorder());
+                long scheduled = System.nanoTime() + intervalNanos * worker / concurrency; // Spread workers over the interval
+
+                while (System.nanoTime() < deadline) {
+                    if (intervalNanos > 0) {
+                        LockSupport.parkNanos(scheduled - System.nanoTime());
+                    }
+                    int op = pick(operations, totalWeight);
+                    long start = intervalNanos > 0 ? scheduled : System.nanoTime();
+                    boolean success;
+                    try {
+                        HttpResponse<Void> response = httpClient.send(operations.get(op).requests().apply(worker),
+                                HttpResponse.BodyHandlers.discarding());
+                        success = response.statusCode() < 400;
+                    } catch (IOException e) {
+                        success = false;
+                    }
+                    recorders[op].record(System.nanoTime() - start, success);
+                    scheduled += intervalNanos;
+                }
+                return recorders;
+            }));
+        }
+
+        List<List<LatencyRecorder>> byOperation = new ArrayList<>();
+        operations.forEach(op -> byOperation.add(new ArrayList<>()));
+        for (Future<LatencyRecorder[]> future : futures) {
+            LatencyRecorder[] recorders = future.get();
+            for (int op = 0; op < recorders.length; op++) {
+                byOperation.get(op).add(recorders[op]);
+            }
+        }
+
+        Map<String, LatencyRecorder> results = new LinkedHashMap<>();
+        for (int op = 0; op < operations.size(); op++) {
+            results.put(operations.get(op).name(), LatencyRecorder.merge(byOperation.get(op)));
+        }
+        return results;
+    }
+
+    private static int pick(List<Operation> operations, int totalWeight) {
+        if (operations.size() == 1) {
+            return 0;
+        }
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int op = 0; op < operations.size(); op++) {
+            roll -= operations.get(op).weight();
+            if (roll < 0) {
+                return op;
+            }
+        }
+        return operations.size() - 1;
+    }
+
+    /**
+     * Signs up one ADMIN user per worker (the list endpoint requires ADMIN) and keeps their tokens.
+     */
+    private List<TestUser> createUsers(String target) throws Exception {
+        List<TestUser> users = new ArrayList<>();
+
+        for (int i = 0; i < concurrency; i++) {
+            String email = "loadtest-" + runId + "-" + i + "@example.com";
+            String password = "LoadTest-" + runId;
+            HttpResponse<String> response = httpClient.send(post(target + "/api/auth/signup", Map.of(
+                    "firstName", "Load", "lastName", "Test", "email", email,
+                    "mobileNumber", "0000000000", "password", password, "role", "ADMIN")),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Load test signup failed: " + response.statusCode() + " " + response.body());
+            }
+            JsonNode body = objectMapper.readTree(response.body());
+            users.add(new TestUser(body.get("userId").asText(), email, password, body.get("token").asText()));
+        }
+        return users;
+    }
+
+    private HttpRequest post(String url, Map<String, String> body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json(body)))
+                .build();
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void report(String scenario, String threadMode, Map<String, LatencyRecorder> results, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        for (Map.Entry<String, LatencyRecorder> result : results.entrySet()) {
+            String name = results.size() == 1 ? scenario : scenario + "/" + result.getKey();
+            report(name, threadMode, result.getValue(), seconds);
+        }
+        if (results.size() > 1) {
+            report(scenario, threadMode, LatencyRecorder.merge(results.values()), seconds);
+        }
+    }
+
+    private void report(String name, String threadMode, LatencyRecorder result, double seconds) {
+        double errorRate = result.count() == 0 ? 0 : 100.0 * result.errors() / result.count();
+        log.info(String.format("%-12s %-8s requests=%d errors=%d (%.2f%%) throughput=%.1f req/s p50=%.2fms p90=%.2fms p99=%.2fms max=%.2fms",
+                name, threadMode, result.count(), result.errors(), errorRate, result.count() / seconds,
+                result.percentileMs(50), result.percentileMs(90), result.percentileMs(99), result.percentileMs(100)));
+
+        long[] counts = result.histogram(HISTOGRAM_BOUNDS_MS);
+        StringBuilder histogram = new StringBuilder();
+        for (int i = 0; i < HISTOGRAM_BOUNDS_MS.length; i++) {
+            histogram.append(String.format("<=%.0fms=%d ", HISTOGRAM_BOUNDS_MS[i], counts[i]));
+        }
+        histogram.append(String.format(">%.0fms=%d", HISTOGRAM_BOUNDS_MS[HISTOGRAM_BOUNDS_MS.length - 1], counts[HISTOGRAM_BOUNDS_MS.length]));
+        log.info(String.format("%-12s %-8s histogram %s", name, threadMode, histogram));
+    }
+
+    private record Operation(String name, int weight, IntFunction<HttpRequest> requests) {
+    }
+
+    private record TestUser(String id, String email, String password, String token) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.assessment.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Metrics Configuration
+ * Adds the request-pipeline instrumentation that Spring Boot does not provide on its own.
+ *
+ * - Spring Boot already publishes MongoDB command and pool metrics (mongodb.driver.*),
+ *   repository method timings (spring.data.repository.invocations) and request timings
+ *   (http.server.requests); histograms for them are enabled in application.yml.
+ * - This configuration adds connection checkout wait time and response serialization time.
+ * - The serialization timers are on the JSON, CBOR and Smile converters alike. The binary converters take the place
+ *   of the defaults Spring MVC adds for them, after JSON, so JSON stays the default for clients that accept any type.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Replaces Spring Boot's default JSON converter with one that times serialization.
+     *
+     * @param objectMapper The ObjectMapper configured by Spring Boot.
+     * @param meterRegistry The registry the serialization timer is published to.
+     * @return The timed JSON converter.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   MeterRegistry meterRegistry) {
+        return new TimedJacksonHttpMessageConverter(objectMapper, meterRegistry);
+    }
+
+    /**
+     * Replaces Spring MVC's default CBOR converter with a timed one that shares Spring Boot's Jackson settings and modules.
+     *
+     * @param builder Spring Boot's ObjectMapper builder (a new one per injection point).
+     * @param meterRegistry The registry the serialization timer is published to.
+     * @return The timed CBOR converter.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder,
+                                                                            MeterRegistry meterRegistry) {
+        return new TimedCborHttpMessageConverter(builder.factory(new CBORFactory()).build(), meterRegistry);
+    }
+
+    /**
+     * Replaces Spring MVC's default Smile converter with a timed one that shares Spring Boot's Jackson settings and modules.
+     *
+     * @param builder Spring Boot's ObjectMapper builder (a new one per injection point).
+     * @param meterRegistry The registry the serialization timer is published to.
+     * @return The timed Smile converter.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder,
+                                                                              MeterRegistry meterRegistry) {
+        return new TimedSmileHttpMessageConverter(builder.factory(new SmileFactory()).build(), meterRegistry);
+    }
+
+    /**
+     * Adds the checkout timer to the connection pool of every MongoDB client (imperative and reactive).
+     *
+     * @param meterRegistry The registry the checkout timers are published to.
+     * @return The client settings customizer.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoPoolCheckoutMetrics(MeterRegistry meterRegistry) {
+        MongoPoolCheckoutListener listener = new MongoPoolCheckoutListener(meterRegistry);
+        return builder -> builder.applyToConnectionPoolSettings(pool -> pool.addConnectionPoolListener(listener));
+    }
+}
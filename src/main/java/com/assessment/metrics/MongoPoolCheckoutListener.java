@@ -0,0 +1,48 @@
+package com.assessment.metrics;
+
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mongo Pool Checkout Listener
+ * Records how long operations wait to check a connection out of the MongoDB pool as
+ * mongodb.driver.pool.checkout, which the driver's built-in pool metrics only report as
+ * a wait-queue size.
+ *
+ * - Successful and failed checkouts (timeouts, closed pools) are tagged separately by outcome.
+ */
+public class MongoPoolCheckoutListener implements ConnectionPoolListener {
+
+    private final Timer checkedOut;
+    private final Timer checkOutFailed;
+
+    /**
+     * Constructor to register the checkout timers.
+     *
+     * @param meterRegistry The registry the checkout timers are published to.
+     */
+    public MongoPoolCheckoutListener(MeterRegistry meterRegistry) {
+        this.checkedOut = Timer.builder("mongodb.driver.pool.checkout")
+                .description("Time spent waiting for a pooled MongoDB connection")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.checkOutFailed = Timer.builder("mongodb.driver.pool.checkout")
+                .description("Time spent waiting for a pooled MongoDB connection")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        checkedOut.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        checkOutFailed.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,33 @@
+package com.assessment.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The http.response.serialization timers of one message converter, tagged by the body's type and the wire format.
+ */
+final class SerializationTimers {
+
+    private final MeterRegistry meterRegistry;
+    private final String format;
+    private final Map<Class<?>, Timer> timers = new ConcurrentHashMap<>(); // One timer per body type
+
+    SerializationTimers(MeterRegistry meterRegistry, String format) {
+        this.meterRegistry = meterRegistry;
+        this.format = format;
+    }
+
+    Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    void stop(Timer.Sample sample, Object body) {
+        sample.stop(timers.computeIfAbsent(body.getClass(), bodyType -> Timer.builder("http.response.serialization")
+                .description("Time spent serializing response bodies")
+                .tag("type", bodyType.getSimpleName())
+                .tag("format", format)
+                .register(meterRegistry)));
+    }
+}
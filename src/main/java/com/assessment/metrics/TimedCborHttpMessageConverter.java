@@ -0,0 +1,42 @@
+package com.assessment.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Timed CBOR Converter
+ * Reads and writes application/cbor bodies, with writes timed like {@link TimedJacksonHttpMessageConverter}
+ * and tagged format=cbor.
+ */
+public class TimedCborHttpMessageConverter extends MappingJackson2CborHttpMessageConverter {
+
+    private final SerializationTimers timers;
+
+    /**
+     * Constructor to wrap a CBOR ObjectMapper.
+     *
+     * @param objectMapper An ObjectMapper built on a CBORFactory.
+     * @param meterRegistry The registry the serialization timer is published to.
+     */
+    public TimedCborHttpMessageConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        super(objectMapper);
+        this.timers = new SerializationTimers(meterRegistry, "cbor");
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Timer.Sample sample = timers.start();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            timers.stop(sample, object);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.assessment.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Timed Jackson Converter
+ * The JSON converter used for controller responses, with the time spent writing each
+ * body recorded as http.response.serialization, tagged by the body's type and format=json.
+ *
+ * - The timer covers serialization and the write to the response buffer, but not the
+ *   controller itself, so it separates encoding cost from handler cost.
+ * - NDJSON streams written by the controllers themselves are not covered.
+ * - Response compression happens after the write to the buffer, so it is not covered either.
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final SerializationTimers timers;
+
+    /**
+     * Constructor to wrap the application's ObjectMapper.
+     *
+     * @param objectMapper The ObjectMapper configured by Spring Boot.
+     * @param meterRegistry The registry the serialization timer is published to.
+     */
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        super(objectMapper);
+        this.timers = new SerializationTimers(meterRegistry, "json");
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Timer.Sample sample = timers.start();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            timers.stop(sample, object);
+        }
+    }
+}
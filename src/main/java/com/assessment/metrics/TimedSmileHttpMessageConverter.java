@@ -0,0 +1,42 @@
+package com.assessment.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Timed Smile Converter
+ * Reads and writes application/x-jackson-smile bodies, with writes timed like {@link TimedJacksonHttpMessageConverter}
+ * and tagged format=smile.
+ */
+public class TimedSmileHttpMessageConverter extends MappingJackson2SmileHttpMessageConverter {
+
+    private final SerializationTimers timers;
+
+    /**
+     * Constructor to wrap a Smile ObjectMapper.
+     *
+     * @param objectMapper An ObjectMapper built on a SmileFactory.
+     * @param meterRegistry The registry the serialization timer is published to.
+     */
+    public TimedSmileHttpMessageConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        super(objectMapper);
+        this.timers = new SerializationTimers(meterRegistry, "smile");
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Timer.Sample sample = timers.start();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            timers.stop(sample, object);
+        }
+    }
+}
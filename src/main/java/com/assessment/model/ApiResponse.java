@@ -0,0 +1,19 @@
+package com.assessment.model;
+
+/**
+ * API Response
+ * The status and message body returned by endpoints that have nothing else to report.
+ *
+ * @param status "success" or "error".
+ * @param message A human-readable description of the outcome.
+ */
+public record ApiResponse(String status, String message) {
+
+    public static ApiResponse success(String message) {
+        return new ApiResponse("success", message);
+    }
+
+    public static ApiResponse error(String message) {
+        return new ApiResponse("error", message);
+    }
+}
@@ -0,0 +1,57 @@
+package com.assessment.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A security-relevant event kept for fraud analysis: a signin attempt or a profile update.
+ * Written in batches by the AuditLog, never read by the application itself.
+ */
+@Document(collection = "audit_events")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class AuditEvent {
+    public static final String SIGNIN_SUCCESS = "SIGNIN_SUCCESS";
+    public static final String SIGNIN_FAILURE = "SIGNIN_FAILURE";
+    public static final String PROFILE_UPDATE = "PROFILE_UPDATE";
+
+    @Id
+    private String id;
+
+    private Instant at; // Time field of the time-series collection
+
+    private String type; // Meta field of the time-series collection
+
+    private String userId; // The user signed in or updated, when known
+
+    private String email; // The email a signin was attempted with, or the email of whoever made an update
+
+    private String clientAddress;
+
+    private String reason; // Why a signin failed (not_found, bad_credentials, rate_limited, busy), or how a batch update went (bulk, bulk_unconfirmed)
+
+    private List<String> fields; // Profile fields an update set
+
+    /**
+     * Records a successful signin.
+     */
+    public static AuditEvent signinSucceeded(String userId, String email, String clientAddress) {
+        return new AuditEvent(null, Instant.now(), SIGNIN_SUCCESS, userId, email, clientAddress, null, null);
+    }
+
+    /**
+     * Records a failed signin.
+     */
+    public static AuditEvent signinFailed(String userId, String email, String clientAddress, String reason) {
+        return new AuditEvent(null, Instant.now(), SIGNIN_FAILURE, userId, email, clientAddress, reason, null);
+    }
+
+    /**
+     * Records a profile update made by the given user.
+     */
+    public static AuditEvent profileUpdated(String userId, String actor, List<String> fields, String reason) {
+        return new AuditEvent(null, Instant.now(), PROFILE_UPDATE, userId, actor, null, reason, fields);
+    }
+}
@@ -0,0 +1,25 @@
+package com.assessment.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Authentication Response
+ * The body returned by signup, signin, token refresh and token revocation.
+ *
+ * - Fields an endpoint does not set are left out of the JSON.
+ *
+ * @param status Always "success"; failures are reported with {@link ApiResponse}.
+ * @param message A human-readable description of the outcome.
+ * @param token The access token, if one was issued.
+ * @param refreshToken The refresh token, if one was issued.
+ * @param userId The ID of the user the response is about.
+ * @param email The email of the user, on signup and signin.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AuthResponse(String status, String message, String token, String refreshToken,
+                           String userId, String email) {
+
+    public static AuthResponse success(String message, String token, String refreshToken, String userId, String email) {
+        return new AuthResponse("success", message, token, refreshToken, userId, email);
+    }
+}
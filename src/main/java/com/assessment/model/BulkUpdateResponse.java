@@ -0,0 +1,14 @@
+package com.assessment.model;
+
+/**
+ * Bulk Update Response
+ * The body returned by a batch update of users.
+ *
+ * @param status Always "success".
+ * @param message A human-readable description of the outcome.
+ * @param requested The number of updates submitted.
+ * @param matched The number of users matched by their update's filter.
+ * @param modified The number of users actually changed.
+ */
+public record BulkUpdateResponse(String status, String message, int requested, int matched, int modified) {
+}
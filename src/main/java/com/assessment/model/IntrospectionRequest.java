@@ -0,0 +1,12 @@
+package com.assessment.model;
+
+import java.util.List;
+
+/**
+ * Introspection Request
+ * The body of a batch token introspection.
+ *
+ * @param tokens The access tokens to check, without the "Bearer " prefix.
+ */
+public record IntrospectionRequest(List<String> tokens) {
+}
@@ -0,0 +1,13 @@
+package com.assessment.model;
+
+import java.util.List;
+
+/**
+ * Introspection Response
+ * The body returned by batch token introspection.
+ *
+ * @param status Always "success"; a rejected batch is reported with {@link ApiResponse}.
+ * @param tokens One result per submitted token, in the same order.
+ */
+public record IntrospectionResponse(String status, List<TokenIntrospection> tokens) {
+}
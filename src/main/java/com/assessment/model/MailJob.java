@@ -0,0 +1,57 @@
+package com.assessment.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.Instant;
+
+/**
+ * A mail waiting in the outbox, written in the request that triggers it and sent later by the MailDispatcher.
+ * A job is deleted once sent; after too many failed attempts it stays behind as DEAD for inspection.
+ */
+@Document(collection = "mail_outbox")
+@CompoundIndex(name = "status_nextAttemptAt", def = "{'status': 1, 'nextAttemptAt': 1}")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class MailJob {
+    public static final String PENDING = "PENDING";
+    public static final String DEAD = "DEAD";
+    public static final String WELCOME = "welcome";
+
+    @Id
+    private String id;
+
+    private String template; // Which mail to render, e.g. "welcome"
+
+    private String to;
+
+    @Indexed
+    private String userId;
+
+    private String firstName;
+
+    private String status; // PENDING or DEAD
+
+    private int attempts; // Failed sends so far
+
+    private Instant nextAttemptAt; // Due time; pushed forward while a dispatcher holds the job, so it works as a lease
+
+    private String claimedBy; // Dispatcher run that last claimed the job
+
+    private String lastError;
+
+    private Instant createdAt;
+
+    /**
+     * Builds a pending welcome mail for a user who just signed up.
+     *
+     * @param user The new user.
+     * @param now The current time.
+     * @return A job due immediately.
+     */
+    public static MailJob welcome(User user, Instant now) {
+        return new MailJob(null, WELCOME, user.getEmail(), user.getId(), user.getFirstName(), PENDING, 0, now,
+                null, null, now);
+    }
+}
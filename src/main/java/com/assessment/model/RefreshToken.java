@@ -0,0 +1,32 @@
+package com.assessment.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.Instant;
+
+/**
+ * A refresh token, stored by the SHA-256 hash of its value so a database leak does not leak usable tokens.
+ * Every refresh replaces the token with a new one in the same session; presenting a used token again
+ * revokes the whole session.
+ */
+@Document(collection = "refresh_tokens")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class RefreshToken {
+    @Id
+    private String id; // Base64url SHA-256 hash of the token value
+
+    @Indexed
+    private String userId;
+
+    @Indexed
+    private String sessionId; // Shared by every token in a rotation chain, and carried by its access tokens
+
+    @Indexed(expireAfterSeconds = 0)
+    private Instant expiresAt; // MongoDB deletes the token once this passes
+
+    private Instant usedAt; // Set when the token is exchanged; a second exchange is treated as theft
+
+    private boolean revoked;
+}
@@ -0,0 +1,24 @@
+package com.assessment.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.Instant;
+
+/**
+ * A revoked refresh-token session. Access tokens carrying its id are rejected until
+ * the last of them has expired, after which the record is deleted.
+ */
+@Document(collection = "revoked_sessions")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class RevokedSession {
+    @Id
+    private String id; // The session id
+
+    @Indexed
+    private Instant revokedAt; // Read incrementally by every node's SessionRevocationList
+
+    @Indexed(expireAfterSeconds = 0)
+    private Instant expiresAt; // When the last access token issued in the session expires
+}
@@ -0,0 +1,25 @@
+package com.assessment.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Token Introspection
+ * What this service knows about one access token, in the order the tokens were sent.
+ *
+ * - An inactive token carries no other fields, whatever the reason (bad signature, expired, revoked, unknown user).
+ *
+ * @param active Whether the token is valid and may be honored now.
+ * @param sub The email of the user the token was issued to.
+ * @param userId The ID of that user.
+ * @param role The user's current role.
+ * @param exp When the token expires, in seconds since the epoch.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TokenIntrospection(boolean active, String sub, String userId, String role, Long exp) {
+
+    private static final TokenIntrospection INACTIVE = new TokenIntrospection(false, null, null, null, null);
+
+    public static TokenIntrospection inactive() {
+        return INACTIVE;
+    }
+}
@@ -2,12 +2,27 @@ package com.assessment.model;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import java.time.Instant;
 
+/*
+ * Indexes behind the filters and sort keys of the user search (see UserSearch):
+ * every filter field leads an index, and each equality filter (role, mobileNumber)
+ * is combined with each sort order so no page needs an in-memory sort.
+ */
 @Document(collection = "users")
+@CompoundIndex(name = "lastName_id", def = "{ 'lastName': 1, '_id': 1 }")
+@CompoundIndex(name = "role_id", def = "{ 'role': 1, '_id': 1 }")
+@CompoundIndex(name = "role_email", def = "{ 'role': 1, 'email': 1 }")
+@CompoundIndex(name = "role_lastName_id", def = "{ 'role': 1, 'lastName': 1, '_id': 1 }")
+@CompoundIndex(name = "mobileNumber_id", def = "{ 'mobileNumber': 1, '_id': 1 }")
+@CompoundIndex(name = "mobileNumber_email", def = "{ 'mobileNumber': 1, 'email': 1 }")
+@CompoundIndex(name = "mobileNumber_lastName_id", def = "{ 'mobileNumber': 1, 'lastName': 1, '_id': 1 }")
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 public class User {
     @Id
@@ -22,6 +37,7 @@ public class User {
     
     @Email
     @NotBlank
+    @Indexed(unique = true)
     private String email;
     
     @NotBlank
@@ -31,4 +47,13 @@ public class User {
     private String password;
     
     private String role; // ADMIN or USER
+
+    private long version; // Incremented on every atomic update; used for optimistic concurrency and as the user's ETag
+
+    private Instant lastModified; // When the user was inserted or last updated
+
+    private long tokenVersion; // Tokens issued with an older version are rejected
+
+    @Indexed(sparse = true)
+    private Instant tokenVersionChangedAt; // When tokenVersion was last raised
 }
@@ -0,0 +1,19 @@
+package com.assessment.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+/**
+ * User Page Response
+ * The body returned for one keyset-paginated page of users.
+ *
+ * @param status Always "success".
+ * @param message A human-readable description of the outcome.
+ * @param totalUsers The estimated number of users in the collection.
+ * @param users The users on this page, or null when there are none.
+ * @param nextCursor The cursor for the following page, or null on the last page.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserPageResponse(String status, String message, long totalUsers, List<UserView> users,
+                               String nextCursor) {
+}
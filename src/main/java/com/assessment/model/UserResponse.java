@@ -0,0 +1,16 @@
+package com.assessment.model;
+
+/**
+ * User Response
+ * The body returned when a single user is fetched or updated.
+ *
+ * @param status Always "success".
+ * @param message A human-readable description of the outcome.
+ * @param user The user, without its password hash.
+ */
+public record UserResponse(String status, String message, UserView user) {
+
+    public static UserResponse success(String message, UserView user) {
+        return new UserResponse("success", message, user);
+    }
+}
@@ -0,0 +1,56 @@
+package com.assessment.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * User Update
+ * A partial update of a user's profile: only the non-null fields are changed.
+ *
+ * @param id The ID of the user to update (used by batch updates; single updates take it from the path).
+ * @param firstName The new first name, or null to keep the current one.
+ * @param lastName The new last name, or null to keep the current one.
+ * @param mobileNumber The new mobile number, or null to keep the current one.
+ * @param version The version the client last read, or null to skip the optimistic concurrency check.
+ */
+public record UserUpdate(String id, String firstName, String lastName, String mobileNumber, Long version) {
+
+    /**
+     * Returns the fields to set, keyed by document field name.
+     *
+     * @return The non-null fields of this update.
+     */
+    public Map<String, Object> changes() {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        if (firstName != null) {
+            changes.put("firstName", firstName);
+        }
+        if (lastName != null) {
+            changes.put("lastName", lastName);
+        }
+        if (mobileNumber != null) {
+            changes.put("mobileNumber", mobileNumber);
+        }
+        return changes;
+    }
+
+    /**
+     * Returns the first problem with this update, or null if it is valid.
+     * Mirrors the constraints declared on {@link User}.
+     *
+     * @return A validation message, or null.
+     */
+    public String validate() {
+        if (firstName != null && firstName.isBlank() || lastName != null && lastName.isBlank()
+                || mobileNumber != null && mobileNumber.isBlank()) {
+            return "Fields cannot be blank";
+        }
+        if (firstName != null && firstName.length() < 2) {
+            return "First name must be at least 2 characters";
+        }
+        if (changes().isEmpty()) {
+            return "No fields to update";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.assessment.model;
+
+/**
+ * User View
+ * The fields of a user that API responses expose, read straight from MongoDB as a projection.
+ *
+ * - The password hash and token bookkeeping are never loaded, so they cannot be serialized by mistake.
+ *
+ * @param id The unique identifier of the user.
+ * @param firstName The user's first name.
+ * @param lastName The user's last name.
+ * @param email The user's email address.
+ * @param mobileNumber The user's mobile number.
+ * @param role ADMIN or USER.
+ * @param version The user's version, sent back in If-Match for optimistic concurrency.
+ */
+public record UserView(String id, String firstName, String lastName, String email, String mobileNumber,
+                       String role, long version) {
+
+    /**
+     * Maps a user entity that is already in memory to its view.
+     *
+     * @param user The user to expose.
+     * @return The view of the user.
+     */
+    public static UserView of(User user) {
+        return new UserView(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail(),
+                user.getMobileNumber(), user.getRole(), user.getVersion());
+    }
+}
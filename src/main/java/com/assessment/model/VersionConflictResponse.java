@@ -0,0 +1,12 @@
+package com.assessment.model;
+
+/**
+ * Version Conflict Response
+ * The 412 body returned when an update carried a version the user has already moved past.
+ *
+ * @param status Always "error".
+ * @param message A human-readable description of the conflict.
+ * @param version The user's current version, to retry against.
+ */
+public record VersionConflictResponse(String status, String message, long version) {
+}
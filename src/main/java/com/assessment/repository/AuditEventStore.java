@@ -0,0 +1,19 @@
+package com.assessment.repository;
+
+import com.assessment.model.AuditEvent;
+import java.util.List;
+
+/**
+ * Audit Event Store
+ * Persists audit events in batches.
+ * Implemented by {@link MongoAuditEventStore}, and by {@link InMemoryAuditEventStore} in the "in-memory" profile.
+ */
+public interface AuditEventStore {
+
+    /**
+     * Stores a batch of events in one write.
+     *
+     * @param events The events to store; the list is not kept.
+     */
+    void insertAll(List<AuditEvent> events);
+}
@@ -0,0 +1,23 @@
+package com.assessment.repository;
+
+/**
+ * Bulk Insert Error
+ * Describes one document that an unordered bulk insert could not write.
+ *
+ * @param index The position of the document in the submitted batch.
+ * @param code The MongoDB error code (11000 for a duplicate key).
+ * @param message The error message reported by the server.
+ */
+public record BulkInsertError(int index, int code, String message) {
+
+    public static final int DUPLICATE_KEY = 11000;
+
+    /**
+     * Checks whether the document was rejected by a unique index.
+     *
+     * @return true if the error is a duplicate key error.
+     */
+    public boolean isDuplicateKey() {
+        return code == DUPLICATE_KEY;
+    }
+}
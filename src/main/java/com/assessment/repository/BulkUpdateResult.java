@@ -0,0 +1,12 @@
+package com.assessment.repository;
+
+/**
+ * Bulk Update Result
+ * Summarises an unordered bulk update.
+ *
+ * @param requested The number of updates submitted.
+ * @param matched The number of users matched by their update's filter.
+ * @param modified The number of users actually changed.
+ */
+public record BulkUpdateResult(int requested, int matched, int modified) {
+}
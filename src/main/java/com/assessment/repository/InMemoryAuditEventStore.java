@@ -0,0 +1,49 @@
+package com.assessment.repository;
+
+import com.assessment.model.AuditEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * In-Memory Audit Event Store
+ * A stand-in for {@link MongoAuditEventStore}, enabled with the "in-memory" profile.
+ *
+ * - Keeps only the latest events, like a capped collection, so long load runs do not grow the heap.
+ */
+@Repository
+@Profile("in-memory")
+public class InMemoryAuditEventStore implements AuditEventStore {
+
+    private static final int MAX_EVENTS = 10_000;
+
+    private final Deque<AuditEvent> events = new ArrayDeque<>();
+    private long inserts;
+
+    @Override
+    public synchronized void insertAll(List<AuditEvent> batch) {
+        for (AuditEvent event : batch) {
+            if (events.size() == MAX_EVENTS) {
+                events.removeFirst();
+            }
+            events.addLast(event);
+        }
+        inserts++;
+    }
+
+    /**
+     * Returns the stored events, oldest first, for tests.
+     */
+    public synchronized List<AuditEvent> findAll() {
+        return List.copyOf(events);
+    }
+
+    /**
+     * Returns the number of batches written, for tests.
+     */
+    public synchronized long inserts() {
+        return inserts;
+    }
+}
@@ -0,0 +1,87 @@
+package com.assessment.repository;
+
+import com.assessment.model.MailJob;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-Memory Mail Outbox
+ * A concurrency-safe stand-in for {@link MongoMailOutbox}, enabled with the "in-memory" profile.
+ *
+ * - Every operation holds the outbox lock; it is meant for tests and load runs only.
+ */
+@Repository
+@Profile("in-memory")
+public class InMemoryMailOutbox implements MailOutbox {
+
+    private final Map<String, MailJob> jobs = new LinkedHashMap<>();
+
+    @Override
+    public synchronized void enqueue(MailJob job) {
+        if (job.getId() == null) {
+            job.setId(new ObjectId().toHexString());
+        }
+        jobs.put(job.getId(), copy(job));
+    }
+
+    @Override
+    public synchronized List<MailJob> claimDue(String claimId, Instant now, Instant leaseUntil, int limit) {
+        List<MailJob> claimed = new ArrayList<>();
+        jobs.values().stream()
+                .filter(job -> MailJob.PENDING.equals(job.getStatus()) && !job.getNextAttemptAt().isAfter(now))
+                .sorted(Comparator.comparing(MailJob::getNextAttemptAt))
+                .limit(limit)
+                .forEach(job -> {
+                    job.setNextAttemptAt(leaseUntil);
+                    job.setClaimedBy(claimId);
+                    claimed.add(copy(job));
+                });
+        return claimed;
+    }
+
+    @Override
+    public synchronized void delete(String claimId, Collection<String> ids) {
+        ids.forEach(id -> jobs.computeIfPresent(id, (key, job) -> claimId.equals(job.getClaimedBy()) ? null : job));
+    }
+
+    @Override
+    public synchronized void retry(String claimId, String id, int attempts, Instant nextAttemptAt, String error) {
+        MailJob job = jobs.get(id);
+        if (job != null && claimId.equals(job.getClaimedBy())) {
+            job.setAttempts(attempts);
+            job.setNextAttemptAt(nextAttemptAt);
+            job.setLastError(error);
+        }
+    }
+
+    @Override
+    public synchronized void markDead(String claimId, String id, int attempts, String error) {
+        MailJob job = jobs.get(id);
+        if (job != null && claimId.equals(job.getClaimedBy())) {
+            job.setStatus(MailJob.DEAD);
+            job.setAttempts(attempts);
+            job.setLastError(error);
+        }
+    }
+
+    /**
+     * Returns a copy of every job, for tests.
+     */
+    public synchronized List<MailJob> findAll() {
+        return jobs.values().stream().map(InMemoryMailOutbox::copy).toList();
+    }
+
+    private static MailJob copy(MailJob job) {
+        return new MailJob(job.getId(), job.getTemplate(), job.getTo(), job.getUserId(), job.getFirstName(),
+                job.getStatus(), job.getAttempts(), job.getNextAttemptAt(), job.getClaimedBy(), job.getLastError(),
+                job.getCreatedAt());
+    }
+}
@@ -0,0 +1,87 @@
+package com.assessment.repository;
+
+import com.assessment.model.RefreshToken;
+import com.assessment.model.RevokedSession;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-Memory Refresh Token Store
+ * A concurrency-safe stand-in for {@link MongoRefreshTokenStore}, enabled with the "in-memory" profile.
+ *
+ * - Expired tokens and sessions are not purged; it is meant for tests and load runs only.
+ */
+@Repository
+@Profile("in-memory")
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private final Map<String, RefreshToken> tokens = new ConcurrentHashMap<>();
+    private final Map<String, RevokedSession> revokedSessions = new ConcurrentHashMap<>();
+
+    @Override
+    public void insert(RefreshToken token) {
+        tokens.put(token.getId(), copy(token));
+    }
+
+    @Override
+    public Optional<RefreshToken> markUsed(String id, Instant now) {
+        AtomicReference<RefreshToken> before = new AtomicReference<>();
+        tokens.computeIfPresent(id, (key, token) -> {
+            if (token.getUsedAt() != null || token.isRevoked() || !token.getExpiresAt().isAfter(now)) {
+                return token;
+            }
+            before.set(token);
+            RefreshToken used = copy(token);
+            used.setUsedAt(now);
+            return used;
+        });
+        return Optional.ofNullable(before.get()).map(InMemoryRefreshTokenStore::copy);
+    }
+
+    @Override
+    public Optional<RefreshToken> findById(String id) {
+        return Optional.ofNullable(tokens.get(id)).map(InMemoryRefreshTokenStore::copy);
+    }
+
+    @Override
+    public void revokeSession(String sessionId, Instant revokedAt, Instant expiresAt) {
+        tokens.replaceAll((id, token) -> {
+            if (!sessionId.equals(token.getSessionId())) {
+                return token;
+            }
+            RefreshToken revoked = copy(token);
+            revoked.setRevoked(true);
+            return revoked;
+        });
+        revokedSessions.put(sessionId, new RevokedSession(sessionId, revokedAt, expiresAt));
+    }
+
+    @Override
+    public List<String> revokeUserSessions(String userId, Instant revokedAt, Instant expiresAt) {
+        List<String> sessionIds = tokens.values().stream()
+                .filter(token -> userId.equals(token.getUserId()) && !token.isRevoked() && token.getExpiresAt().isAfter(revokedAt))
+                .map(RefreshToken::getSessionId)
+                .distinct()
+                .toList();
+        sessionIds.forEach(sessionId -> revokeSession(sessionId, revokedAt, expiresAt));
+        return sessionIds;
+    }
+
+    @Override
+    public List<RevokedSession> findRevokedSince(Instant since) {
+        return revokedSessions.values().stream()
+                .filter(session -> session.getRevokedAt().isAfter(since))
+                .toList();
+    }
+
+    private static RefreshToken copy(RefreshToken token) {
+        return new RefreshToken(token.getId(), token.getUserId(), token.getSessionId(), token.getExpiresAt(),
+                token.getUsedAt(), token.isRevoked());
+    }
+}
@@ -0,0 +1,394 @@
+package com.assessment.repository;
+
+import com.assessment.model.User;
+import com.assessment.model.UserUpdate;
+import com.assessment.model.UserView;
+import org.bson.types.ObjectId;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * In-Memory User Repository
+ * A concurrency-safe stand-in for the MongoDB-backed {@link UserRepository}, enabled with the
+ * "in-memory" profile so the service can be run and load-tested without a MongoDB server.
+ *
+ * - Users are held in hash indexes on id and on email; the email index is unique, like the MongoDB one.
+ * - A sorted set of ids provides the _id order used by keyset pages and streams.
+ * - Each single-user write is atomic; stored users are copied on the way in and out, so callers
+ *   never share mutable state with the store, just as with documents read from MongoDB.
+ * - A write counter versions the collection exactly, in place of the latest lastModified.
+ * - Data is lost on restart. Use it for tests and load runs only.
+ */
+@Repository
+@Profile("in-memory")
+public class InMemoryUserRepository implements UserRepository {
+
+    private final Map<String, User> usersById = new ConcurrentHashMap<>();
+    private final Map<String, String> idsByEmail = new ConcurrentHashMap<>(); // Unique index on email
+    private final ConcurrentSkipListSet<String> orderedIds = new ConcurrentSkipListSet<>(); // ObjectId hex strings sort in _id order
+    private final AtomicLong writes = new AtomicLong(); // Incremented after every write; the collection version
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        String id = email == null ? null : idsByEmail.get(email);
+        return id == null ? Optional.empty() : findById(id);
+    }
+
+    @Override
+    public Optional<User> findCredentialsByEmail(String email) {
+        return findByEmail(email);
+    }
+
+    @Override
+    public List<User> findTokenOwnersByEmailIn(Collection<String> emails) {
+        return emails.stream()
+                .map(this::findByEmail)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    @Override
+    public Optional<User> findById(String id) {
+        User user = usersById.get(id);
+        return user == null ? Optional.empty() : Optional.of(copy(user));
+    }
+
+    @Override
+    public List<User> findTokenVersionsChangedSince(Instant since) {
+        return usersById.values().stream()
+                .filter(user -> user.getTokenVersionChangedAt() != null && user.getTokenVersionChangedAt().isAfter(since))
+                .map(InMemoryUserRepository::copy)
+                .toList();
+    }
+
+    @Override
+    public long updatePasswordHash(String id, String currentHash, String newHash) {
+        AtomicReference<User> updated = new AtomicReference<>();
+        usersById.computeIfPresent(id, (key, current) -> {
+            if (!Objects.equals(current.getPassword(), currentHash)) {
+                return current;
+            }
+            User next = copy(current);
+            next.setPassword(newHash);
+            updated.set(next);
+            return next;
+        });
+        if (updated.get() == null) {
+            return 0;
+        }
+        writes.incrementAndGet();
+        return 1;
+    }
+
+    @Override
+    public Optional<UserView> findViewById(String id) {
+        User user = usersById.get(id);
+        return user == null ? Optional.empty() : Optional.of(UserView.of(user));
+    }
+
+    @Override
+    public Stream<UserView> streamViewsBy() {
+        return inIdOrder(orderedIds.stream()).map(UserView::of);
+    }
+
+    @Override
+    public long estimatedCount() {
+        return usersById.size();
+    }
+
+    @Override
+    public String collectionVersion() {
+        return Long.toString(writes.get(), 36);
+    }
+
+    @Override
+    public List<UserView> search(UserSearch search, UserSearch.Position after, int limit) {
+        if (search.sortKey() == UserSearch.SortKey.ID) {
+            // Walk the sorted ids from the cursor on, as the _id index would
+            return inIdOrder((after == null ? orderedIds : orderedIds.tailSet(after.id(), false)).stream())
+                    .filter(user -> matches(search, user))
+                    .map(UserView::of)
+                    .limit(limit)
+                    .toList();
+        }
+
+        Comparator<UserView> order = Comparator.comparing(search.sortKey()::sortValue,
+                Comparator.nullsFirst(Comparator.<String>naturalOrder())).thenComparing(UserView::id);
+        return usersById.values().stream()
+                .filter(user -> matches(search, user))
+                .map(UserView::of)
+                .filter(user -> after == null || compareToPosition(search.sortKey(), user, after) > 0)
+                .sorted(order)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public long countMatching(UserSearch search) {
+        return usersById.values().stream().filter(user -> matches(search, user)).count();
+    }
+
+    @Override
+    public List<BulkInsertError> insertUnordered(List<User> users) {
+        List<BulkInsertError> errors = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            try {
+                insert(users.get(i));
+            } catch (DuplicateKeyException e) {
+                errors.add(new BulkInsertError(i, BulkInsertError.DUPLICATE_KEY, e.getMessage()));
+            }
+        }
+        return errors;
+    }
+
+    @Override
+    public Optional<UserView> updateFields(String id, String ownerEmail, Long expectedVersion, Map<String, Object> changes) {
+        AtomicReference<User> updated = new AtomicReference<>();
+        usersById.computeIfPresent(id, (key, current) -> {
+            if (ownerEmail != null && !ownerEmail.equals(current.getEmail())
+                    || expectedVersion != null && expectedVersion != current.getVersion()) {
+                return current;
+            }
+            User next = copy(current);
+            next.setVersion(current.getVersion() + 1);
+            next.setLastModified(Instant.now());
+            BeanWrapper fields = PropertyAccessorFactory.forBeanPropertyAccess(next);
+            changes.forEach(fields::setPropertyValue);
+            updated.set(next);
+            return next;
+        });
+        if (updated.get() == null) {
+            return Optional.empty();
+        }
+        writes.incrementAndGet();
+        return Optional.of(UserView.of(updated.get()));
+    }
+
+    @Override
+    public BulkUpdateResult updateFieldsInBulk(List<UserUpdate> updates) {
+        int matched = 0;
+        for (UserUpdate update : updates) {
+            if (updateFields(update.id(), null, update.version(), update.changes()).isPresent()) {
+                matched++;
+            }
+        }
+        return new BulkUpdateResult(updates.size(), matched, matched); // The version always changes, so every match is a modification
+    }
+
+    @Override
+    public Optional<User> incrementTokenVersion(String id) {
+        User updated = usersById.computeIfPresent(id, (key, current) -> {
+            User next = copy(current);
+            next.setTokenVersion(current.getTokenVersion() + 1);
+            next.setTokenVersionChangedAt(Instant.now());
+            return next;
+        });
+        if (updated == null) {
+            return Optional.empty();
+        }
+        writes.incrementAndGet();
+        return Optional.of(copy(updated));
+    }
+
+    @Override
+    public <S extends User> S insert(S user) {
+        if (user.getId() == null) {
+            user.setId(new ObjectId().toHexString()); // MongoDB also assigns the generated id to the saved entity
+        }
+        User stored = copy(user);
+        boolean reserved = reserveEmail(stored.getEmail(), stored.getId());
+        if (usersById.putIfAbsent(stored.getId(), stored) != null) {
+            if (reserved) {
+                releaseEmail(stored.getEmail(), stored.getId());
+            }
+            throw new DuplicateKeyException("Duplicate key on _id: " + stored.getId());
+        }
+        orderedIds.add(stored.getId());
+        writes.incrementAndGet();
+        return user;
+    }
+
+    @Override
+    public <S extends User> List<S> insert(Iterable<S> users) {
+        return StreamSupport.stream(users.spliterator(), false).map(this::insert).toList();
+    }
+
+    @Override
+    public <S extends User> S save(S user) {
+        if (user.getId() == null) {
+            return insert(user);
+        }
+        User stored = copy(user);
+        usersById.compute(stored.getId(), (id, previous) -> {
+            reserveEmail(stored.getEmail(), id); // Throws before anything changes if the email belongs to another user
+            if (previous != null && previous.getEmail() != null && !previous.getEmail().equals(stored.getEmail())) {
+                releaseEmail(previous.getEmail(), id);
+            }
+            return stored;
+        });
+        orderedIds.add(stored.getId());
+        writes.incrementAndGet();
+        return user;
+    }
+
+    @Override
+    public <S extends User> List<S> saveAll(Iterable<S> users) {
+        return StreamSupport.stream(users.spliterator(), false).map(this::save).toList();
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return usersById.containsKey(id);
+    }
+
+    @Override
+    public List<User> findAll() {
+        return inIdOrder(orderedIds.stream()).toList();
+    }
+
+    @Override
+    public List<User> findAllById(Iterable<String> ids) {
+        return StreamSupport.stream(ids.spliterator(), false)
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .map(InMemoryUserRepository::copy)
+                .toList();
+    }
+
+    @Override
+    public List<User> findAll(Sort sort) {
+        return findAll().stream().sorted(comparator(sort)).toList();
+    }
+
+    @Override
+    public Page<User> findAll(Pageable pageable) {
+        List<User> sorted = findAll(pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(sorted, pageable, sorted.size());
+        }
+        int from = (int) Math.min(pageable.getOffset(), sorted.size());
+        int to = Math.min(from + pageable.getPageSize(), sorted.size());
+        return new PageImpl<>(sorted.subList(from, to), pageable, sorted.size());
+    }
+
+    @Override
+    public long count() {
+        return usersById.size();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        User removed = usersById.remove(id);
+        if (removed != null) {
+            orderedIds.remove(id);
+            releaseEmail(removed.getEmail(), id);
+            writes.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void delete(User user) {
+        deleteById(user.getId());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends User> users) {
+        users.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        List.copyOf(usersById.keySet()).forEach(this::deleteById);
+    }
+
+    /**
+     * Claims an email for a user in the unique email index.
+     *
+     * @return true if the email was newly claimed, false if the user already held it.
+     * @throws DuplicateKeyException if another user holds the email.
+     */
+    private boolean reserveEmail(String email, String id) {
+        if (email == null) {
+            return false;
+        }
+        String owner = idsByEmail.putIfAbsent(email, id);
+        if (owner != null && !owner.equals(id)) {
+            throw new DuplicateKeyException("Duplicate key on email: " + email);
+        }
+        return owner == null;
+    }
+
+    private void releaseEmail(String email, String id) {
+        if (email != null) {
+            idsByEmail.remove(email, id);
+        }
+    }
+
+    private Stream<User> inIdOrder(Stream<String> ids) {
+        return ids.map(usersById::get)
+                .filter(Objects::nonNull) // Deleted between reading the id and the user
+                .map(InMemoryUserRepository::copy);
+    }
+
+    private static boolean matches(UserSearch search, User user) {
+        return (search.role() == null || search.role().equals(user.getRole()))
+                && (search.mobileNumber() == null || search.mobileNumber().equals(user.getMobileNumber()))
+                && (search.emailPrefix() == null || user.getEmail() != null && user.getEmail().startsWith(search.emailPrefix()))
+                && (search.namePrefix() == null || user.getLastName() != null && user.getLastName().startsWith(search.namePrefix()));
+    }
+
+    /**
+     * Compares a user with a page position in (sort value, id) order; null values sort first, as in MongoDB.
+     */
+    private static int compareToPosition(UserSearch.SortKey key, UserView user, UserSearch.Position position) {
+        int byValue = Objects.compare(key.sortValue(user), position.value(), Comparator.nullsFirst(Comparator.naturalOrder()));
+        return byValue != 0 ? byValue : user.id().compareTo(position.id());
+    }
+
+    /**
+     * Orders users by the sort's properties, read through their getters. Null values sort first, as in MongoDB.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Comparator<User> comparator(Sort sort) {
+        Comparator<User> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<User> byProperty = Comparator.comparing(
+                    user -> (Comparable) PropertyAccessorFactory.forBeanPropertyAccess(user).getPropertyValue(order.getProperty()),
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            comparator = comparator.thenComparing(order.isAscending() ? byProperty : byProperty.reversed());
+        }
+        return comparator;
+    }
+
+    private static User copy(User user) {
+        return new User(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail(), user.getMobileNumber(),
+                user.getPassword(), user.getRole(), user.getVersion(), user.getLastModified(), user.getTokenVersion(),
+                user.getTokenVersionChangedAt());
+    }
+}
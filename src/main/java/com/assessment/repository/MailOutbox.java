@@ -0,0 +1,67 @@
+package com.assessment.repository;
+
+import com.assessment.model.MailJob;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Mail Outbox
+ * Persists mail jobs until they are sent.
+ * Implemented by {@link MongoMailOutbox}, and by {@link InMemoryMailOutbox} in the "in-memory" profile.
+ *
+ * - A claim holds a job by moving its nextAttemptAt to the end of a lease; a dispatcher that dies mid-batch
+ *   leaves its jobs to be claimed again once the lease runs out.
+ * - Every change after the claim is conditional on the claim ID, so a run whose lease ran out cannot
+ *   overwrite the outcome of the run that took the job over.
+ */
+public interface MailOutbox {
+
+    /**
+     * Stores a new job.
+     *
+     * @param job The job to store; its ID is assigned on insert.
+     */
+    void enqueue(MailJob job);
+
+    /**
+     * Claims pending jobs that are due, oldest due first.
+     *
+     * @param claimId A unique ID for this dispatcher run.
+     * @param now The current time.
+     * @param leaseUntil When the claim expires.
+     * @param limit The maximum number of jobs to claim.
+     * @return The claimed jobs.
+     */
+    List<MailJob> claimDue(String claimId, Instant now, Instant leaseUntil, int limit);
+
+    /**
+     * Deletes jobs that were sent.
+     *
+     * @param claimId The run that claimed them.
+     * @param ids The IDs of the sent jobs.
+     */
+    void delete(String claimId, Collection<String> ids);
+
+    /**
+     * Records a failed attempt and makes the job due again later.
+     *
+     * @param claimId The run that claimed it.
+     * @param id The ID of the job.
+     * @param attempts The number of failed attempts, including this one.
+     * @param nextAttemptAt When to try again.
+     * @param error What went wrong.
+     */
+    void retry(String claimId, String id, int attempts, Instant nextAttemptAt, String error);
+
+    /**
+     * Records a final failure; the job is kept as DEAD and never claimed again.
+     *
+     * @param claimId The run that claimed it.
+     * @param id The ID of the job.
+     * @param attempts The number of failed attempts, including this one.
+     * @param error What went wrong.
+     */
+    void markDead(String claimId, String id, int attempts, String error);
+
+}
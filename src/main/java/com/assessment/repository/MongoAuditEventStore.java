@@ -0,0 +1,26 @@
+package com.assessment.repository;
+
+import com.assessment.model.AuditEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+/**
+ * Mongo Audit Event Store
+ * Implements {@link AuditEventStore} with one insertMany per batch into the audit_events collection,
+ * which {@link UserIndexInitializer} creates as a time-series or capped collection.
+ */
+@Repository
+@RequiredArgsConstructor
+@Profile("!in-memory & !reactive")
+public class MongoAuditEventStore implements AuditEventStore {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void insertAll(List<AuditEvent> events) {
+        mongoTemplate.insert(events, AuditEvent.class);
+    }
+}
@@ -0,0 +1,77 @@
+package com.assessment.repository;
+
+import com.assessment.model.MailJob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Mongo Mail Outbox
+ * Implements {@link MailOutbox} with MongoTemplate, in the mail_outbox collection.
+ *
+ * - A claim is three round trips whatever the batch size: find the due IDs, move them to the lease in one
+ *   updateMulti that re-checks they are still due, then read back the jobs this run won.
+ */
+@Repository
+@RequiredArgsConstructor
+@Profile("!in-memory & !reactive")
+public class MongoMailOutbox implements MailOutbox {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void enqueue(MailJob job) {
+        mongoTemplate.insert(job);
+    }
+
+    @Override
+    public List<MailJob> claimDue(String claimId, Instant now, Instant leaseUntil, int limit) {
+        Query due = Query.query(due(now)).with(Sort.by("nextAttemptAt")).limit(limit);
+        due.fields().include("_id");
+        List<String> ids = mongoTemplate.find(due, MailJob.class).stream().map(MailJob::getId).toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // Another dispatcher may have claimed some of them since; the filter skips those
+        mongoTemplate.updateMulti(Query.query(due(now).and("_id").in(ids)),
+                new Update().set("nextAttemptAt", leaseUntil).set("claimedBy", claimId), MailJob.class);
+        return mongoTemplate.find(Query.query(Criteria.where("_id").in(ids).and("claimedBy").is(claimId)
+                .and("nextAttemptAt").is(leaseUntil)), MailJob.class);
+    }
+
+    @Override
+    public void delete(String claimId, Collection<String> ids) {
+        mongoTemplate.remove(Query.query(Criteria.where("_id").in(ids).and("claimedBy").is(claimId)), MailJob.class);
+    }
+
+    @Override
+    public void retry(String claimId, String id, int attempts, Instant nextAttemptAt, String error) {
+        mongoTemplate.updateFirst(claimed(claimId, id),
+                new Update().set("attempts", attempts).set("nextAttemptAt", nextAttemptAt).set("lastError", error),
+                MailJob.class);
+    }
+
+    @Override
+    public void markDead(String claimId, String id, int attempts, String error) {
+        mongoTemplate.updateFirst(claimed(claimId, id),
+                new Update().set("status", MailJob.DEAD).set("attempts", attempts).set("lastError", error),
+                MailJob.class);
+    }
+
+    private static Criteria due(Instant now) {
+        return Criteria.where("status").is(MailJob.PENDING).and("nextAttemptAt").lte(now);
+    }
+
+    private static Query claimed(String claimId, String id) {
+        return Query.query(Criteria.where("_id").is(id).and("claimedBy").is(claimId));
+    }
+}
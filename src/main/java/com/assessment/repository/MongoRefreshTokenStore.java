@@ -0,0 +1,69 @@
+package com.assessment.repository;
+
+import com.assessment.model.RefreshToken;
+import com.assessment.model.RevokedSession;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Mongo Refresh Token Store
+ * Implements {@link RefreshTokenStore} with MongoTemplate.
+ */
+@Repository
+@RequiredArgsConstructor
+@Profile("!in-memory & !reactive")
+public class MongoRefreshTokenStore implements RefreshTokenStore {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void insert(RefreshToken token) {
+        mongoTemplate.insert(token);
+    }
+
+    @Override
+    public Optional<RefreshToken> markUsed(String id, Instant now) {
+        Query usable = Query.query(Criteria.where("_id").is(id)
+                .and("usedAt").is(null)
+                .and("revoked").is(false)
+                .and("expiresAt").gt(now));
+        return Optional.ofNullable(mongoTemplate.findAndModify(usable, Update.update("usedAt", now),
+                FindAndModifyOptions.options().returnNew(false), RefreshToken.class));
+    }
+
+    @Override
+    public Optional<RefreshToken> findById(String id) {
+        return Optional.ofNullable(mongoTemplate.findById(id, RefreshToken.class));
+    }
+
+    @Override
+    public void revokeSession(String sessionId, Instant revokedAt, Instant expiresAt) {
+        mongoTemplate.updateMulti(Query.query(Criteria.where("sessionId").is(sessionId)),
+                Update.update("revoked", true), RefreshToken.class);
+        mongoTemplate.save(new RevokedSession(sessionId, revokedAt, expiresAt));
+    }
+
+    @Override
+    public List<String> revokeUserSessions(String userId, Instant revokedAt, Instant expiresAt) {
+        Query active = Query.query(Criteria.where("userId").is(userId)
+                .and("revoked").is(false)
+                .and("expiresAt").gt(revokedAt));
+        List<String> sessionIds = mongoTemplate.findDistinct(active, "sessionId", RefreshToken.class, String.class);
+        sessionIds.forEach(sessionId -> revokeSession(sessionId, revokedAt, expiresAt));
+        return sessionIds;
+    }
+
+    @Override
+    public List<RevokedSession> findRevokedSince(Instant since) {
+        return mongoTemplate.find(Query.query(Criteria.where("revokedAt").gt(since)), RevokedSession.class);
+    }
+}
@@ -0,0 +1,164 @@
+package com.assessment.repository;
+
+import com.assessment.model.User;
+import com.assessment.model.UserView;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * MongoDB User Change Feed
+ * Feeds the {@link UserReadModel} from the users collection: a projected scan, then a change stream.
+ *
+ * - Change streams need a replica set (a single-node one is enough) or a sharded cluster.
+ * - Updates are delivered with the current document (updateLookup), minus the password hash and token bookkeeping,
+ *   which a $project stage removes on the server.
+ * - Resuming fails with ChangeStreamHistoryLost once the resume point has left the oplog;
+ *   that, a drop or a rename of the collection is reported as {@link HistoryLostException}.
+ */
+@Component
+@Profile("!in-memory & !reactive")
+@ConditionalOnProperty(name = "users.readModel.enabled", havingValue = "true")
+public class MongoUserChangeFeed implements UserChangeFeed {
+
+    // Fields the read model stores; _id is always included
+    private static final String[] MODEL_FIELDS = { "firstName", "lastName", "email", "mobileNumber", "role", "version", "lastModified" };
+    // Server error codes meaning the stream cannot resume: ChangeStreamHistoryLost, ChangeStreamFatalError
+    private static final Set<Integer> HISTORY_LOST = Set.of(286, 280);
+    private static final Set<String> INVALIDATING = Set.of("drop", "dropDatabase", "rename", "invalidate");
+
+    private final MongoTemplate mongoTemplate;
+    private final long maxAwaitMs;
+
+    /**
+     * Constructor to inject the template and the change stream wait.
+     *
+     * @param mongoTemplate The template of the users collection.
+     * @param maxAwaitMs How long each poll of the change stream waits for a change on the server.
+     */
+    public MongoUserChangeFeed(MongoTemplate mongoTemplate,
+                               @Value("${users.readModel.maxAwaitMs:500}") long maxAwaitMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.maxAwaitMs = maxAwaitMs;
+    }
+
+    @Override
+    public ChangeCursor watch(String resumeToken) {
+        List<Bson> pipeline = List.of(
+                Aggregates.match(Filters.in("operationType", "insert", "update", "replace", "delete",
+                        "drop", "dropDatabase", "rename", "invalidate")),
+                Aggregates.project(Projections.exclude("fullDocument.password", "fullDocument.tokenVersion",
+                        "fullDocument.tokenVersionChangedAt", "updateDescription")));
+        ChangeStreamIterable<Document> stream = mongoTemplate.getCollection(mongoTemplate.getCollectionName(User.class))
+                .watch(pipeline)
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .maxAwaitTime(maxAwaitMs, TimeUnit.MILLISECONDS);
+        if (resumeToken != null) {
+            stream = stream.resumeAfter(BsonDocument.parse(resumeToken));
+        }
+        try {
+            return new Cursor(stream.cursor());
+        } catch (MongoCommandException e) {
+            throw translate(e);
+        }
+    }
+
+    @Override
+    public void scan(Consumer<UserChange> sink) {
+        Query query = new Query();
+        query.fields().include(MODEL_FIELDS);
+        try (Stream<User> users = mongoTemplate.stream(query, User.class)) {
+            users.forEach(user -> sink.accept(new UserChange(user.getId(), UserView.of(user), user.getLastModified())));
+        }
+    }
+
+    private UserChange toChange(ChangeStreamDocument<Document> event) {
+        String operation = event.getOperationTypeString();
+        if (INVALIDATING.contains(operation)) {
+            throw new HistoryLostException("Users change stream ended by a " + operation + " event", null);
+        }
+
+        BsonValue key = event.getDocumentKey() == null ? null : event.getDocumentKey().get("_id");
+        String id = key == null ? null : key.isObjectId() ? key.asObjectId().getValue().toHexString() : key.asString().getValue();
+        if ("delete".equals(operation)) {
+            return UserChange.deleted(id);
+        }
+
+        Document document = event.getFullDocument();
+        if (document == null) {
+            return null; // Deleted before the lookup; its delete event follows
+        }
+        User user = mongoTemplate.getConverter().read(User.class, document);
+        return new UserChange(id, UserView.of(user), user.getLastModified());
+    }
+
+    private static RuntimeException translate(MongoCommandException e) {
+        return HISTORY_LOST.contains(e.getErrorCode())
+                ? new HistoryLostException("Users change stream can no longer be resumed", e)
+                : e;
+    }
+
+    /**
+     * Adapts the driver's change stream cursor.
+     */
+    private final class Cursor implements ChangeCursor {
+
+        private final MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+
+        Cursor(MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor) {
+            this.cursor = cursor;
+        }
+
+        @Override
+        public UserChange tryNext() {
+            try {
+                ChangeStreamDocument<Document> event;
+                while ((event = cursor.tryNext()) != null) {
+                    UserChange change = toChange(event);
+                    if (change != null) {
+                        return change;
+                    }
+                }
+                return null;
+            } catch (MongoCommandException e) {
+                throw translate(e);
+            }
+        }
+
+        @Override
+        public boolean drained() {
+            return cursor.available() == 0;
+        }
+
+        @Override
+        public String resumeToken() {
+            BsonDocument token = cursor.getResumeToken();
+            return token == null ? null : token.toJson();
+        }
+
+        @Override
+        public void close() {
+            cursor.close();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.assessment.repository;
+
+import com.assessment.model.User;
+import com.assessment.model.UserView;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.data.mongodb.repository.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive User Repository
+ * Non-blocking counterpart of {@link UserRepository}, used by the reactive (WebFlux) variant of the API.
+ * Extends ReactiveMongoRepository to interact with MongoDB through the reactive streams driver.
+ */
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String>, ReactiveUserRepositoryCustom {
+
+    /**
+     * Insert a new user; implemented by the custom fragment so that it moves the collection version on.
+     */
+    @Override
+    <S extends User> Mono<S> insert(S user);
+
+    /**
+     * Insert or replace a user; implemented by the custom fragment so that it moves the collection version on.
+     */
+    @Override
+    <S extends User> Mono<S> save(S user);
+
+    /**
+     * Find only the credentials of a user by email.
+     * 
+     * - Loads the id, email, password hash, role and token version; the rest of the document is not read.
+     *
+     * @param email The email address of the user.
+     * @return A Mono emitting the partially populated user, or empty if not found.
+     */
+    @Query(value = "{ 'email': ?0 }", fields = "{ 'email': 1, 'password': 1, 'role': 1, 'tokenVersion': 1 }")
+    Mono<User> findCredentialsByEmail(String email);
+
+    /**
+     * Replace a user's password hash, but only if it still equals the hash that was checked.
+     *
+     * @param id The unique identifier of the user.
+     * @param currentHash The hash the password was verified against.
+     * @param newHash The replacement hash.
+     * @return A Mono emitting the number of users updated (0 or 1).
+     */
+    @Query("{ '_id': ?0, 'password': ?1 }")
+    @Update("{ '$set': { 'password': ?2 } }")
+    Mono<Long> updatePasswordHash(String id, String currentHash, String newHash);
+
+    /**
+     * Find the public fields of a user by ID; the password hash is not read.
+     *
+     * @param id The unique identifier of the user.
+     * @return A Mono emitting the user's view, or empty if not found.
+     */
+    Mono<UserView> findViewById(String id);
+
+    /**
+     * Find every user, read from a cursor as the subscriber requests them.
+     *
+     * @return A Flux of the view of every user.
+     */
+    Flux<UserView> findViewsBy();
+}
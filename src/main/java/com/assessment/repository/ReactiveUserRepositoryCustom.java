@@ -0,0 +1,64 @@
+package com.assessment.repository;
+
+import com.assessment.model.User;
+import com.assessment.model.UserView;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive User Repository Custom Operations
+ * Declares reactive database operations that cannot be expressed as derived repository queries.
+ * Implemented by {@link ReactiveUserRepositoryCustomImpl} using ReactiveMongoTemplate.
+ */
+public interface ReactiveUserRepositoryCustom {
+
+    /**
+     * Returns the approximate number of users from collection metadata,
+     * without scanning the collection.
+     *
+     * @return A Mono emitting the estimated number of users.
+     */
+    Mono<Long> estimatedCount();
+
+    /**
+     * Insert a new user, then move the collection version on.
+     *
+     * @param user The user to insert.
+     * @return A Mono emitting the inserted user.
+     */
+    <S extends User> Mono<S> insert(S user);
+
+    /**
+     * Insert or replace a user, then move the collection version on; replaces the CRUD save.
+     *
+     * @param user The user to save.
+     * @return A Mono emitting the saved user.
+     */
+    <S extends User> Mono<S> save(S user);
+
+    /**
+     * Returns a short value that changes whenever a user is inserted, updated or removed,
+     * built from the write counter (see UserWriteCounter) and the estimated count without scanning users.
+     *
+     * @return A Mono emitting an opaque version of the users collection.
+     */
+    Mono<String> collectionVersion();
+
+    /**
+     * Finds one page of users that pass a search's filters, in its sort order, reading only the fields of a {@link UserView}.
+     *
+     * @param search The filters and sort key.
+     * @param after Where the previous page ended, or null for the first page.
+     * @param limit The maximum number of users to return.
+     * @return A Flux of views of up to limit users following the given position.
+     */
+    Flux<UserView> search(UserSearch search, UserSearch.Position after, int limit);
+
+    /**
+     * Counts the users that pass a search's filters; without filters, returns the estimated count.
+     *
+     * @param search The filters; the sort key is ignored.
+     * @return A Mono emitting the number of matching users.
+     */
+    Mono<Long> countMatching(UserSearch search);
+}
@@ -0,0 +1,67 @@
+package com.assessment.repository;
+
+import com.assessment.model.User;
+import com.assessment.model.UserView;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.util.Optional;
+
+/**
+ * Reactive User Repository Custom Operations Implementation
+ * Implements {@link ReactiveUserRepositoryCustom} with ReactiveMongoTemplate.
+ * Spring Data merges this fragment into {@link ReactiveUserRepository}.
+ */
+@RequiredArgsConstructor
+public class ReactiveUserRepositoryCustomImpl implements ReactiveUserRepositoryCustom {
+
+    // Fields of a UserView; _id is always included
+    private static final String[] VIEW_FIELDS = { "firstName", "lastName", "email", "mobileNumber", "role", "version" };
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Mono<Long> estimatedCount() {
+        return reactiveMongoTemplate.estimatedCount(User.class);
+    }
+
+    @Override
+    public Flux<UserView> search(UserSearch search, UserSearch.Position after, int limit) {
+        Query query = search.pageQuery(after, limit);
+        query.fields().include(VIEW_FIELDS); // The password hash never leaves the database
+        return reactiveMongoTemplate.find(query, User.class).map(UserView::of);
+    }
+
+    @Override
+    public Mono<Long> countMatching(UserSearch search) {
+        return search.hasFilters() ? reactiveMongoTemplate.count(search.countQuery(), User.class) : estimatedCount();
+    }
+
+    @Override
+    public <S extends User> Mono<S> insert(S user) {
+        return reactiveMongoTemplate.insert(user).flatMap(inserted -> recordWrite().thenReturn(inserted));
+    }
+
+    @Override
+    public <S extends User> Mono<S> save(S user) {
+        return reactiveMongoTemplate.save(user).flatMap(saved -> recordWrite().thenReturn(saved));
+    }
+
+    @Override
+    public Mono<String> collectionVersion() {
+        return reactiveMongoTemplate.findOne(UserWriteCounter.query(), Document.class, UserWriteCounter.COLLECTION)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .zipWith(estimatedCount(), (counter, count) -> UserWriteCounter.version(counter.orElse(null), count));
+    }
+
+    /**
+     * Moves the collection version on, after a write to users (see {@link UserWriteCounter}).
+     */
+    private Mono<Void> recordWrite() {
+        return reactiveMongoTemplate.upsert(UserWriteCounter.query(), UserWriteCounter.bump(), UserWriteCounter.COLLECTION).then();
+    }
+}
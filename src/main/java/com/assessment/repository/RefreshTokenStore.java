@@ -0,0 +1,66 @@
+package com.assessment.repository;
+
+import com.assessment.model.RefreshToken;
+import com.assessment.model.RevokedSession;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Refresh Token Store
+ * Persists refresh tokens and revoked sessions.
+ * Implemented by {@link MongoRefreshTokenStore}, and by {@link InMemoryRefreshTokenStore} in the "in-memory" profile.
+ */
+public interface RefreshTokenStore {
+
+    /**
+     * Stores a new refresh token.
+     *
+     * @param token The token to store.
+     */
+    void insert(RefreshToken token);
+
+    /**
+     * Atomically marks a refresh token as used, if it is unused, not revoked and not expired.
+     *
+     * @param id The hash of the token.
+     * @param now The current time.
+     * @return The token as it was before being marked, or empty if it cannot be used.
+     */
+    Optional<RefreshToken> markUsed(String id, Instant now);
+
+    /**
+     * Finds a refresh token by its hash, whatever its state.
+     *
+     * @param id The hash of the token.
+     * @return The token, or empty if it does not exist (or has expired and been deleted).
+     */
+    Optional<RefreshToken> findById(String id);
+
+    /**
+     * Revokes every refresh token of a session and records the session as revoked.
+     *
+     * @param sessionId The session to revoke.
+     * @param revokedAt The time of revocation.
+     * @param expiresAt When the last access token issued in the session expires.
+     */
+    void revokeSession(String sessionId, Instant revokedAt, Instant expiresAt);
+
+    /**
+     * Revokes every active session of a user.
+     *
+     * @param userId The user whose sessions are revoked.
+     * @param revokedAt The time of revocation.
+     * @param expiresAt When the last access token issued in the sessions expires.
+     * @return The ids of the revoked sessions.
+     */
+    List<String> revokeUserSessions(String userId, Instant revokedAt, Instant expiresAt);
+
+    /**
+     * Finds sessions revoked after the given time.
+     *
+     * @param since The time of the previous read.
+     * @return The sessions revoked since then.
+     */
+    List<RevokedSession> findRevokedSince(Instant since);
+}
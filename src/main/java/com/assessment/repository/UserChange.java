@@ -0,0 +1,23 @@
+package com.assessment.repository;
+
+import com.assessment.model.UserView;
+import java.time.Instant;
+
+/**
+ * User Change
+ * One user as read by a bulk scan or reported by a change stream, in the form the {@link UserReadModel} stores.
+ *
+ * @param id The ID of the user.
+ * @param user The user's public fields, or null if the user was deleted.
+ * @param lastModified When the user was last written, or null if unknown.
+ */
+public record UserChange(String id, UserView user, Instant lastModified) {
+
+    public static UserChange deleted(String id) {
+        return new UserChange(id, null, null);
+    }
+
+    public boolean isDelete() {
+        return user == null;
+    }
+}
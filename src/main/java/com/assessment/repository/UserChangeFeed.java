@@ -0,0 +1,69 @@
+package com.assessment.repository;
+
+import java.util.function.Consumer;
+
+/**
+ * User Change Feed
+ * The source a {@link UserReadModel} is built and kept current from: a bulk scan of the users collection
+ * and an ordered, resumable stream of the changes made to it.
+ *
+ * - Implemented by {@link MongoUserChangeFeed} with a MongoDB change stream, which requires a replica set.
+ * - A stream opened before a scan reports every change the scan may have missed, so the two can be combined
+ *   without a gap; replaying a change the scan already saw is harmless.
+ */
+public interface UserChangeFeed {
+
+    /**
+     * Opens a stream of changes.
+     *
+     * @param resumeToken The token of the last change already applied, or null to start from now.
+     * @return A cursor over the changes that follow.
+     * @throws HistoryLostException if the changes after the token are no longer available.
+     */
+    ChangeCursor watch(String resumeToken);
+
+    /**
+     * Reads every user once.
+     *
+     * @param sink Receives each user as an insert.
+     */
+    void scan(Consumer<UserChange> sink);
+
+    /**
+     * An open change stream.
+     */
+    interface ChangeCursor extends AutoCloseable {
+
+        /**
+         * Returns the next change, waiting a short, bounded time for one to arrive.
+         *
+         * @return The next change, or null if none arrived, which means every earlier change has been returned.
+         * @throws HistoryLostException if the stream can no longer be followed, e.g. because the collection was dropped.
+         */
+        UserChange tryNext();
+
+        /**
+         * Tells whether the changes fetched so far have all been returned, so the next
+         * {@link #tryNext()} asks the server for more.
+         */
+        boolean drained();
+
+        /**
+         * Returns the token to resume after the last returned change.
+         */
+        String resumeToken();
+
+        @Override
+        void close();
+    }
+
+    /**
+     * Thrown when the stream cannot continue from where it was, so the read model has to be rebuilt from a scan.
+     */
+    class HistoryLostException extends RuntimeException {
+
+        public HistoryLostException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.assessment.repository;
+
+import com.assessment.model.AuditEvent;
+import com.assessment.model.MailJob;
+import com.assessment.model.RefreshToken;
+import com.assessment.model.RevokedSession;
+import com.assessment.model.User;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * User Index Initializer
+ * Creates the indexes declared on {@link User}, {@link RefreshToken}, {@link RevokedSession} and {@link MailJob}
+ * when the application starts.
+ *
+ * - The unique email index is what makes signup safe against concurrent duplicates.
+ * - The TTL indexes on the token collections let MongoDB delete expired tokens and sessions.
+ * - Creating an index that already exists is a no-op, so this is safe on every start.
+ * - Also creates the {@link AuditEvent} collection if it is missing: by default a time-series collection on "at"
+ *   with "type" as its meta field, whose events MongoDB expires after audit.collection.retentionDays (MongoDB 5.0+);
+ *   with audit.collection.type=capped, a capped collection of audit.collection.cappedBytes that overwrites its
+ *   oldest events. An existing collection is left as it is, and none is created with audit.enabled=false.
+ * - Can be disabled with users.manageIndexes=false (e.g. when indexes are managed externally).
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "users.manageIndexes", havingValue = "true", matchIfMissing = true)
+public class UserIndexInitializer {
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mongoMappingContext;
+
+    private static final Logger log = LoggerFactory.getLogger(UserIndexInitializer.class);
+    private static final List<Class<?>> DOCUMENTS = List.of(User.class, RefreshToken.class, RevokedSession.class, MailJob.class);
+
+    @Value("${audit.enabled:true}")
+    private boolean auditEnabled;
+
+    @Value("${audit.collection.type:timeseries}")
+    private String auditCollectionType; // "timeseries" or "capped"
+
+    @Value("${audit.collection.retentionDays:365}")
+    private long auditRetentionDays;
+
+    @Value("${audit.collection.cappedBytes:1073741824}")
+    private long auditCappedBytes;
+
+    /**
+     * Ensures the audit collection and every index declared on the managed documents exist.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void ensureIndexes() {
+        if (auditEnabled) {
+            ensureAuditCollection();
+        }
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoMappingContext);
+        for (Class<?> document : DOCUMENTS) {
+            IndexOperations indexOps = mongoTemplate.indexOps(document);
+            resolver.resolveIndexFor(document).forEach(indexOps::ensureIndex);
+        }
+    }
+
+    /**
+     * Creates the audit collection with its time-series or capped options, which cannot be added later.
+     */
+    private void ensureAuditCollection() {
+        if (mongoTemplate.collectionExists(AuditEvent.class)) {
+            return;
+        }
+        CollectionOptions options = "capped".equals(auditCollectionType)
+                ? CollectionOptions.empty().capped().size(auditCappedBytes)
+                : CollectionOptions.timeSeries("at", timeSeries -> timeSeries.metaField("type")
+                        .granularity(Granularity.SECONDS)
+                        .expireAfter(Duration.ofDays(auditRetentionDays)));
+        mongoTemplate.createCollection(AuditEvent.class, options);
+        log.info("Created the {} audit collection", auditCollectionType);
+    }
+}
@@ -0,0 +1,242 @@
+package com.assessment.repository;
+
+import com.assessment.model.UserView;
+import org.bson.types.ObjectId;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * User Read Model
+ * An in-memory copy of the public fields of every user that answers the same queries as {@link UserRepository},
+ * for the admin endpoints to read without a database round trip. Kept current by {@link UserReadModelUpdater}.
+ *
+ * - Each user is one immutable entry: the ID as a 12-byte ObjectId, version and lastModified as primitive longs,
+ *   and the role shared with every other user of that role. The password hash is never held.
+ * - The entry is indexed by ID (in _id order), by (email, ID) and (last name, ID) for the email and last name
+ *   filters and sort orders, and by role (a sorted set of IDs per role). The mobile number filter scans.
+ * - Changes are applied by a single writer; readers never lock. Entries are replaced, never modified, and readers
+ *   skip index entries that no longer belong to the current entry of their user, so a user being updated can be
+ *   missing from a page for the instant of the update but is never returned twice or half-updated.
+ * - A change older than the stored entry (a lower version, replayed after a scan) is ignored.
+ */
+public class UserReadModel implements UserViewQueries {
+
+    private static final ObjectId MIN_ID = new ObjectId(new byte[12]);
+    private static final Comparator<Entry> EMAIL_ORDER = Comparator.comparing(Entry::email,
+            Comparator.nullsFirst(Comparator.<String>naturalOrder())).thenComparing(Entry::id);
+    private static final Comparator<Entry> LAST_NAME_ORDER = Comparator.comparing(Entry::lastName,
+            Comparator.nullsFirst(Comparator.<String>naturalOrder())).thenComparing(Entry::id);
+
+    private final ConcurrentSkipListMap<ObjectId, Entry> byId = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListSet<Entry> byEmail = new ConcurrentSkipListSet<>(EMAIL_ORDER);
+    private final ConcurrentSkipListSet<Entry> byLastName = new ConcurrentSkipListSet<>(LAST_NAME_ORDER);
+    private final Map<String, ConcurrentSkipListSet<ObjectId>> idsByRole = new ConcurrentHashMap<>();
+    private volatile long size; // Maintained by the writer; the skip list's own size() is a full traversal
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36); // Tells this copy's versions apart from any other's
+    private volatile long applied; // Changes applied so far; the writer is the only one to increment it
+
+    /**
+     * Applies one inserted, updated or deleted user.
+     *
+     * - Users whose ID is not an ObjectId are ignored; MongoDB assigns ObjectIds to every user this application creates.
+     *
+     * @param change The user's new state, or its deletion.
+     */
+    public synchronized void apply(UserChange change) {
+        if (!ObjectId.isValid(change.id())) {
+            return;
+        }
+        ObjectId id = new ObjectId(change.id());
+        Entry previous = byId.get(id);
+
+        if (change.isDelete()) {
+            if (previous != null) {
+                byId.remove(id);
+                unindex(previous);
+                size--;
+                applied++;
+            }
+            return;
+        }
+
+        if (previous != null && previous.version() > change.user().version()) {
+            return;
+        }
+        Entry entry = Entry.of(id, change, idsByRole.keySet());
+        byId.put(id, entry); // From here on readers skip the previous entry wherever they meet it
+        if (previous == null) {
+            size++;
+        } else {
+            unindex(previous); // Before indexing, since the sorted indexes treat equal keys as the same element
+        }
+        index(entry);
+        applied++;
+    }
+
+    @Override
+    public Optional<UserView> findViewById(String id) {
+        if (!ObjectId.isValid(id)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(byId.get(new ObjectId(id))).map(Entry::view);
+    }
+
+    @Override
+    public long estimatedCount() {
+        return size;
+    }
+
+    /**
+     * Returns the number of changes this copy has applied, prefixed with a random epoch.
+     *
+     * - Unlike the latest lastModified, it moves on every change, even two in the same millisecond.
+     * - The epoch keeps two copies (another node, or this one after a restart) from ever reporting the same version
+     *   for different data; switching between copies or to MongoDB costs a client one full response.
+     */
+    @Override
+    public String collectionVersion() {
+        return epoch + "." + Long.toString(applied, 36);
+    }
+
+    @Override
+    public List<UserView> search(UserSearch search, UserSearch.Position after, int limit) {
+        return candidates(search, after)
+                .filter(entry -> matches(search, entry))
+                .limit(limit)
+                .map(Entry::view)
+                .toList();
+    }
+
+    @Override
+    public long countMatching(UserSearch search) {
+        if (!search.hasFilters()) {
+            return size;
+        }
+        // Walk the most selective index available rather than the requested order
+        UserSearch.SortKey index = search.emailPrefix() != null ? UserSearch.SortKey.EMAIL
+                : search.namePrefix() != null ? UserSearch.SortKey.LAST_NAME
+                : UserSearch.SortKey.ID;
+        UserSearch unordered = new UserSearch(search.role(), search.emailPrefix(), search.namePrefix(),
+                search.mobileNumber(), index);
+        return candidates(unordered, null).filter(entry -> matches(search, entry)).count();
+    }
+
+    /**
+     * Streams the current entries from the position on, in the search's order, starting at its prefix if it
+     * filters on the sort field and ending where the prefix no longer matches.
+     */
+    private Stream<Entry> candidates(UserSearch search, UserSearch.Position after) {
+        return switch (search.sortKey()) {
+            case ID -> {
+                ObjectId from = after == null ? null : new ObjectId(after.id());
+                if (search.role() == null) {
+                    yield (from == null ? byId : byId.tailMap(from, false)).values().stream();
+                }
+                ConcurrentSkipListSet<ObjectId> ids = idsByRole.get(search.role());
+                if (ids == null) {
+                    yield Stream.empty();
+                }
+                yield (from == null ? ids : ids.tailSet(from, false)).stream().map(byId::get).filter(Objects::nonNull);
+            }
+            case EMAIL -> inOrder(byEmail, EMAIL_ORDER, Entry::email, search.emailPrefix(), after,
+                    value -> Entry.probe(value, null));
+            case LAST_NAME -> inOrder(byLastName, LAST_NAME_ORDER, Entry::lastName, search.namePrefix(), after,
+                    value -> Entry.probe(null, value));
+        };
+    }
+
+    private Stream<Entry> inOrder(ConcurrentSkipListSet<Entry> index, Comparator<Entry> order,
+                                  Function<Entry, String> field, String prefix, UserSearch.Position after,
+                                  Function<String, Entry> probe) {
+        NavigableSet<Entry> tail = index;
+        Entry afterProbe = after == null ? null : probe.apply(after.value()).withId(new ObjectId(after.id()));
+        Entry prefixProbe = prefix == null ? null : probe.apply(prefix).withId(MIN_ID);
+        if (prefixProbe != null && (afterProbe == null || order.compare(prefixProbe, afterProbe) > 0)) {
+            tail = index.tailSet(prefixProbe, true);
+        } else if (afterProbe != null) {
+            tail = index.tailSet(afterProbe, false);
+        }
+
+        Stream<Entry> entries = tail.stream();
+        if (prefix != null) {
+            entries = entries.takeWhile(entry -> field.apply(entry) != null && field.apply(entry).startsWith(prefix));
+        }
+        return entries.filter(entry -> byId.get(entry.id()) == entry);
+    }
+
+    private void index(Entry entry) {
+        byEmail.add(entry);
+        byLastName.add(entry);
+        if (entry.role() != null) {
+            idsByRole.computeIfAbsent(entry.role(), role -> new ConcurrentSkipListSet<>()).add(entry.id());
+        }
+    }
+
+    private void unindex(Entry entry) {
+        byEmail.remove(entry);
+        byLastName.remove(entry);
+        ConcurrentSkipListSet<ObjectId> ids = entry.role() == null ? null : idsByRole.get(entry.role());
+        Entry current = byId.get(entry.id());
+        if (ids != null && (current == null || !entry.role().equals(current.role()))) {
+            ids.remove(entry.id());
+        }
+    }
+
+    private static boolean matches(UserSearch search, Entry entry) {
+        return (search.role() == null || search.role().equals(entry.role()))
+                && (search.mobileNumber() == null || search.mobileNumber().equals(entry.mobileNumber()))
+                && (search.emailPrefix() == null || entry.email() != null && entry.email().startsWith(search.emailPrefix()))
+                && (search.namePrefix() == null || entry.lastName() != null && entry.lastName().startsWith(search.namePrefix()));
+    }
+
+    /**
+     * One user as stored in the read model.
+     */
+    private record Entry(ObjectId id, String firstName, String lastName, String email, String mobileNumber,
+                         String role, long version, long lastModified) {
+
+        static Entry of(ObjectId id, UserChange change, Iterable<String> knownRoles) {
+            UserView user = change.user();
+            return new Entry(id, user.firstName(), user.lastName(), user.email(), user.mobileNumber(),
+                    shared(user.role(), knownRoles), user.version(),
+                    change.lastModified() == null ? 0 : change.lastModified().toEpochMilli());
+        }
+
+        /**
+         * Builds a search key holding only a sort value; its ID is set with {@link #withId(ObjectId)}.
+         */
+        static Entry probe(String email, String lastName) {
+            return new Entry(null, null, lastName, email, null, null, 0, 0);
+        }
+
+        Entry withId(ObjectId id) {
+            return new Entry(id, firstName, lastName, email, mobileNumber, role, version, lastModified);
+        }
+
+        UserView view() {
+            return new UserView(id.toHexString(), firstName, lastName, email, mobileNumber, role, version);
+        }
+
+        /**
+         * Returns the instance of a role already held by other users, so each role string is stored once.
+         */
+        private static String shared(String role, Iterable<String> knownRoles) {
+            for (String known : knownRoles) {
+                if (known.equals(role)) {
+                    return known;
+                }
+            }
+            return role;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.assessment.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User Read Model Updater
+ * Builds the {@link UserReadModel} from a scan of the users collection and keeps it current from the
+ * {@link UserChangeFeed} on a dedicated thread. Enabled with users.readModel.enabled=true.
+ *
+ * - The change stream is opened before the scan, so changes made during the scan are replayed afterwards.
+ * - The model counts as caught up to the moment it last found the stream empty; its staleness is the time since.
+ *   Writes acknowledged before that moment (by a majority, as change streams only report those) are in the model.
+ * - {@link #readModel()} hands out the model only while its staleness is within users.readModel.maxStalenessMs,
+ *   so readers fall back to MongoDB while it bootstraps, when the stream lags and when it fails.
+ * - A failed stream is reopened from the last resume token after users.readModel.retryMs; a stream that cannot be
+ *   resumed (oplog rolled over, collection dropped) is rebuilt from a new scan while the old model ages out.
+ * - Publishes users.readmodel.staleness, users.readmodel.size and users.readmodel.rebuilds.
+ */
+@Component
+@Profile("!in-memory & !reactive")
+@ConditionalOnProperty(name = "users.readModel.enabled", havingValue = "true")
+public class UserReadModelUpdater implements MeterBinder, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(UserReadModelUpdater.class);
+
+    private final UserChangeFeed feed;
+    private final long maxStalenessMs;
+    private final long retryMs;
+    private volatile UserReadModel model; // Null until the first scan has caught up with the stream
+    private UserReadModel target; // The model the stream is applied to; only touched by the updater thread
+    private volatile long caughtUpAt; // System.nanoTime() of the last poll that found the stream empty
+    private volatile String resumeToken; // Null when the model has to be rebuilt from a scan
+    private volatile boolean running;
+    private Thread thread;
+    private Counter rebuilds;
+
+    /**
+     * Constructor to inject the feed and the freshness settings.
+     *
+     * @param feed The source of the users and their changes.
+     * @param maxStalenessMs How far behind the model may be and still serve reads, in milliseconds.
+     * @param retryMs How long to wait before reopening a failed stream, in milliseconds.
+     */
+    public UserReadModelUpdater(UserChangeFeed feed,
+                                @Value("${users.readModel.maxStalenessMs:2000}") long maxStalenessMs,
+                                @Value("${users.readModel.retryMs:1000}") long retryMs) {
+        this.feed = feed;
+        this.maxStalenessMs = maxStalenessMs;
+        this.retryMs = retryMs;
+    }
+
+    /**
+     * Returns the read model if it is fresh enough to serve reads.
+     *
+     * @return The model, or empty if it is still being built or is further behind than users.readModel.maxStalenessMs.
+     */
+    public Optional<UserReadModel> readModel() {
+        UserReadModel current = model;
+        return current != null && stalenessMillis() <= maxStalenessMs ? Optional.of(current) : Optional.empty();
+    }
+
+    /**
+     * Returns how far behind the users collection the model may be.
+     *
+     * @return The milliseconds since the model was last known to be caught up, or Long.MAX_VALUE before it is built.
+     */
+    public long stalenessMillis() {
+        return model == null ? Long.MAX_VALUE : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - caughtUpAt);
+    }
+
+    /**
+     * Starts following the feed once the application is ready (and its indexes exist).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "user-read-model");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops following the feed; the model stops serving reads once it exceeds its staleness bound.
+     */
+    public synchronized void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+            thread = null;
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        stop();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("users.readmodel.staleness", this, updater -> updater.model == null ? Double.NaN : updater.stalenessMillis())
+                .baseUnit("milliseconds")
+                .description("How far the in-memory user read model may be behind MongoDB")
+                .register(registry);
+        Gauge.builder("users.readmodel.size", this, updater -> updater.model == null ? 0 : updater.model.estimatedCount())
+                .description("Users held in the in-memory read model")
+                .register(registry);
+        rebuilds = Counter.builder("users.readmodel.rebuilds")
+                .description("Scans of the users collection by the read model")
+                .register(registry);
+    }
+
+    private void run() {
+        while (running) {
+            try (UserChangeFeed.ChangeCursor cursor = feed.watch(resumeToken)) {
+                if (resumeToken == null) {
+                    target = rebuild(cursor);
+                }
+                follow(cursor);
+            } catch (UserChangeFeed.HistoryLostException e) {
+                log.warn("Users change stream cannot be resumed, rebuilding the read model", e);
+                resumeToken = null;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Users change stream failed, resuming in {} ms", retryMs, e);
+                try {
+                    Thread.sleep(retryMs);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds a new model from a scan; it replaces the current one once follow has caught it up with the cursor.
+     */
+    private UserReadModel rebuild(UserChangeFeed.ChangeCursor cursor) {
+        String startToken = cursor.resumeToken();
+        UserReadModel rebuilt = new UserReadModel();
+        feed.scan(rebuilt::apply);
+        resumeToken = startToken;
+        if (rebuilds != null) {
+            rebuilds.increment();
+        }
+        log.info("User read model built with {} users", rebuilt.estimatedCount());
+        return rebuilt;
+    }
+
+    /**
+     * Applies changes from the cursor to the model until stopped, and publishes the model as caught up
+     * whenever the cursor has nothing more.
+     */
+    private void follow(UserChangeFeed.ChangeCursor cursor) {
+        long fetchedAt = System.nanoTime();
+        while (running) {
+            if (cursor.drained()) {
+                fetchedAt = System.nanoTime(); // The next poll asks the server for everything up to now
+            }
+            UserChange change = cursor.tryNext();
+            if (change != null) {
+                target.apply(change);
+            }
+            String token = cursor.resumeToken();
+            if (token != null) {
+                resumeToken = token;
+            }
+            if (cursor.drained()) {
+                caughtUpAt = fetchedAt;
+                model = target; // Written after caughtUpAt, so readers of a new model never see an unset time
+            }
+        }
+    }
+}
@@ -1,15 +1,27 @@
 package com.assessment.repository;
 
 import com.assessment.model.User;
-import org.springframework.data.mongodb.repository.MongoRepository;
+import com.assessment.model.UserView;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
+import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.data.repository.ListPagingAndSortingRepository;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * User Repository
  * Provides database access methods for User-related operations.
- * Extends MongoRepository to interact with MongoDB.
+ *
+ * - Declares the CRUD and paging methods of MongoRepository, plus insert (in {@link UserRepositoryCustom}),
+ *   but not its query-by-example methods, which the application does not use; so InMemoryUserRepository
+ *   implements every method it exposes.
  */
-public interface UserRepository extends MongoRepository<User, String> {
+public interface UserRepository extends ListCrudRepository<User, String>, ListPagingAndSortingRepository<User, String>,
+        UserRepositoryCustom {
 
     /**
      * Find a user by email.
@@ -19,6 +31,29 @@ public interface UserRepository extends MongoRepository<User, String> {
      */
     Optional<User> findByEmail(String email);
 
+    /**
+     * Find only the credentials of a user by email.
+     * 
+     * - Loads the id, email, password hash, role and token version; the rest of the document is not read.
+     * - Used by login and authentication lookups, which need nothing else.
+     *
+     * @param email The email address of the user.
+     * @return An Optional containing the partially populated user if found, otherwise empty.
+     */
+    @Query(value = "{ 'email': ?0 }", fields = "{ 'email': 1, 'password': 1, 'role': 1, 'tokenVersion': 1 }")
+    Optional<User> findCredentialsByEmail(String email);
+
+    /**
+     * Find the owners of a batch of tokens by email, in one query.
+     * 
+     * - Loads the id, email, role and token version; served by the unique email index.
+     *
+     * @param emails The email addresses of the users.
+     * @return The users found, in no particular order; unknown emails are left out.
+     */
+    @Query(value = "{ 'email': { $in: ?0 } }", fields = "{ 'email': 1, 'role': 1, 'tokenVersion': 1 }")
+    List<User> findTokenOwnersByEmailIn(Collection<String> emails);
+
     /**
      * Find a user by ID.
      * 
@@ -26,4 +61,38 @@ public interface UserRepository extends MongoRepository<User, String> {
      * @return An Optional containing the user if found, otherwise empty.
      */
     Optional<User> findById(String id);
+
+    /**
+     * Find the token versions of users whose version changed after the given time.
+     * 
+     * - Only the id and token version fields are loaded.
+     *
+     * @param since The time of the previous refresh.
+     * @return Users whose token version changed since the given time.
+     */
+    @Query(value = "{ 'tokenVersionChangedAt': { $gt: ?0 } }", fields = "{ '_id': 1, 'tokenVersion': 1 }")
+    List<User> findTokenVersionsChangedSince(Instant since);
+
+    /**
+     * Replace a user's password hash, but only if it still equals the hash that was checked.
+     * 
+     * - A concurrent password change is never overwritten.
+     *
+     * @param id The unique identifier of the user.
+     * @param currentHash The hash the password was verified against.
+     * @param newHash The replacement hash.
+     * @return The number of users updated (0 or 1).
+     */
+    @Query("{ '_id': ?0, 'password': ?1 }")
+    @Update("{ '$set': { 'password': ?2 } }")
+    long updatePasswordHash(String id, String currentHash, String newHash);
+
+    /**
+     * Stream all users from a database cursor without loading them into memory.
+     * 
+     * - The returned stream must be closed to release the cursor.
+     *
+     * @return A stream over the view of every user.
+     */
+    Stream<UserView> streamViewsBy();
 }
@@ -0,0 +1,89 @@
+package com.assessment.repository;
+
+import com.assessment.model.User;
+import com.assessment.model.UserUpdate;
+import com.assessment.model.UserView;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * User Repository Custom Operations
+ * Declares database operations that cannot be expressed as derived repository queries,
+ * including the {@link UserViewQueries} behind the admin user endpoints.
+ * Implemented by {@link UserRepositoryCustomImpl} using MongoTemplate.
+ */
+public interface UserRepositoryCustom extends UserViewQueries {
+
+    /**
+     * Insert a new user, failing on a duplicate id or email instead of replacing a document.
+     *
+     * - Like every write below, moves the collection version on.
+     *
+     * @param user The user to insert; its generated id is set on it.
+     * @return The inserted user.
+     */
+    <S extends User> S insert(S user);
+
+    /**
+     * Insert several new users in one batch.
+     *
+     * @param users The users to insert.
+     * @return The inserted users.
+     */
+    <S extends User> List<S> insert(Iterable<S> users);
+
+    /**
+     * Insert or replace a user; replaces the CRUD save so that it moves the collection version on too.
+     *
+     * @param user The user to save.
+     * @return The saved user.
+     */
+    <S extends User> S save(S user);
+
+    /**
+     * Inserts a batch of users with a single unordered insertMany.
+     * 
+     * - Every valid document is written even if others in the batch fail.
+     *
+     * @param users The users to insert.
+     * @return The documents that could not be written, empty if all succeeded.
+     */
+    List<BulkInsertError> insertUnordered(List<User> users);
+
+    /**
+     * Atomically sets some fields of a user with a single findAndModify and increments its version.
+     * 
+     * - The ownership and version checks are part of the query filter, so nothing changes unless they pass.
+     * - Sets lastModified to the server's current time.
+     * - Only the fields of {@link UserView} are returned.
+     *
+     * @param id The ID of the user to update.
+     * @param ownerEmail If not null, the update only applies when the user has this email.
+     * @param expectedVersion If not null, the update only applies when the user is at this version.
+     * @param changes The fields to set, keyed by document field name.
+     * @return The view of the updated user, or empty if no user matched the filter.
+     */
+    Optional<UserView> updateFields(String id, String ownerEmail, Long expectedVersion, Map<String, Object> changes);
+
+    /**
+     * Applies many partial updates with one unordered bulk write.
+     * 
+     * - Each update carries its own version check when its version is set.
+     * - Increments the version and sets lastModified of every modified user.
+     *
+     * @param updates The updates to apply.
+     * @return The number of users matched and modified.
+     */
+    BulkUpdateResult updateFieldsInBulk(List<UserUpdate> updates);
+
+    /**
+     * Atomically increments a user's token version and records when it changed.
+     * 
+     * - The profile version and lastModified are left alone, since the user's public fields do not change.
+     *
+     * @param id The ID of the user.
+     * @return The user's id, email and new token version, or empty if no user has this ID.
+     */
+    Optional<User> incrementTokenVersion(String id);
+}
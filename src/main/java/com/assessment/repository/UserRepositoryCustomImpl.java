@@ -0,0 +1,189 @@
+package com.assessment.repository;
+
+import com.assessment.model.User;
+import com.assessment.model.UserUpdate;
+import com.assessment.model.UserView;
+import com.mongodb.bulk.BulkWriteResult;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * User Repository Custom Operations Implementation
+ * Implements {@link UserRepositoryCustom} with MongoTemplate.
+ * Spring Data merges this fragment into {@link UserRepository}.
+ */
+@RequiredArgsConstructor
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    // Fields of a UserView; _id is always included
+    private static final String[] VIEW_FIELDS = { "firstName", "lastName", "email", "mobileNumber", "role", "version" };
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<UserView> findViewById(String id) {
+        Query query = Query.query(Criteria.where("_id").is(id));
+        query.fields().include(VIEW_FIELDS);
+        return Optional.ofNullable(mongoTemplate.findOne(query, User.class)).map(UserView::of);
+    }
+
+    @Override
+    public long estimatedCount() {
+        return mongoTemplate.estimatedCount(User.class);
+    }
+
+    @Override
+    public String collectionVersion() {
+        Document counter = mongoTemplate.findOne(UserWriteCounter.query(), Document.class, UserWriteCounter.COLLECTION);
+        return UserWriteCounter.version(counter, estimatedCount());
+    }
+
+    @Override
+    public <S extends User> S insert(S user) {
+        S inserted = mongoTemplate.insert(user);
+        recordWrite();
+        return inserted;
+    }
+
+    @Override
+    public <S extends User> List<S> insert(Iterable<S> users) {
+        List<S> batch = new ArrayList<>();
+        users.forEach(batch::add);
+        try {
+            return new ArrayList<>(mongoTemplate.insertAll(batch));
+        } finally {
+            recordWrite(); // Some documents may have been written even if others failed
+        }
+    }
+
+    @Override
+    public <S extends User> S save(S user) {
+        S saved = mongoTemplate.save(user);
+        recordWrite();
+        return saved;
+    }
+
+    @Override
+    public List<UserView> search(UserSearch search, UserSearch.Position after, int limit) {
+        Query query = search.pageQuery(after, limit);
+        query.fields().include(VIEW_FIELDS); // The password hash never leaves the database
+        return mongoTemplate.find(query, User.class).stream().map(UserView::of).toList();
+    }
+
+    @Override
+    public long countMatching(UserSearch search) {
+        return search.hasFilters() ? mongoTemplate.count(search.countQuery(), User.class) : estimatedCount();
+    }
+
+    @Override
+    public List<BulkInsertError> insertUnordered(List<User> users) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        try {
+            mongoTemplate.bulkOps(BulkMode.UNORDERED, User.class)
+                    .insert(users)
+                    .execute();
+            return List.of();
+        } catch (BulkOperationException e) {
+            return e.getErrors().stream()
+                    .map(error -> new BulkInsertError(error.getIndex(), error.getCode(), error.getMessage()))
+                    .toList();
+        } finally {
+            recordWrite(); // Unordered, so the valid documents were written even if others failed
+        }
+    }
+
+    @Override
+    public Optional<UserView> updateFields(String id, String ownerEmail, Long expectedVersion, Map<String, Object> changes) {
+        Criteria criteria = Criteria.where("_id").is(id);
+        if (ownerEmail != null) {
+            criteria.and("email").is(ownerEmail);
+        }
+        if (expectedVersion != null) {
+            atVersion(criteria, expectedVersion);
+        }
+
+        Query query = Query.query(criteria);
+        query.fields().include(VIEW_FIELDS); // The password hash is not sent back over the wire
+
+        Optional<UserView> updated = Optional.ofNullable(mongoTemplate.findAndModify(
+                query,
+                toUpdate(changes),
+                FindAndModifyOptions.options().returnNew(true),
+                User.class)).map(UserView::of);
+        if (updated.isPresent()) {
+            recordWrite();
+        }
+        return updated;
+    }
+
+    @Override
+    public BulkUpdateResult updateFieldsInBulk(List<UserUpdate> updates) {
+        if (updates.isEmpty()) {
+            return new BulkUpdateResult(0, 0, 0);
+        }
+
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkMode.UNORDERED, User.class);
+        for (UserUpdate update : updates) {
+            Criteria criteria = Criteria.where("_id").is(update.id());
+            if (update.version() != null) {
+                atVersion(criteria, update.version());
+            }
+            bulkOps.updateOne(Query.query(criteria), toUpdate(update.changes()));
+        }
+
+        BulkWriteResult result = bulkOps.execute();
+        if (result.getModifiedCount() > 0) {
+            recordWrite();
+        }
+        return new BulkUpdateResult(updates.size(), result.getMatchedCount(), result.getModifiedCount());
+    }
+
+    @Override
+    public Optional<User> incrementTokenVersion(String id) {
+        Query query = Query.query(Criteria.where("_id").is(id));
+        query.fields().include("email", "tokenVersion");
+
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                query,
+                new Update().inc("tokenVersion", 1).currentDate("tokenVersionChangedAt"),
+                FindAndModifyOptions.options().returnNew(true),
+                User.class));
+    }
+
+    /**
+     * Restricts an update to a user at the given version.
+     *
+     * - Users stored before versioning have no version field and read back as version 0, so 0 also matches
+     *   a missing field; their first update sets it to 1.
+     */
+    static Criteria atVersion(Criteria criteria, long version) {
+        return version == 0 ? criteria.and("version").in(0L, null) : criteria.and("version").is(version);
+    }
+
+    /**
+     * Moves the collection version on, after a write to users (see {@link UserWriteCounter}).
+     */
+    private void recordWrite() {
+        mongoTemplate.upsert(UserWriteCounter.query(), UserWriteCounter.bump(), UserWriteCounter.COLLECTION);
+    }
+
+    private static Update toUpdate(Map<String, Object> changes) {
+        Update update = new Update();
+        changes.forEach(update::set);
+        return update.inc("version", 1).currentDate("lastModified");
+    }
+}
@@ -0,0 +1,272 @@
+package com.assessment.repository;
+
+import com.assessment.model.User;
+import com.assessment.model.UserView;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * User Search
+ * The filters and sort order of a user listing, translated into index-backed MongoDB queries.
+ *
+ * - Every filter has an index that starts with its field (see the indexes declared on {@link User}),
+ *   so no supported combination scans the collection.
+ * - Prefixes are matched as a range on the field rather than a regex, which keeps the index bounds tight.
+ *   Matching is case-sensitive.
+ * - Pages are keyset-paginated on the sort key, with _id as the tie-breaker unless the key is unique.
+ * - Pages are read in sort order from the index that starts with the equality filter (mobileNumber, else role)
+ *   and continues with the sort key, so MongoDB never sorts in memory.
+ * - Without a mobileNumber, a prefix filter must also be the sort key (see {@link #of}), so the prefix bounds the
+ *   index walk instead of being checked against every entry of another order.
+ *
+ * @param role If not null, only users with this role.
+ * @param emailPrefix If not null, only users whose email starts with this prefix.
+ * @param namePrefix If not null, only users whose last name starts with this prefix.
+ * @param mobileNumber If not null, only users with exactly this mobile number.
+ * @param sortKey The order of the results.
+ */
+public record UserSearch(String role, String emailPrefix, String namePrefix, String mobileNumber, SortKey sortKey) {
+
+    /**
+     * The supported sort orders, all ascending, each with a matching index.
+     */
+    public enum SortKey {
+        ID("id", "_id", true, UserView::id),
+        EMAIL("email", "email", true, UserView::email),
+        LAST_NAME("lastName", "lastName", false, UserView::lastName);
+
+        private final String param;
+        private final String field;
+        private final boolean unique;
+        private final Function<UserView, String> value;
+
+        SortKey(String param, String field, boolean unique, Function<UserView, String> value) {
+            this.param = param;
+            this.field = field;
+            this.unique = unique;
+            this.value = value;
+        }
+
+        /**
+         * Parses the value of the sort request parameter.
+         *
+         * @param param "id", "email" or "lastName"; null selects ID.
+         * @return The sort key.
+         * @throws IllegalArgumentException if the parameter names no supported sort key.
+         */
+        public static SortKey fromParam(String param) {
+            if (param == null) {
+                return ID;
+            }
+            for (SortKey key : values()) {
+                if (key.param.equals(param)) {
+                    return key;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported sort key: " + param);
+        }
+
+        public String field() {
+            return field;
+        }
+
+        /**
+         * Returns the fields pages are ordered by: the sort field, then _id unless the sort field is unique.
+         */
+        public List<String> order() {
+            return unique ? List.of(field) : List.of(field, "_id");
+        }
+
+        /**
+         * Returns the sort value of a user, as stored in a page cursor.
+         *
+         * @param user The last user on a page.
+         * @return The user's value for this key, or null for ID, whose value is the ID itself.
+         */
+        public String sortValue(UserView user) {
+            return this == ID ? null : value.apply(user);
+        }
+    }
+
+    /**
+     * Where the previous page ended.
+     *
+     * @param value The sort value of the last user; null when sorting by ID or when the user has no value.
+     * @param id The ID of the last user.
+     */
+    public record Position(String value, String id) {
+    }
+
+    /**
+     * Builds a search from request parameters, choosing a sort the indexes can serve.
+     *
+     * - Without a sort, a prefix filter sorts by its own field (email before lastName); otherwise by ID.
+     * - Without a mobileNumber, a prefix filter must be on the sort field, since no index starts with role or the
+     *   sort key and then bounds the other prefix.
+     *
+     * @param sort The sort request parameter, or null for the default.
+     * @return The search.
+     * @throws IllegalArgumentException if the sort is unsupported or cannot be combined with the prefix filters.
+     */
+    public static UserSearch of(String role, String emailPrefix, String namePrefix, String mobileNumber, String sort) {
+        SortKey sortKey;
+        if (sort != null) {
+            sortKey = SortKey.fromParam(sort);
+        } else if (mobileNumber == null && emailPrefix != null) {
+            sortKey = SortKey.EMAIL;
+        } else if (mobileNumber == null && namePrefix != null) {
+            sortKey = SortKey.LAST_NAME;
+        } else {
+            sortKey = SortKey.ID;
+        }
+        UserSearch search = new UserSearch(role, emailPrefix, namePrefix, mobileNumber, sortKey);
+        if (!search.isBoundedByIndex()) {
+            throw new IllegalArgumentException("emailPrefix and namePrefix need sort=email or sort=lastName, "
+                    + "matching one of them, unless mobileNumber is given");
+        }
+        return search;
+    }
+
+    /**
+     * Lists every user in ID order.
+     */
+    public static UserSearch all() {
+        return new UserSearch(null, null, null, null, SortKey.ID);
+    }
+
+    /**
+     * Checks that the page index narrows to the filters: by the mobile number, or by a prefix on the sort field.
+     *
+     * @return False if a prefix filter would be checked while walking an index on other fields.
+     */
+    public boolean isBoundedByIndex() {
+        return mobileNumber != null
+                || emailPrefix == null && namePrefix == null
+                || emailPrefix != null && sortKey == SortKey.EMAIL
+                || namePrefix != null && sortKey == SortKey.LAST_NAME;
+    }
+
+    public boolean hasFilters() {
+        return role != null || emailPrefix != null || namePrefix != null || mobileNumber != null;
+    }
+
+    /**
+     * Builds the filter, without sort or pagination, as used for counting.
+     *
+     * @return The query matching every user that passes the filters.
+     */
+    public Query countQuery() {
+        return new Query(filter());
+    }
+
+    /**
+     * Builds the query for one page of results.
+     *
+     * @param after Where the previous page ended, or null for the first page.
+     * @param limit The maximum number of users to return.
+     * @return The filtered, sorted and limited query, hinted to the index that returns it in order.
+     */
+    public Query pageQuery(Position after, int limit) {
+        List<Criteria> criteria = new ArrayList<>();
+        if (hasFilters()) {
+            criteria.add(filter());
+        }
+        if (after != null) {
+            criteria.add(after(after));
+        }
+        Query query = switch (criteria.size()) {
+            case 0 -> new Query();
+            case 1 -> new Query(criteria.get(0));
+            default -> new Query(new Criteria().andOperator(criteria));
+        };
+        List<String> order = sortKey.order();
+        return query.with(Sort.by(order.toArray(String[]::new))).withHint(index(order)).limit(limit);
+    }
+
+    /**
+     * Returns the keys of the index a page is read from: the equality filter, if any, followed by the sort order.
+     */
+    private Document index(List<String> order) {
+        Document index = new Document();
+        if (mobileNumber != null) {
+            index.append("mobileNumber", 1);
+        } else if (role != null) {
+            index.append("role", 1);
+        }
+        order.forEach(field -> index.append(field, 1));
+        return index;
+    }
+
+    private Criteria filter() {
+        Criteria criteria = new Criteria();
+        if (role != null) {
+            criteria.and("role").is(role);
+        }
+        if (mobileNumber != null) {
+            criteria.and("mobileNumber").is(mobileNumber);
+        }
+        if (emailPrefix != null) {
+            startsWith(criteria.and("email"), emailPrefix);
+        }
+        if (namePrefix != null) {
+            startsWith(criteria.and("lastName"), namePrefix);
+        }
+        return criteria;
+    }
+
+    /**
+     * Matches the values that follow the last user of the previous page in (sort value, _id) order.
+     * Null sorts before every string, as in the index, so a null position is followed by the remaining nulls
+     * and then by every string.
+     */
+    private Criteria after(Position after) {
+        if (sortKey == SortKey.ID) {
+            return Criteria.where("_id").gt(after.id());
+        }
+        if (after.value() == null) {
+            Criteria strings = Criteria.where(sortKey.field()).gte("");
+            return sortKey.unique ? strings : new Criteria().orOperator(
+                    Criteria.where(sortKey.field()).is(null).and("_id").gt(after.id()), strings);
+        }
+        if (sortKey.unique) {
+            return Criteria.where(sortKey.field()).gt(after.value());
+        }
+        return new Criteria().orOperator(
+                Criteria.where(sortKey.field()).gt(after.value()),
+                Criteria.where(sortKey.field()).is(after.value()).and("_id").gt(after.id()));
+    }
+
+    private static void startsWith(Criteria field, String prefix) {
+        String end = successor(prefix);
+        if (end == null) {
+            field.gte(prefix);
+        } else {
+            field.gte(prefix).lt(end);
+        }
+    }
+
+    /**
+     * Returns the smallest string greater than every string that starts with the prefix,
+     * by incrementing its last code point (MongoDB compares strings by code point).
+     *
+     * @return The exclusive upper bound, or null if there is none (an empty prefix or a prefix of maximal code points).
+     */
+    static String successor(String prefix) {
+        int end = prefix.length();
+        while (end > 0) {
+            int last = prefix.codePointBefore(end);
+            int start = end - Character.charCount(last);
+            int next = last + 1 == Character.MIN_SURROGATE ? Character.MAX_SURROGATE + 1 : last + 1;
+            if (next <= Character.MAX_CODE_POINT) {
+                return prefix.substring(0, start) + Character.toString(next);
+            }
+            end = start;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,65 @@
+package com.assessment.repository;
+
+import com.assessment.model.UserView;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * User View Queries
+ * The read-only queries behind the admin user endpoints.
+ * Implemented by {@link UserRepository} against MongoDB and by {@link UserReadModel} from memory.
+ */
+public interface UserViewQueries {
+
+    /**
+     * Find the public fields of a user by ID.
+     *
+     * - Only the fields of {@link UserView} are read; the password hash never leaves the database.
+     *
+     * @param id The unique identifier of the user.
+     * @return An Optional containing the user's view if found, otherwise empty.
+     */
+    Optional<UserView> findViewById(String id);
+
+    /**
+     * Returns the approximate number of users from collection metadata,
+     * without scanning the collection.
+     *
+     * @return The estimated number of users.
+     */
+    long estimatedCount();
+
+    /**
+     * Returns a short value that changes whenever a user is inserted, updated or removed.
+     *
+     * - In MongoDB, built from a counter every write moves on (see UserWriteCounter) and the estimated count;
+     *   no user documents are scanned. The in-memory sources count the writes they apply.
+     * - Used as the ETag of user listings, so unchanged pages can be answered with 304 before any user is read.
+     *
+     * @return An opaque version of the users collection.
+     */
+    String collectionVersion();
+
+    /**
+     * Finds one page of users that pass a search's filters, in its sort order.
+     *
+     * - Only the fields of {@link UserView} are read.
+     *
+     * @param search The filters and sort key.
+     * @param after Where the previous page ended, or null for the first page.
+     * @param limit The maximum number of users to return.
+     * @return Views of up to limit users following the given position.
+     */
+    List<UserView> search(UserSearch search, UserSearch.Position after, int limit);
+
+    /**
+     * Counts the users that pass a search's filters.
+     *
+     * - Runs as a countDocuments on the index of a filtered field; without filters,
+     *   returns the estimated count from collection metadata.
+     *
+     * @param search The filters; the sort key is ignored.
+     * @return The number of matching users.
+     */
+    long countMatching(UserSearch search);
+}
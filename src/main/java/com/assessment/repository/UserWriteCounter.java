@@ -0,0 +1,44 @@
+package com.assessment.repository;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * User Write Counter
+ * The document in the counters collection that counts writes to users, so user listings can be versioned exactly.
+ *
+ * - Every insert and update the user repositories make is followed by an upserted $inc, never preceded by one:
+ *   a listing read between the write and the bump carries the old version, which costs its client one more
+ *   full response later, but never a 304 for data it has not seen.
+ * - Unlike the latest lastModified, it depends on no clock, and it moves on every write, even two in the same millisecond.
+ */
+final class UserWriteCounter {
+
+    static final String COLLECTION = "counters";
+
+    private UserWriteCounter() {
+    }
+
+    static Query query() {
+        return Query.query(Criteria.where("_id").is("users"));
+    }
+
+    static Update bump() {
+        return new Update().inc("writes", 1);
+    }
+
+    /**
+     * Builds the collection version from the counter and the estimated count, which also catches deletions
+     * made outside the application.
+     *
+     * @param counter The counter document, or null before the first write.
+     * @param count The estimated number of users.
+     * @return An opaque version of the users collection.
+     */
+    static String version(Document counter, long count) {
+        long writes = counter == null || counter.get("writes") == null ? 0 : ((Number) counter.get("writes")).longValue();
+        return Long.toString(writes, 36) + "." + Long.toString(count, 36);
+    }
+}
@@ -0,0 +1,100 @@
+package com.assessment.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Component;
+import java.util.Arrays;
+
+/**
+ * BCrypt Calibration
+ * Chooses the BCrypt cost factor used for new password hashes.
+ *
+ * - If auth.bcrypt.strength is set, that cost is used as is.
+ * - Otherwise a short benchmark at startup picks the highest cost whose hash time stays within
+ *   auth.bcrypt.targetMs on the current hardware, bounded by auth.bcrypt.minStrength and maxStrength.
+ * - Each extra cost step doubles the work, so only the lowest cost is measured and higher ones are extrapolated.
+ * - Stored hashes are only ever upgraded on login, to below auth.bcrypt.rehashStrength if set. By default that is the
+ *   fixed strength, or one step below the calibrated cost (but not below auth.bcrypt.minStrength), so old cost-10
+ *   hashes are upgraded once calibration picks 12, while nodes whose calibration differs by one step do not rehash
+ *   each other's hashes back and forth. Set it explicitly to pin one cost for the whole fleet.
+ */
+@Component
+public class BCryptCalibration {
+
+    private static final Logger log = LoggerFactory.getLogger(BCryptCalibration.class);
+    private static final int SAMPLES = 5;
+
+    private final int strength;
+    private final int rehashStrength;
+
+    /**
+     * Constructor to determine the BCrypt cost, either from configuration or by benchmark.
+     *
+     * @param strength A fixed cost factor, or 0 to calibrate.
+     * @param targetMs The hash time to aim for when calibrating, in milliseconds.
+     * @param minStrength The lowest cost calibration may choose.
+     * @param maxStrength The highest cost calibration may choose.
+     * @param rehashStrength The cost below which stored hashes are upgraded on login, or 0 for the default.
+     */
+    public BCryptCalibration(@Value("${auth.bcrypt.strength:0}") int strength,
+                             @Value("${auth.bcrypt.targetMs:250}") long targetMs,
+                             @Value("${auth.bcrypt.minStrength:10}") int minStrength,
+                             @Value("${auth.bcrypt.maxStrength:14}") int maxStrength,
+                             @Value("${auth.bcrypt.rehashStrength:0}") int rehashStrength) {
+        this.strength = strength > 0 ? strength : calibrate(targetMs, minStrength, maxStrength);
+        this.rehashStrength = rehashStrength > 0 ? rehashStrength
+                : strength > 0 ? strength : Math.max(minStrength, this.strength - 1); // One step of calibration drift
+    }
+
+    /**
+     * Returns the cost factor new hashes are created with.
+     *
+     * @return The BCrypt cost factor.
+     */
+    public int getStrength() {
+        return strength;
+    }
+
+    /**
+     * Checks whether a stored hash was created with a lower cost than the rehash cost.
+     *
+     * @param encodedPassword The stored BCrypt hash, e.g. "$2a$10$...".
+     * @return true if the hash should be recomputed at the current cost.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(6) != '$') {
+            return false; // Not a BCrypt hash we can read the cost from
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) < rehashStrength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static int calibrate(long targetMs, int minStrength, int maxStrength) {
+        String salt = BCrypt.gensalt(minStrength);
+        BCrypt.hashpw("calibration", salt); // Warm up
+
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration", salt);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        double medianMs = samples[SAMPLES / 2] / 1_000_000.0;
+
+        int cost = minStrength;
+        double estimatedMs = medianMs;
+        while (cost < maxStrength && estimatedMs * 2 <= targetMs) {
+            cost++;
+            estimatedMs *= 2;
+        }
+
+        log.info("BCrypt cost calibrated to {} (~{} ms per hash, target {} ms)", cost, Math.round(estimatedMs), targetMs);
+        return cost;
+    }
+}
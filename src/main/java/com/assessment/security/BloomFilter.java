@@ -0,0 +1,87 @@
+package com.assessment.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom Filter
+ * A fixed-size set of strings that answers "definitely absent" or "possibly present"
+ * in a few bit lookups, using far less memory than the strings themselves.
+ *
+ * - Sized for an expected number of entries and false-positive rate; beyond that capacity
+ *   the false-positive rate grows, so owners rebuild a larger filter.
+ * - Entries cannot be removed; owners rebuild the filter to drop them.
+ * - Safe for concurrent readers and writers.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final int capacity;
+
+    /**
+     * Constructor to size the filter.
+     *
+     * @param capacity The expected number of entries.
+     * @param falsePositiveRate The acceptable false-positive rate at that capacity, e.g. 0.01.
+     */
+    BloomFilter(int capacity, double falsePositiveRate) {
+        int entries = Math.max(capacity, 1);
+        long optimalBits = (long) Math.ceil(-entries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray((int) Math.max(1, (optimalBits + 63) / 64));
+        this.bitCount = bits.length() * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / entries * Math.log(2)));
+        this.capacity = entries;
+    }
+
+    void put(String value) {
+        long hash = hash(value);
+        long step = mix(hash);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash + i * step, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            while (((current = bits.get(word)) & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                // Another writer changed the word; retry
+            }
+        }
+    }
+
+    boolean mightContain(String value) {
+        long hash = hash(value);
+        long step = mix(hash);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash + i * step, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & 1L << bit) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * 64-bit FNV-1a over the string's characters, finished with a mixing step.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * The SplitMix64 finalizer; also derives the second hash for double hashing.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return (z ^ (z >>> 31)) | 1; // Odd, so successive probes never repeat a bit early
+    }
+}
@@ -15,28 +15,47 @@ import org.springframework.stereotype.Service;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
     /**
-     * Constructor to inject UserRepository dependency.
+     * Constructor to inject UserRepository and UserDetailsCache dependencies.
      * 
      * @param userRepository The repository used to fetch user details.
+     * @param userDetailsCache The cache placed in front of the repository.
      */
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository, UserDetailsCache userDetailsCache) {
         this.userRepository = userRepository;
+        this.userDetailsCache = userDetailsCache;
     }
 
     /**
      * Load user details by email (used for authentication).
      * 
+     * - Served from the in-process cache when possible; only misses query the database.
+     *
      * @param email The email address of the user.
      * @return UserDetails object containing authentication details.
      * @throws UsernameNotFoundException if no user is found with the given email.
      */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+        return userDetailsCache.get(email, this::loadFromDatabase);
+    }
+
+    private UserDetails loadFromDatabase(String email) {
+        User user = userRepository.findCredentialsByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
+        return toUserDetails(user);
+    }
+
+    /**
+     * Converts a stored user into Spring Security's UserDetails.
+     *
+     * @param user The user loaded from the database.
+     * @return UserDetails object containing authentication details.
+     */
+    public static UserDetails toUserDetails(User user) {
         return org.springframework.security.core.userdetails.User
                 .withUsername(user.getEmail())
                 .password(user.getPassword()) // Password should be stored in hashed format (BCrypt)
@@ -0,0 +1,493 @@
+package com.assessment.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureException;
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * HS256 Codec
+ * Signs and verifies the tokens this application issues without going through jjwt's generic
+ * builder and parser, which allocate header and claim maps, Jackson trees and Base64 string copies.
+ *
+ * - Handles only the exact header jjwt writes for HS256 and a flat payload of sub, uid, ver, iat,
+ *   exp, role and sid with plain string and integer values. Anything else returns null so that
+ *   {@link JwtUtil} falls back to jjwt; tokens stay wire-compatible in both directions.
+ * - Encoding and decoding work on per-thread byte buffers and a per-thread Mac; the only
+ *   allocations on the success path are the token or claim values themselves.
+ * - Signatures are compared in constant time.
+ */
+final class Hs256Codec {
+
+    static final String HEADER = "eyJhbGciOiJIUzI1NiJ9"; // base64url({"alg":"HS256"}), as written by jjwt
+
+    private static final int SIGNATURE_BYTES = 32;
+    private static final int SIGNATURE_CHARS = 43; // base64url without padding
+    private static final byte[] BASE64URL = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BASE64URL_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(BASE64URL_VALUES, (byte) -1);
+        for (int i = 0; i < BASE64URL.length; i++) {
+            BASE64URL_VALUES[BASE64URL[i]] = (byte) i;
+        }
+    }
+
+    // Payload keys, in the order jjwt writes them
+    private static final byte[][] KEYS = {
+            ascii(Claims.SUBJECT), ascii(JwtUtil.USER_ID_CLAIM), ascii(JwtUtil.TOKEN_VERSION_CLAIM),
+            ascii(Claims.ISSUED_AT), ascii(Claims.EXPIRATION), ascii(JwtUtil.ROLE_CLAIM), ascii(JwtUtil.SESSION_ID_CLAIM)
+    };
+    private static final int SUB = 0, UID = 1, VER = 2, IAT = 3, EXP = 4, ROLE = 5, SID = 6;
+    private static final String[] KEY_NAMES = {
+            Claims.SUBJECT, JwtUtil.USER_ID_CLAIM, JwtUtil.TOKEN_VERSION_CLAIM,
+            Claims.ISSUED_AT, Claims.EXPIRATION, JwtUtil.ROLE_CLAIM, JwtUtil.SESSION_ID_CLAIM
+    };
+    private static final boolean[] STRING_VALUED = { true, true, false, false, false, true, true };
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+    private final ThreadLocal<Buffers> buffers = ThreadLocal.withInitial(Buffers::new);
+
+    /**
+     * Constructor to create the codec for a signing key.
+     *
+     * @param keyBytes The raw HMAC-SHA256 key, the same bytes jjwt signs with.
+     */
+    Hs256Codec(byte[] keyBytes) {
+        this.key = new SecretKeySpec(keyBytes, "HmacSHA256");
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        newMac(); // Fail at startup rather than on the first request if the key is unusable
+    }
+
+    /**
+     * Builds and signs a token.
+     *
+     * @param subject The subject (email).
+     * @param userId The user id claim, or null to omit it.
+     * @param tokenVersion The token version claim, or null to omit it.
+     * @param role The role claim, or null to omit it.
+     * @param sessionId The session id claim, or null to omit it.
+     * @param issuedAtSeconds The issued-at time, in epoch seconds.
+     * @param expiresAtSeconds The expiry time, in epoch seconds.
+     * @return The signed token, or null if a value needs JSON escaping (the caller then uses jjwt).
+     */
+    String encode(String subject, String userId, Long tokenVersion, String role, String sessionId,
+                  long issuedAtSeconds, long expiresAtSeconds) {
+        Buffers buf = buffers.get();
+        ByteWriter json = buf.json.reset();
+
+        json.write('{');
+        if (!json.stringField(SUB, subject, false) || !json.stringField(UID, userId, true)) {
+            return null;
+        }
+        if (tokenVersion != null) {
+            json.numberField(VER, tokenVersion, true);
+        }
+        json.numberField(IAT, issuedAtSeconds, true);
+        json.numberField(EXP, expiresAtSeconds, true);
+        if (!json.stringField(ROLE, role, true) || !json.stringField(SID, sessionId, true)) {
+            return null;
+        }
+        json.write('}');
+
+        ByteWriter token = buf.token.reset();
+        token.ascii(HEADER);
+        token.write('.');
+        token.base64url(json.bytes, json.length);
+
+        Mac mac = macs.get();
+        mac.update(token.bytes, 0, token.length);
+        doFinal(mac, buf.computed);
+
+        token.write('.');
+        token.base64url(buf.computed, SIGNATURE_BYTES);
+        return new String(token.bytes, 0, token.length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Verifies a token and returns its claims.
+     *
+     * @param token The JWT token.
+     * @return The claims, or null if the token is not in the form this codec handles (the caller then uses jjwt).
+     * @throws SignatureException if the signature does not match.
+     * @throws ExpiredJwtException if the token has expired.
+     */
+    Claims decode(String token) {
+        int headerEnd = HEADER.length();
+        if (!token.startsWith(HEADER) || token.length() <= headerEnd || token.charAt(headerEnd) != '.') {
+            return null;
+        }
+        int signatureStart = token.indexOf('.', headerEnd + 1) + 1;
+        if (signatureStart == 0 || token.length() - signatureStart != SIGNATURE_CHARS) {
+            return null;
+        }
+
+        Buffers buf = buffers.get();
+        ByteWriter signingInput = buf.token.reset();
+        if (!signingInput.ascii(token, 0, signatureStart - 1)) {
+            return null;
+        }
+        if (!decodeBase64url(token, signatureStart, token.length(), buf.presented.reset())
+                || buf.presented.length != SIGNATURE_BYTES) {
+            // Also rejects a last character with unused bits set, so a signature has exactly one string form
+            throw new SignatureException("JWT signature is not canonical base64url.");
+        }
+
+        Mac mac = macs.get();
+        mac.update(signingInput.bytes, 0, signingInput.length);
+        doFinal(mac, buf.computed);
+        if (!MessageDigest.isEqual(buf.computed, buf.presented.bytes)) { // Constant time; both hold exactly 32 bytes
+            throw new SignatureException("JWT signature does not match locally computed signature.");
+        }
+
+        ByteWriter payload = buf.json.reset();
+        if (!decodeBase64url(token, headerEnd + 1, signatureStart - 1, payload)) {
+            return null;
+        }
+        Claims claims = new PayloadParser(payload.bytes, payload.length).parse();
+        if (claims == null) {
+            return null;
+        }
+
+        Object exp = claims.get(Claims.EXPIRATION);
+        if (exp != null && System.currentTimeMillis() > ((Number) exp).longValue() * 1000) {
+            throw new ExpiredJwtException(null, claims, "JWT expired at "
+                    + Instant.ofEpochSecond(((Number) exp).longValue()) + ".");
+        }
+        return claims;
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private static void doFinal(Mac mac, byte[] output) {
+        try {
+            mac.doFinal(output, 0);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e); // The output buffer always fits a SHA-256 MAC
+        }
+    }
+
+    /**
+     * Whether the last segment of a token (its signature) ends canonically: the bits of its last base64url
+     * character that do not belong to any byte are zero.
+     *
+     * - Lenient decoders, jjwt's included, ignore those bits, which gives every signature up to four accepted forms.
+     * - Characters outside the alphabet are not judged here; the decoder that reads the token rejects them.
+     *
+     * @param token The JWT token.
+     * @return false if the signature has a non-canonical ending.
+     */
+    static boolean hasCanonicalSignature(String token) {
+        int length = token.length() - token.lastIndexOf('.') - 1;
+        int unusedBits = length % 4 == 2 ? 4 : length % 4 == 3 ? 2 : 0;
+        if (unusedBits == 0) {
+            return true;
+        }
+        char last = token.charAt(token.length() - 1);
+        int value = last < 128 ? BASE64URL_VALUES[last] : -1;
+        return value < 0 || (value & ((1 << unusedBits) - 1)) == 0;
+    }
+
+    /**
+     * Decodes unpadded base64url characters of a string into a writer.
+     *
+     * @return false if the range contains a character outside the base64url alphabet, has an impossible length,
+     *         or ends with unused bits set (a non-canonical encoding).
+     */
+    private static boolean decodeBase64url(String source, int from, int to, ByteWriter out) {
+        if ((to - from) % 4 == 1) {
+            return false;
+        }
+        out.ensure((to - from) * 3 / 4);
+        int bits = 0;
+        int bitCount = 0;
+        for (int i = from; i < to; i++) {
+            char c = source.charAt(i);
+            int value = c < 128 ? BASE64URL_VALUES[c] : -1;
+            if (value < 0) {
+                return false;
+            }
+            bits = bits << 6 | value;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                out.bytes[out.length++] = (byte) (bits >> bitCount);
+            }
+        }
+        return (bits & ((1 << bitCount) - 1)) == 0;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Per-thread scratch space.
+     */
+    private static final class Buffers {
+        final ByteWriter json = new ByteWriter(256);
+        final ByteWriter token = new ByteWriter(512);
+        final ByteWriter presented = new ByteWriter(SIGNATURE_BYTES);
+        final byte[] computed = new byte[SIGNATURE_BYTES];
+    }
+
+    /**
+     * A growable byte buffer that is reset and reused instead of reallocated.
+     */
+    private static final class ByteWriter {
+
+        byte[] bytes;
+        int length;
+
+        ByteWriter(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        ByteWriter reset() {
+            length = 0;
+            return this;
+        }
+
+        void ensure(int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+
+        void write(char c) {
+            ensure(1);
+            bytes[length++] = (byte) c;
+        }
+
+        void ascii(String value) {
+            ascii(value, 0, value.length());
+        }
+
+        /**
+         * Appends characters that must all be ASCII.
+         *
+         * @return false if a character is outside ASCII.
+         */
+        boolean ascii(String value, int from, int to) {
+            ensure(to - from);
+            for (int i = from; i < to; i++) {
+                char c = value.charAt(i);
+                if (c > 0x7F) {
+                    return false;
+                }
+                bytes[length++] = (byte) c;
+            }
+            return true;
+        }
+
+        /**
+         * Appends "key":"value", preceded by a comma unless it is the first field.
+         *
+         * @return false if the value needs JSON escaping; true if it was written or is null.
+         */
+        boolean stringField(int key, String value, boolean comma) {
+            if (value == null) {
+                return true;
+            }
+            key(key, comma);
+            write('"');
+            ensure(value.length() + 1);
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x20 || c > 0x7E || c == '"' || c == '\\') {
+                    return false;
+                }
+                bytes[length++] = (byte) c;
+            }
+            write('"');
+            return true;
+        }
+
+        void numberField(int key, long value, boolean comma) {
+            key(key, comma);
+            if (value < 0) {
+                write('-');
+                value = -value;
+            }
+            ensure(19);
+            int start = length;
+            do {
+                bytes[length++] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value > 0);
+            for (int i = start, j = length - 1; i < j; i++, j--) { // Digits were written in reverse
+                byte digit = bytes[i];
+                bytes[i] = bytes[j];
+                bytes[j] = digit;
+            }
+        }
+
+        private void key(int key, boolean comma) {
+            if (comma) {
+                write(',');
+            }
+            write('"');
+            ensure(KEYS[key].length + 2);
+            System.arraycopy(KEYS[key], 0, bytes, length, KEYS[key].length);
+            length += KEYS[key].length;
+            write('"');
+            write(':');
+        }
+
+        /**
+         * Appends the base64url encoding (without padding) of a byte range.
+         */
+        void base64url(byte[] source, int sourceLength) {
+            ensure((sourceLength + 2) / 3 * 4);
+            int i = 0;
+            for (; i + 2 < sourceLength; i += 3) {
+                int bits = (source[i] & 0xFF) << 16 | (source[i + 1] & 0xFF) << 8 | source[i + 2] & 0xFF;
+                bytes[length++] = BASE64URL[bits >>> 18];
+                bytes[length++] = BASE64URL[bits >>> 12 & 0x3F];
+                bytes[length++] = BASE64URL[bits >>> 6 & 0x3F];
+                bytes[length++] = BASE64URL[bits & 0x3F];
+            }
+            if (i < sourceLength) {
+                int bits = (source[i] & 0xFF) << 16 | (i + 1 < sourceLength ? (source[i + 1] & 0xFF) << 8 : 0);
+                bytes[length++] = BASE64URL[bits >>> 18];
+                bytes[length++] = BASE64URL[bits >>> 12 & 0x3F];
+                if (i + 1 < sourceLength) {
+                    bytes[length++] = BASE64URL[bits >>> 6 & 0x3F];
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the flat JSON payload this codec writes. Returns null for anything else: unknown or
+     * repeated keys, escapes, nested values, booleans, nulls or fractional numbers.
+     */
+    private static final class PayloadParser {
+
+        private final byte[] json;
+        private final int length;
+        private int pos;
+
+        PayloadParser(byte[] json, int length) {
+            this.json = json;
+            this.length = length;
+        }
+
+        Claims parse() {
+            Claims claims = Jwts.claims();
+            int seen = 0;
+
+            if (!consume('{')) {
+                return null;
+            }
+            if (consume('}')) {
+                return pos == length ? claims : null;
+            }
+            do {
+                int key = key();
+                if (key < 0 || (seen & 1 << key) != 0 || !consume(':')) {
+                    return null;
+                }
+                seen |= 1 << key;
+                Object value = STRING_VALUED[key] ? string() : integer();
+                if (value == null) {
+                    return null;
+                }
+                claims.put(KEY_NAMES[key], value);
+            } while (consume(','));
+
+            return consume('}') && pos == length ? claims : null;
+        }
+
+        private int key() {
+            skipWhitespace();
+            if (pos >= length || json[pos] != '"') {
+                return -1;
+            }
+            for (int key = 0; key < KEYS.length; key++) {
+                byte[] name = KEYS[key];
+                int end = pos + 1 + name.length;
+                if (end < length && json[end] == '"' && Arrays.equals(json, pos + 1, end, name, 0, name.length)) {
+                    pos = end + 1;
+                    return key;
+                }
+            }
+            return -1;
+        }
+
+        private String string() {
+            skipWhitespace();
+            if (pos >= length || json[pos] != '"') {
+                return null;
+            }
+            int start = ++pos;
+            while (pos < length && json[pos] != '"') {
+                if (json[pos] == '\\' || (json[pos] >= 0 && json[pos] < 0x20)) {
+                    return null;
+                }
+                pos++;
+            }
+            if (pos >= length) {
+                return null;
+            }
+            return new String(json, start, pos++ - start, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Reads an integer, boxed the way Jackson does so the claims equal jjwt's: Integer when it fits, else Long.
+         */
+        private Number integer() {
+            skipWhitespace();
+            boolean negative = pos < length && json[pos] == '-';
+            if (negative) {
+                pos++;
+            }
+            int start = pos;
+            long value = 0;
+            while (pos < length && json[pos] >= '0' && json[pos] <= '9') {
+                if (pos - start == 18) {
+                    return null; // Too long to read safely
+                }
+                value = value * 10 + (json[pos++] - '0');
+            }
+            if (pos == start || pos < length && (json[pos] == '.' || json[pos] == 'e' || json[pos] == 'E')) {
+                return null;
+            }
+            value = negative ? -value : value;
+            return value == (int) value ? (Number) (int) value : (Number) value;
+        }
+
+        private boolean consume(char c) {
+            skipWhitespace();
+            if (pos < length && json[pos] == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void skipWhitespace() {
+            while (pos < length && (json[pos] == ' ' || json[pos] == '\t' || json[pos] == '\n' || json[pos] == '\r')) {
+                pos++;
+            }
+        }
+    }
+}
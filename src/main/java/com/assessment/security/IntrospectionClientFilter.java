@@ -0,0 +1,114 @@
+package com.assessment.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Introspection Client Filter
+ * Authenticates the services allowed to call POST /api/auth/introspect (RFC 7662 section 2.1) with HTTP Basic
+ * credentials listed in auth.introspect.clients as comma-separated "id:secret" pairs.
+ *
+ * - A matching client is authenticated with ROLE_INTROSPECTION, which SecurityConfig requires on that path,
+ *   so holding a token alone no longer buys batches of user lookups.
+ * - Secrets are compared as SHA-256 digests with MessageDigest.isEqual: the comparison does not leak how much
+ *   of a secret matched, and a call does not pay the BCrypt cost of a user signin.
+ * - With no clients configured, nobody can introspect.
+ */
+@Component
+@Profile("!reactive")
+public class IntrospectionClientFilter extends OncePerRequestFilter {
+
+    public static final String PATH = "/api/auth/introspect";
+    public static final String ROLE = "ROLE_INTROSPECTION";
+
+    private final Map<String, byte[]> secretDigests = new HashMap<>(); // Client id -> SHA-256 of its secret
+
+    /**
+     * Constructor to read the configured introspection clients.
+     *
+     * @param clients Comma-separated "id:secret" pairs; empty disables introspection.
+     * @throws IllegalArgumentException if a pair has no id or no secret.
+     */
+    public IntrospectionClientFilter(@Value("${auth.introspect.clients:}") String clients) {
+        for (String client : clients.split(",")) {
+            if (client.isBlank()) {
+                continue;
+            }
+            int separator = client.indexOf(':');
+            if (separator <= 0 || separator == client.length() - 1) {
+                throw new IllegalArgumentException("auth.introspect.clients entries must be id:secret");
+            }
+            secretDigests.put(client.substring(0, separator).trim(), sha256(client.substring(separator + 1).trim()));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().equals(request.getContextPath() + PATH);
+    }
+
+    /**
+     * Authenticates the caller if its Basic credentials name a configured client; otherwise leaves it anonymous.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String clientId = authenticatedClient(request.getHeader("Authorization"));
+        if (clientId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    clientId, null, List.of(new SimpleGrantedAuthority(ROLE))));
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Checks an Authorization header against the configured clients.
+     *
+     * @param authHeader The header value, or null.
+     * @return The client id, or null if the header carries no valid client credentials.
+     */
+    String authenticatedClient(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Basic ")) {
+            return null;
+        }
+        String credentials;
+        try {
+            credentials = new String(Base64.getDecoder().decode(authHeader.substring(6).trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        int separator = credentials.indexOf(':');
+        if (separator < 0) {
+            return null;
+        }
+        String clientId = credentials.substring(0, separator);
+        byte[] expected = secretDigests.get(clientId);
+        byte[] presented = sha256(credentials.substring(separator + 1));
+        return expected != null && MessageDigest.isEqual(expected, presented) ? clientId : null;
+    }
+
+    private static byte[] sha256(String secret) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e); // Every JVM provides it
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package com.assessment.security;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -12,26 +17,62 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * JWT Authentication Filter
  * Intercepts incoming requests to validate JWT tokens and set authentication in the security context.
+ *
+ * - In the default (stateful) mode the user is loaded through the UserDetailsService.
+ * - In stateless mode (auth.mode=stateless) the authentication is built from the token's
+ *   claims and revocation is checked against the in-memory TokenVersionRegistry.
+ * - Tokens whose refresh-token session has been revoked are rejected through the in-memory SessionRevocationList.
+ * - Token verification (cache misses only) and the user lookup are timed as
+ *   auth.jwt.verify and auth.user.lookup.
  */
 @Component
+@Profile("!reactive")
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final UserDetailsService userDetailsService;
+    private final TokenVersionRegistry tokenVersionRegistry; // Only present in stateless mode
+    private final SessionRevocationList sessionRevocationList;
+    private final Timer verifyTime;
+    private final Timer claimsLookupTime;
+    private final Timer userDetailsLookupTime;
 
     /**
-     * Constructor to inject JwtUtil and UserDetailsService.
+     * Constructor to inject JwtUtil, VerifiedTokenCache, UserDetailsService, the optional TokenVersionRegistry,
+     * the SessionRevocationList and the MeterRegistry the stage timers are published to.
      * 
      * @param jwtUtil Utility class for handling JWT operations.
+     * @param verifiedTokenCache Cache of tokens that have already been verified.
      * @param userDetailsService Service to load user details from the database.
+     * @param tokenVersionRegistry Registry of revoked token versions, available in stateless mode.
+     * @param sessionRevocationList The revoked refresh-token sessions.
+     * @param meterRegistry The registry the filter timers are published to.
      */
-    public JwtAuthFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public JwtAuthFilter(JwtUtil jwtUtil, VerifiedTokenCache verifiedTokenCache, UserDetailsService userDetailsService,
+                         ObjectProvider<TokenVersionRegistry> tokenVersionRegistry, SessionRevocationList sessionRevocationList,
+                         MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
+        this.verifiedTokenCache = verifiedTokenCache;
         this.userDetailsService = userDetailsService;
+        this.tokenVersionRegistry = tokenVersionRegistry.getIfAvailable();
+        this.sessionRevocationList = sessionRevocationList;
+        this.verifyTime = Timer.builder("auth.jwt.verify")
+                .description("Time spent parsing and verifying JWT signatures")
+                .register(meterRegistry);
+        this.claimsLookupTime = Timer.builder("auth.user.lookup")
+                .description("Time spent resolving the authenticated user for a request")
+                .tag("source", "claims")
+                .register(meterRegistry);
+        this.userDetailsLookupTime = Timer.builder("auth.user.lookup")
+                .description("Time spent resolving the authenticated user for a request")
+                .tag("source", "userDetails")
+                .register(meterRegistry);
     }
 
     /**
@@ -59,15 +100,20 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         // Extract JWT token from the Authorization header
         String token = authHeader.substring(7);
-        String username = jwtUtil.extractUsername(token);
+
+        // Verify the token once (or reuse an earlier verification), drop it if its session was revoked,
+        // and read the subject from its claims
+        Optional<Claims> claims = verifiedTokenCache.verify(token, this::verifyToken)
+                .filter(verified -> !sessionRevocationList.isRevoked(verified.get(JwtUtil.SESSION_ID_CLAIM, String.class)));
+        String username = claims.map(Claims::getSubject).orElse(null);
 
         // Authenticate the user if the token is valid and the user is not already authenticated
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            UsernamePasswordAuthenticationToken authentication = tokenVersionRegistry != null && TokenVersionRegistry.supports(claims.get())
+                ? claimsLookupTime.record(() -> tokenVersionRegistry.authenticate(claims.get()))
+                : userDetailsLookupTime.record(() -> authenticateFromUserDetails(username));
 
-            if (jwtUtil.validateToken(token)) {
-                UsernamePasswordAuthenticationToken authentication = 
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            if (authentication != null) {
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 
                 // Set authentication in security context
@@ -78,4 +124,25 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         // Continue the filter chain
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Verifies a token that is not in the cache, recording how long the signature check takes.
+     *
+     * @param token The JWT token.
+     * @return An Optional containing the verified claims, or empty if the token is invalid.
+     */
+    private Optional<Claims> verifyToken(String token) {
+        return verifyTime.record(() -> jwtUtil.verifyToken(token));
+    }
+
+    /**
+     * Builds the authentication by loading the user through the UserDetailsService.
+     *
+     * @param username The username (email) taken from the token.
+     * @return The authentication for the user.
+     */
+    private UsernamePasswordAuthenticationToken authenticateFromUserDetails(String username) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
 }
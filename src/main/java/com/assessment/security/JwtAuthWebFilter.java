@@ -0,0 +1,94 @@
+package com.assessment.security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import java.util.Optional;
+
+/**
+ * JWT Authentication Web Filter
+ * Reactive counterpart of {@link JwtAuthFilter}: validates the Bearer token and places the
+ * authentication in the reactive security context.
+ *
+ * - Token verification goes through the same VerifiedTokenCache as the servlet filter.
+ * - In stateless mode the authentication is built from the token's claims.
+ * - Otherwise the user is loaded through the ReactiveUserDetailsService without blocking.
+ * - Not a bean on purpose: WebFilter beans are applied to every request, so ReactiveSecurityConfig
+ *   adds this filter to the security chain only.
+ */
+public class JwtAuthWebFilter implements WebFilter {
+
+    private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final ReactiveUserDetailsService userDetailsService;
+    private final TokenVersionRegistry tokenVersionRegistry; // Only present in stateless mode
+
+    /**
+     * Constructor to inject JwtUtil, VerifiedTokenCache, ReactiveUserDetailsService and the optional TokenVersionRegistry.
+     *
+     * @param jwtUtil Utility class for handling JWT operations.
+     * @param verifiedTokenCache Cache of tokens that have already been verified.
+     * @param userDetailsService Service to load user details from the database.
+     * @param tokenVersionRegistry Registry of revoked token versions, or null outside stateless mode.
+     */
+    public JwtAuthWebFilter(JwtUtil jwtUtil, VerifiedTokenCache verifiedTokenCache,
+                            ReactiveUserDetailsService userDetailsService, TokenVersionRegistry tokenVersionRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.userDetailsService = userDetailsService;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+    }
+
+    /**
+     * Filters each exchange to check for a valid JWT token.
+     * If the token is valid, continues the chain with the authentication in the reactive security context.
+     *
+     * @param exchange The current server exchange.
+     * @param chain The web filter chain.
+     * @return A Mono that completes when the rest of the chain has completed.
+     */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        // Check if the Authorization header is missing or does not start with "Bearer "
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+
+        Optional<Claims> claims = verifiedTokenCache.verify(authHeader.substring(7), jwtUtil::verifyToken);
+        if (claims.map(Claims::getSubject).isEmpty()) {
+            return chain.filter(exchange);
+        }
+
+        return authenticate(claims.get())
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(authentication -> authentication
+                        .map(value -> chain.filter(exchange)
+                                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(value)))
+                        .orElseGet(() -> chain.filter(exchange)));
+    }
+
+    /**
+     * Builds the authentication for verified claims.
+     *
+     * @param claims The verified token claims.
+     * @return A Mono emitting the authentication, or empty if the user is unknown or the token was revoked.
+     */
+    private Mono<Authentication> authenticate(Claims claims) {
+        if (tokenVersionRegistry != null && TokenVersionRegistry.supports(claims)) {
+            return Mono.justOrEmpty(tokenVersionRegistry.authenticate(claims));
+        }
+
+        return userDetailsService.findByUsername(claims.getSubject())
+                .map(userDetails -> new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+    }
+}
@@ -1,21 +1,36 @@
 package com.assessment.security;
 
+import com.assessment.model.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 import java.util.Base64;
+import java.util.Optional;
 
 /**
  * JWT Utility Class
  * Provides methods for generating, validating, and extracting information from JWT tokens.
+ *
+ * - Tokens are signed and verified by {@link Hs256Codec}, which avoids jjwt's per-token allocations.
+ * - jjwt handles whatever the codec does not: values that need JSON escaping and tokens with any
+ *   other header or claims.
  */
 @Component
 public class JwtUtil {
+
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+    public static final String SESSION_ID_CLAIM = "sid";
     
     private final Key signingKey;
+    private final JwtParser jwtParser; // Immutable and thread-safe, so it is built once and shared
+    private final Hs256Codec codec;
 
     /**
      * Constructor to initialize the signing key from the provided secret.
@@ -25,6 +40,10 @@ public class JwtUtil {
     public JwtUtil(@Value("${jwt.secret}") String secret) {
         byte[] keyBytes = Base64.getEncoder().encode(secret.getBytes());
         this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.codec = new Hs256Codec(signingKey.getEncoded());
     }
 
     @Value("${jwt.expirationMs}") 
@@ -37,14 +56,95 @@ public class JwtUtil {
      * @return A signed JWT token.
      */
     public String generateToken(String username) {
+        long now = System.currentTimeMillis();
+        String token = codec.encode(username, null, null, null, null, now / 1000, (now + expirationMs) / 1000);
+        if (token != null) {
+            return token;
+        }
+
         return Jwts.builder()
                 .setSubject(username)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + expirationMs))
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expirationMs))
                 .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Generates a JWT token for the given user.
+     *
+     * - The subject is the user's email, as in {@link #generateToken(String)}.
+     * - Also embeds the user id, role and token version so that stateless mode can
+     *   authenticate requests without loading the user.
+     *
+     * @param user The user for which the token is generated.
+     * @return A signed JWT token.
+     */
+    public String generateToken(User user) {
+        return generateToken(user, null);
+    }
+
+    /**
+     * Generates a JWT access token for the given user within a refresh-token session.
+     *
+     * - Same claims as {@link #generateToken(User)}, plus the session id, so that revoking
+     *   the session also rejects the access tokens issued in it.
+     *
+     * @param user The user for which the token is generated.
+     * @param sessionId The refresh-token session the token belongs to, or null for none.
+     * @return A signed JWT token.
+     */
+    public String generateToken(User user, String sessionId) {
+        long now = System.currentTimeMillis();
+        String token = codec.encode(user.getEmail(), user.getId(), user.getTokenVersion(), user.getRole(), sessionId,
+                now / 1000, (now + expirationMs) / 1000);
+        if (token != null) {
+            return token;
+        }
+
+        JwtBuilder builder = Jwts.builder()
+                .setSubject(user.getEmail())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(TOKEN_VERSION_CLAIM, user.getTokenVersion())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expirationMs));
+
+        if (user.getRole() != null) {
+            builder.claim(ROLE_CLAIM, user.getRole());
+        }
+        if (sessionId != null) {
+            builder.claim(SESSION_ID_CLAIM, sessionId);
+        }
+
+        return builder.signWith(signingKey, SignatureAlgorithm.HS256).compact();
+    }
+
+    /**
+     * Returns how long access tokens are valid.
+     *
+     * @return The access token lifetime.
+     */
+    public Duration getExpiration() {
+        return Duration.ofMillis(expirationMs);
+    }
+
+    /**
+     * Verifies a JWT token and extracts its claims in a single parse.
+     *
+     * - Checks the signature and expiry.
+     * - Returns the parsed claims so callers do not need to parse the token again.
+     *
+     * @param token The JWT token.
+     * @return An Optional containing the verified claims, or empty if the token is invalid or expired.
+     */
+    public Optional<Claims> verifyToken(String token) {
+        try {
+            return Optional.of(parse(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty(); // Token is invalid or expired
+        }
+    }
+
     /**
      * Extracts the username from a given JWT token.
      *
@@ -52,12 +152,7 @@ public class JwtUtil {
      * @return The username (email) associated with the token.
      */
     public String extractUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parse(token).getSubject();
     }
 
     /**
@@ -67,14 +162,24 @@ public class JwtUtil {
      * @return true if the token is valid, false otherwise.
      */
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false; // Token is invalid or expired
+        return verifyToken(token).isPresent();
+    }
+
+    /**
+     * Verifies a token with the codec, or with jjwt if the codec does not handle its form.
+     *
+     * @param token The JWT token.
+     * @return The verified claims.
+     * @throws JwtException if the token is invalid or expired.
+     */
+    private Claims parse(String token) {
+        Claims claims = codec.decode(token);
+        if (claims != null) {
+            return claims;
+        }
+        if (!Hs256Codec.hasCanonicalSignature(token)) {
+            throw new SignatureException("JWT signature is not canonical base64url."); // jjwt would accept it
         }
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 }
@@ -0,0 +1,139 @@
+package com.assessment.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Password Hasher
+ * Runs BCrypt hashing and matching on a dedicated, bounded thread pool instead of on
+ * servlet request threads, so a burst of logins cannot starve other endpoints.
+ *
+ * - The pool size and queue capacity are set by auth.passwordPool.threads and auth.passwordPool.queueCapacity.
+ * - When the queue is full, submissions fail immediately with {@link RejectedExecutionException}.
+ * - Queue depth, queue wait time, hashing time and rejections are published as metrics.
+ * - Uses the application's single PasswordEncoder, whose cost comes from BCryptCalibration.
+ */
+@Component
+public class PasswordHasher implements DisposableBean {
+
+    private final PasswordEncoder passwordEncoder;
+    private final BCryptCalibration bcryptCalibration;
+    private final ThreadPoolExecutor executor;
+    private final Timer queueWait;
+    private final Timer encodeTime;
+    private final Timer matchTime;
+    private final Counter rejections;
+
+    /**
+     * Constructor to create the hashing pool and register its metrics.
+     *
+     * @param passwordEncoder The application's password encoder.
+     * @param bcryptCalibration The calibrated BCrypt cost factor.
+     * @param threads The number of hashing threads; 0 means one per available processor.
+     * @param queueCapacity The number of hashing tasks that may wait for a thread.
+     * @param meterRegistry The registry the pool metrics are published to.
+     */
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          BCryptCalibration bcryptCalibration,
+                          @Value("${auth.passwordPool.threads:0}") int threads,
+                          @Value("${auth.passwordPool.queueCapacity:100}") int queueCapacity,
+                          MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.bcryptCalibration = bcryptCalibration;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicInteger threadCount = new AtomicInteger();
+
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, queue, runnable -> {
+            Thread thread = new Thread(runnable, "password-hasher-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+
+        this.queueWait = Timer.builder("auth.password.queue.wait")
+                .description("Time password hashing tasks wait for a thread")
+                .register(meterRegistry);
+        this.encodeTime = Timer.builder("auth.password.hash")
+                .description("Time spent computing BCrypt hashes")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchTime = Timer.builder("auth.password.hash")
+                .description("Time spent computing BCrypt hashes")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("auth.password.rejected")
+                .description("Password hashing tasks rejected because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.queue.depth", queue, BlockingQueue::size)
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing tasks currently running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hashes a raw password on the hashing pool.
+     *
+     * @param rawPassword The password to hash.
+     * @return A future completed with the BCrypt hash.
+     * @throws RejectedExecutionException if the hashing queue is full.
+     */
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return submit(encodeTime, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Checks a raw password against a stored hash on the hashing pool.
+     *
+     * @param rawPassword The password supplied by the user.
+     * @param encodedPassword The stored BCrypt hash.
+     * @return A future completed with true if the password matches.
+     * @throws RejectedExecutionException if the hashing queue is full.
+     */
+    public CompletableFuture<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(matchTime, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Checks whether a stored hash was created with a lower cost than the fleet-wide rehash cost.
+     *
+     * @param encodedPassword The stored BCrypt hash.
+     * @return true if the hash should be recomputed after the next successful login.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return bcryptCalibration.needsRehash(encodedPassword);
+    }
+
+    private <T> CompletableFuture<T> submit(Timer hashTime, Supplier<T> task) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queueWait.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return hashTime.record(task);
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,50 @@
+package com.assessment.security;
+
+import com.assessment.repository.ReactiveUserRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive Custom User Details Service
+ * Non-blocking counterpart of {@link CustomUserDetailsService} for the reactive profile.
+ * Shares the same UserDetailsCache, so only cache misses query the database.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveCustomUserDetailsService implements ReactiveUserDetailsService {
+
+    private final ReactiveUserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+
+    /**
+     * Constructor to inject ReactiveUserRepository and UserDetailsCache dependencies.
+     *
+     * @param userRepository The reactive repository used to fetch user details.
+     * @param userDetailsCache The cache placed in front of the repository.
+     */
+    public ReactiveCustomUserDetailsService(ReactiveUserRepository userRepository, UserDetailsCache userDetailsCache) {
+        this.userRepository = userRepository;
+        this.userDetailsCache = userDetailsCache;
+    }
+
+    /**
+     * Find user details by email (used for authentication).
+     *
+     * @param email The email address of the user.
+     * @return A Mono emitting the user details, or empty if no user has this email.
+     */
+    @Override
+    public Mono<UserDetails> findByUsername(String email) {
+        UserDetails cached = userDetailsCache.getIfPresent(email);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+
+        return userRepository.findCredentialsByEmail(email)
+                .map(CustomUserDetailsService::toUserDetails)
+                .doOnNext(userDetails -> userDetailsCache.put(email, userDetails));
+    }
+}
@@ -0,0 +1,105 @@
+package com.assessment.security;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+/**
+ * Reactive Security Configuration Class
+ * Configures authentication, authorization, and security filters for the reactive (WebFlux) profile.
+ * Mirrors {@link SecurityConfig}, which is used for the default servlet stack.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@Profile("reactive")
+public class ReactiveSecurityConfig {
+
+    private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final ReactiveCustomUserDetailsService userDetailsService;
+    private final BCryptCalibration bcryptCalibration;
+    private final ObjectProvider<TokenVersionRegistry> tokenVersionRegistry;
+
+    /**
+     * Constructor to inject the JWT, user lookup and password hashing dependencies.
+     *
+     * @param jwtUtil Utility class for handling JWT operations.
+     * @param verifiedTokenCache Cache of tokens that have already been verified.
+     * @param userDetailsService The reactive service to load user details.
+     * @param bcryptCalibration The calibrated BCrypt cost factor.
+     * @param tokenVersionRegistry Registry of revoked token versions, available in stateless mode.
+     */
+    public ReactiveSecurityConfig(JwtUtil jwtUtil, VerifiedTokenCache verifiedTokenCache,
+                                  ReactiveCustomUserDetailsService userDetailsService, BCryptCalibration bcryptCalibration,
+                                  ObjectProvider<TokenVersionRegistry> tokenVersionRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.userDetailsService = userDetailsService;
+        this.bcryptCalibration = bcryptCalibration;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+    }
+
+    /**
+     * Configures HTTP security for the reactive application.
+     * 
+     * - Disables CSRF, HTTP Basic and form login for stateless API security.
+     * - Defines the same role-based access rules as the servlet configuration.
+     * - Does not store security contexts between requests.
+     * - Adds the JWT web filter at the authentication stage.
+     *
+     * @param http The ServerHttpSecurity object.
+     * @return The configured SecurityWebFilterChain.
+     */
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        JwtAuthWebFilter jwtAuthWebFilter = new JwtAuthWebFilter(jwtUtil, verifiedTokenCache, userDetailsService,
+                tokenVersionRegistry.getIfAvailable());
+
+        return http
+            .csrf(ServerHttpSecurity.CsrfSpec::disable) // Disable CSRF for REST APIs
+            .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+            .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance()) // Stateless
+            .authorizeExchange(exchange -> exchange
+                .pathMatchers("/actuator/health", "/actuator/prometheus").permitAll() // Allow health checks and metric scrapes
+                .pathMatchers("/api/auth/signup", "/api/auth/signin").permitAll() // Allow Signup & Signin without authentication
+                .pathMatchers("/api/auth/revoke/**").hasRole("ADMIN") // Only Admins can revoke tokens
+                .pathMatchers("/api/users", "/api/users/**").hasRole("ADMIN") // Only Admins can access user listing
+                .anyExchange().authenticated() // Require authentication for all other requests
+            )
+            .addFilterAt(jwtAuthWebFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+            .build();
+    }
+
+    /**
+     * Configures the password encoder for the reactive profile.
+     * 
+     * - Uses BCryptPasswordEncoder with the cost from BCryptCalibration, as in SecurityConfig.
+     *
+     * @return The configured PasswordEncoder.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder(bcryptCalibration.getStrength());
+    }
+
+    /**
+     * Runs the reactive profile on Reactor Netty's event loop rather than on Tomcat,
+     * which is also on the classpath for the servlet stack.
+     *
+     * @return The Netty web server factory.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -1,7 +1,9 @@
 package com.assessment.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -18,20 +20,28 @@ import java.util.List;
  * Configures authentication, authorization, and security filters for the application.
  */
 @Configuration
+@Profile("!reactive")
 public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
+    private final IntrospectionClientFilter introspectionClientFilter;
     private final CustomUserDetailsService userDetailsService;
+    private final BCryptCalibration bcryptCalibration;
 
     /**
-     * Constructor to inject JwtAuthFilter and CustomUserDetailsService dependencies.
+     * Constructor to inject JwtAuthFilter, IntrospectionClientFilter, CustomUserDetailsService and BCryptCalibration dependencies.
      *
      * @param jwtAuthFilter The JWT authentication filter.
+     * @param introspectionClientFilter The filter authenticating the services allowed to introspect tokens.
      * @param userDetailsService The service to load user details.
+     * @param bcryptCalibration The calibrated BCrypt cost factor.
      */
-    public SecurityConfig(JwtAuthFilter jwtAuthFilter, CustomUserDetailsService userDetailsService) {
+    public SecurityConfig(JwtAuthFilter jwtAuthFilter, IntrospectionClientFilter introspectionClientFilter,
+                          CustomUserDetailsService userDetailsService, BCryptCalibration bcryptCalibration) {
         this.jwtAuthFilter = jwtAuthFilter;
+        this.introspectionClientFilter = introspectionClientFilter;
         this.userDetailsService = userDetailsService;
+        this.bcryptCalibration = bcryptCalibration;
     }
 
     /**
@@ -39,8 +49,11 @@ public class SecurityConfig {
      * 
      * - Disables CSRF for stateless API security.
      * - Defines role-based access to endpoints.
+     * - Lets async dispatches through: they resume a request (a streamed body or a CompletableFuture result)
+     *   that was authorized on its first dispatch, and the JWT filter does not run on them again.
      * - Configures session management as stateless.
-     * - Adds JWT authentication filter before UsernamePasswordAuthenticationFilter.
+     * - Adds JWT authentication filter before UsernamePasswordAuthenticationFilter, and the introspection client
+     *   filter before it.
      *
      * @param http The HttpSecurity object.
      * @return The configured SecurityFilterChain.
@@ -51,14 +64,19 @@ public class SecurityConfig {
         http
             .csrf(csrf -> csrf.disable()) // Disable CSRF for REST APIs
             .authorizeHttpRequests(auth -> auth
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // Already authorized on the original dispatch
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll() // Allow Swagger UI
-                .requestMatchers("/api/auth/signup", "/api/auth/signin").permitAll() // Allow Signup & Signin without authentication
-                .requestMatchers("/api/users").hasRole("ADMIN") // Only Admins can access user listing
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll() // Allow health checks and metric scrapes
+                .requestMatchers("/api/auth/signup", "/api/auth/signin", "/api/auth/refresh").permitAll() // Allow Signup, Signin & Refresh without authentication
+                .requestMatchers(IntrospectionClientFilter.PATH).hasAuthority(IntrospectionClientFilter.ROLE) // Only configured services may introspect
+                .requestMatchers("/api/auth/revoke/**").hasRole("ADMIN") // Only Admins can revoke tokens
+                .requestMatchers("/api/users", "/api/users/**").hasRole("ADMIN") // Only Admins can access user listing
                 .requestMatchers("/api/user/update").authenticated() // Any authenticated user can update their profile
                 .anyRequest().authenticated() // Require authentication for all other requests
             )
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // Use stateless session
-            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class); // Add JWT filter before the default authentication filter
+            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class) // Add JWT filter before the default authentication filter
+            .addFilterBefore(introspectionClientFilter, JwtAuthFilter.class); // Authenticate introspection clients by their Basic credentials
 
         return http.build();
     }
@@ -83,11 +101,13 @@ public class SecurityConfig {
      * Configures the password encoder.
      * 
      * - Uses BCryptPasswordEncoder for secure password hashing.
+     * - The cost factor comes from BCryptCalibration.
+     * - This is the only encoder in the application; PasswordHasher uses it too.
      *
      * @return The configured PasswordEncoder.
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptCalibration.getStrength());
     }
 }
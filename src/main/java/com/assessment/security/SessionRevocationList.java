@@ -0,0 +1,116 @@
+package com.assessment.security;
+
+import com.assessment.model.RevokedSession;
+import com.assessment.repository.RefreshTokenStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Session Revocation List
+ * Holds the ids of revoked refresh-token sessions so that JwtAuthFilter can reject their
+ * access tokens without a database round trip per request.
+ *
+ * - Lookups go through a Bloom filter first; almost every request carries a session that
+ *   was never revoked, and the filter answers those in a few bit reads. Only possible
+ *   matches are confirmed against the exact set.
+ * - Refreshed incrementally from the revoked_sessions collection (with a small overlap for clock skew).
+ * - Sessions are dropped once their last access token has expired, and the filter is rebuilt
+ *   when that happens or when it outgrows its capacity.
+ */
+@Component
+@Profile("!reactive")
+public class SessionRevocationList {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionRevocationList.class);
+    private static final Duration REFRESH_OVERLAP = Duration.ofSeconds(30);
+
+    private final RefreshTokenStore refreshTokenStore;
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>(); // Session id -> when its access tokens expire
+    private volatile BloomFilter filter;
+    private volatile Instant lastRefresh = Instant.EPOCH;
+
+    /**
+     * Constructor to inject the store and size the filter.
+     *
+     * @param refreshTokenStore The store revoked sessions are read from.
+     * @param expectedRevocations The number of concurrently revoked sessions the filter is sized for.
+     * @param falsePositiveRate The filter's false-positive rate at that size.
+     */
+    public SessionRevocationList(RefreshTokenStore refreshTokenStore,
+                                 @Value("${auth.revocation.expectedSessions:10000}") int expectedRevocations,
+                                 @Value("${auth.revocation.falsePositiveRate:0.01}") double falsePositiveRate) {
+        this.refreshTokenStore = refreshTokenStore;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    /**
+     * Checks whether a session has been revoked.
+     *
+     * @param sessionId The session id carried in an access token, or null for tokens without one.
+     * @return true if the session's tokens must be rejected.
+     */
+    public boolean isRevoked(String sessionId) {
+        return sessionId != null && filter.mightContain(sessionId) && revoked.containsKey(sessionId);
+    }
+
+    /**
+     * Records a revocation made on this node so it applies before the next refresh.
+     *
+     * @param sessionId The revoked session.
+     * @param expiresAt When the last access token issued in the session expires.
+     */
+    public synchronized void record(String sessionId, Instant expiresAt) {
+        revoked.merge(sessionId, expiresAt, (a, b) -> a.isAfter(b) ? a : b);
+        if (revoked.size() > filter.capacity()) {
+            rebuild();
+        } else {
+            filter.put(sessionId);
+        }
+    }
+
+    /**
+     * Loads sessions revoked since the previous refresh, including those revoked on other nodes,
+     * and drops sessions whose access tokens have all expired.
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation.refreshMs:5000}")
+    public void refresh() {
+        Instant startedAt = Instant.now();
+        Instant since = lastRefresh.equals(Instant.EPOCH) ? Instant.EPOCH : lastRefresh.minus(REFRESH_OVERLAP);
+
+        try {
+            for (RevokedSession session : refreshTokenStore.findRevokedSince(since)) {
+                record(session.getId(), session.getExpiresAt());
+            }
+            lastRefresh = startedAt;
+        } catch (RuntimeException e) {
+            log.warn("Session revocation refresh failed, keeping previous revocations", e);
+        }
+
+        synchronized (this) {
+            if (revoked.values().removeIf(expiresAt -> expiresAt.isBefore(startedAt))) {
+                rebuild();
+            }
+        }
+    }
+
+    /**
+     * Replaces the filter with one built from the exact set, sized for at least twice its current contents.
+     */
+    private void rebuild() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revoked.size() * 2), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+    }
+}
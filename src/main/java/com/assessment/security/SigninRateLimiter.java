@@ -0,0 +1,142 @@
+package com.assessment.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signin Rate Limiter
+ * Token buckets per email and per client address that are checked before a signin does any database or BCrypt work,
+ * so that a credential-stuffing burst costs a map lookup per attempt instead of a password verification.
+ *
+ * - An attempt must find a token in both its address bucket and its email bucket; the address is checked first,
+ *   and an attempt rejected there does not use up the email's budget.
+ * - IPv6 clients are keyed by their /64 prefix, which a single host can otherwise rotate through freely.
+ * - The address is the one the server sees; behind a proxy, set server.forward-headers-strategy so it is the client's.
+ * - Buckets are in memory and per node, held in {@link StripedTokenBuckets}; idle buckets are swept every auth.signinLimit.sweepMs.
+ * - Rejections are counted as auth.signin.rejected (tagged by limit) and the number of buckets is published as auth.signin.buckets.
+ */
+@Component
+public class SigninRateLimiter implements MeterBinder {
+
+    private final boolean enabled;
+    private final StripedTokenBuckets addressBuckets;
+    private final StripedTokenBuckets emailBuckets;
+    private Counter addressRejections;
+    private Counter emailRejections;
+
+    /**
+     * Constructor to size both sets of buckets.
+     *
+     * @param enabled If false, every attempt is allowed.
+     * @param stripes The number of lock stripes per set of buckets.
+     * @param addressBurst The attempts one client address may make in a burst.
+     * @param addressRefillMs How long an address takes to regain one attempt, in milliseconds.
+     * @param addressMaxKeys The maximum number of address buckets held.
+     * @param emailBurst The attempts one email may receive in a burst.
+     * @param emailRefillMs How long an email takes to regain one attempt, in milliseconds.
+     * @param emailMaxKeys The maximum number of email buckets held.
+     */
+    public SigninRateLimiter(@Value("${auth.signinLimit.enabled:true}") boolean enabled,
+                             @Value("${auth.signinLimit.stripes:64}") int stripes,
+                             @Value("${auth.signinLimit.address.burst:50}") int addressBurst,
+                             @Value("${auth.signinLimit.address.refillMs:1000}") long addressRefillMs,
+                             @Value("${auth.signinLimit.address.maxKeys:1000000}") int addressMaxKeys,
+                             @Value("${auth.signinLimit.email.burst:10}") int emailBurst,
+                             @Value("${auth.signinLimit.email.refillMs:30000}") long emailRefillMs,
+                             @Value("${auth.signinLimit.email.maxKeys:1000000}") int emailMaxKeys) {
+        this.enabled = enabled;
+        this.addressBuckets = new StripedTokenBuckets(stripes, addressMaxKeys, addressBurst, TimeUnit.MILLISECONDS.toNanos(addressRefillMs));
+        this.emailBuckets = new StripedTokenBuckets(stripes, emailMaxKeys, emailBurst, TimeUnit.MILLISECONDS.toNanos(emailRefillMs));
+    }
+
+    /**
+     * Takes one attempt from the client address's budget and then from the email's.
+     *
+     * @param email The email the client is signing in as, or null if none was sent.
+     * @param clientAddress The client's IP address, or null if it is unknown.
+     * @return 0 if the attempt may proceed, otherwise the whole seconds after which it may be retried.
+     */
+    public long acquire(String email, String clientAddress) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = System.nanoTime();
+
+        if (clientAddress != null) {
+            long wait = addressBuckets.tryAcquire(addressKey(clientAddress), now);
+            if (wait > 0) {
+                increment(addressRejections);
+                return retryAfterSeconds(wait);
+            }
+        }
+
+        if (email != null) {
+            long wait = emailBuckets.tryAcquire(email.trim().toLowerCase(Locale.ROOT), now);
+            if (wait > 0) {
+                increment(emailRejections);
+                return retryAfterSeconds(wait);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Drops the buckets of keys that have been idle long enough to refill completely.
+     */
+    @Scheduled(fixedDelayString = "${auth.signinLimit.sweepMs:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        addressBuckets.sweep(now);
+        emailBuckets.sweep(now);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        addressRejections = Counter.builder("auth.signin.rejected").tag("limit", "address")
+                .description("Signin attempts rejected by the rate limiter").register(registry);
+        emailRejections = Counter.builder("auth.signin.rejected").tag("limit", "email")
+                .description("Signin attempts rejected by the rate limiter").register(registry);
+        Gauge.builder("auth.signin.buckets", addressBuckets, StripedTokenBuckets::size).tag("limit", "address")
+                .description("Rate limiter buckets held in memory").register(registry);
+        Gauge.builder("auth.signin.buckets", emailBuckets, StripedTokenBuckets::size).tag("limit", "email")
+                .description("Rate limiter buckets held in memory").register(registry);
+    }
+
+    /**
+     * Keys IPv4 addresses as they are and IPv6 addresses by their /64 prefix.
+     */
+    static String addressKey(String clientAddress) {
+        if (clientAddress.indexOf(':') < 0) {
+            return clientAddress;
+        }
+        try {
+            byte[] bytes = InetAddress.getByName(clientAddress).getAddress(); // A literal, so never a DNS lookup
+            if (bytes.length == 16) {
+                return HexFormat.of().formatHex(bytes, 0, 8) + "::/64";
+            }
+            return InetAddress.getByAddress(bytes).getHostAddress(); // IPv4-mapped
+        } catch (UnknownHostException e) {
+            return clientAddress;
+        }
+    }
+
+    private static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.assessment.security;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped Token Buckets
+ * One token bucket per key, for rate limiting a very large and changing set of keys.
+ *
+ * - Keys are spread over a power-of-two number of stripes, each a map guarded by its own lock,
+ *   so concurrent callers only contend when their keys share a stripe.
+ * - A bucket that has been idle long enough to refill completely behaves exactly like a missing one,
+ *   so {@link #sweep(long)} drops it; memory follows the number of recently active keys.
+ * - Each stripe also holds at most maxKeys / stripes buckets and evicts its least recently used bucket beyond that.
+ * - Time is passed in by the caller (System.nanoTime() in production) so that tests control the clock.
+ */
+final class StripedTokenBuckets {
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final double capacity;
+    private final long nanosPerToken;
+
+    /**
+     * Constructor to size the stripes and the buckets.
+     *
+     * @param stripeCount The number of stripes, rounded up to a power of two.
+     * @param maxKeys The maximum number of buckets held across all stripes.
+     * @param capacity The number of tokens a full bucket holds, i.e. the largest burst.
+     * @param nanosPerToken How long the bucket takes to regain one token.
+     */
+    StripedTokenBuckets(int stripeCount, int maxKeys, int capacity, long nanosPerToken) {
+        int size = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new Stripe[size];
+        this.mask = size - 1;
+        this.capacity = Math.max(1, capacity);
+        this.nanosPerToken = Math.max(1, nanosPerToken);
+        int keysPerStripe = Math.max(1, maxKeys / size);
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe(keysPerStripe);
+        }
+    }
+
+    /**
+     * Takes one token from a key's bucket if one is available.
+     *
+     * @param key The key being limited.
+     * @param now The current time in nanoseconds.
+     * @return 0 if a token was taken, otherwise the nanoseconds until one will be available.
+     */
+    long tryAcquire(String key, long now) {
+        Stripe stripe = stripeFor(key);
+        stripe.lock();
+        try {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(capacity, now);
+                stripe.buckets.put(key, bucket);
+            } else {
+                bucket.refill(now, capacity, nanosPerToken);
+            }
+
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - bucket.tokens) * nanosPerToken);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * Drops every bucket that has refilled completely, one stripe at a time.
+     *
+     * @param now The current time in nanoseconds.
+     * @return The number of buckets dropped.
+     */
+    int sweep(long now) {
+        int removed = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock();
+            try {
+                int before = stripe.buckets.size();
+                stripe.buckets.values().removeIf(bucket -> bucket.isFull(now, capacity, nanosPerToken));
+                removed += before - stripe.buckets.size();
+            } finally {
+                stripe.unlock();
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Counts the buckets currently held, without locking; the result is approximate under concurrent use.
+     */
+    long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.buckets.size();
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    /**
+     * A lock and the buckets of the keys that hash to it, in least recently used order.
+     */
+    private static final class Stripe extends ReentrantLock {
+
+        private final Map<String, Bucket> buckets;
+
+        Stripe(int maxKeys) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > maxKeys;
+                }
+            };
+        }
+    }
+
+    /**
+     * The tokens left in one key's bucket as of its last update.
+     */
+    private static final class Bucket {
+
+        private double tokens;
+        private long updatedAt;
+
+        Bucket(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+
+        void refill(long now, double capacity, long nanosPerToken) {
+            long elapsed = now - updatedAt;
+            if (elapsed > 0) {
+                tokens = Math.min(capacity, tokens + (double) elapsed / nanosPerToken);
+                updatedAt = now;
+            }
+        }
+
+        boolean isFull(long now, double capacity, long nanosPerToken) {
+            return now - updatedAt >= (capacity - tokens) * nanosPerToken;
+        }
+    }
+}
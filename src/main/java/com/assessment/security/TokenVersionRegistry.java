@@ -0,0 +1,121 @@
+package com.assessment.security;
+
+import com.assessment.model.User;
+import com.assessment.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token Version Registry
+ * Holds the minimum valid token version of every user whose tokens have been revoked,
+ * so that stateless mode can reject old tokens without a database lookup per request.
+ *
+ * - Only users with a raised version are stored; everyone else implicitly has version 0.
+ * - Refreshed incrementally from the users collection, reading only records whose
+ *   version changed since the previous refresh (with a small overlap for clock skew).
+ * - Only active when auth.mode is "stateless".
+ */
+@Component
+@ConditionalOnProperty(name = "auth.mode", havingValue = "stateless")
+public class TokenVersionRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenVersionRegistry.class);
+    private static final Duration REFRESH_OVERLAP = Duration.ofSeconds(30);
+
+    private final UserRepository userRepository;
+    private final Map<String, Long> minimumVersions = new ConcurrentHashMap<>();
+    private volatile Instant lastRefresh = Instant.EPOCH;
+
+    /**
+     * Constructor to inject UserRepository dependency.
+     *
+     * @param userRepository The repository used to read token version changes.
+     */
+    public TokenVersionRegistry(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Checks whether a token version is still accepted for a user.
+     *
+     * @param userId The user id carried in the token.
+     * @param tokenVersion The token version carried in the token.
+     * @return true if the token has not been revoked, false otherwise.
+     */
+    public boolean isCurrent(String userId, long tokenVersion) {
+        return tokenVersion >= minimumVersions.getOrDefault(userId, 0L);
+    }
+
+    /**
+     * Checks whether a token carries the claims needed for stateless authentication.
+     * Tokens issued before those claims existed must fall back to loading the user.
+     *
+     * @param claims The verified token claims.
+     * @return true if the user id and token version claims are present.
+     */
+    public static boolean supports(Claims claims) {
+        return claims.get(JwtUtil.USER_ID_CLAIM) != null && claims.get(JwtUtil.TOKEN_VERSION_CLAIM) instanceof Number;
+    }
+
+    /**
+     * Builds the authentication from the token's claims without any database access.
+     *
+     * @param claims The verified token claims; must satisfy {@link #supports(Claims)}.
+     * @return The authentication for the user, or null if the token version has been revoked.
+     */
+    public UsernamePasswordAuthenticationToken authenticate(Claims claims) {
+        String userId = claims.get(JwtUtil.USER_ID_CLAIM, String.class);
+        long tokenVersion = claims.get(JwtUtil.TOKEN_VERSION_CLAIM, Number.class).longValue();
+
+        if (!isCurrent(userId, tokenVersion)) {
+            return null; // Token was issued before the user's tokens were revoked
+        }
+
+        String role = claims.get(JwtUtil.ROLE_CLAIM, String.class);
+        List<SimpleGrantedAuthority> authorities = role == null
+            ? List.of()
+            : List.of(new SimpleGrantedAuthority("ROLE_" + role));
+
+        return new UsernamePasswordAuthenticationToken(claims.getSubject(), null, authorities);
+    }
+
+    /**
+     * Records a version change made on this node so it applies before the next refresh.
+     *
+     * @param userId The user whose tokens were revoked.
+     * @param tokenVersion The new minimum token version.
+     */
+    public void record(String userId, long tokenVersion) {
+        minimumVersions.merge(userId, tokenVersion, Math::max);
+    }
+
+    /**
+     * Loads token version changes made since the previous refresh, including those from other nodes.
+     */
+    @Scheduled(fixedDelayString = "${auth.tokenVersionRefreshMs:5000}")
+    public void refresh() {
+        Instant startedAt = Instant.now();
+        Instant since = lastRefresh.equals(Instant.EPOCH) ? Instant.EPOCH : lastRefresh.minus(REFRESH_OVERLAP);
+
+        try {
+            for (User user : userRepository.findTokenVersionsChangedSince(since)) {
+                record(user.getId(), user.getTokenVersion());
+            }
+            lastRefresh = startedAt;
+        } catch (RuntimeException e) {
+            log.warn("Token version refresh failed, keeping previous versions", e);
+        }
+    }
+}
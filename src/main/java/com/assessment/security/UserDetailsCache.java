@@ -0,0 +1,103 @@
+package com.assessment.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * User Details Cache
+ * Keeps recently loaded UserDetails in memory so that authenticated requests do not
+ * query MongoDB for the same user on every call.
+ *
+ * - Entries expire after auth.userCache.ttlMs and the cache holds at most auth.userCache.maxSize users.
+ * - Writers must call {@link #evict(String)} after changing a user so the next request reloads it.
+ * - Hit, miss and eviction counts are recorded, available through {@link #stats()} and published as cache.* metrics.
+ */
+@Component
+public class UserDetailsCache implements MeterBinder {
+
+    private final Cache<String, UserDetails> cache;
+
+    /**
+     * Constructor to build the cache with the configured expiry and size bound.
+     *
+     * @param ttlMs How long a loaded user stays cached, in milliseconds.
+     * @param maxSize The maximum number of users to keep.
+     */
+    public UserDetailsCache(@Value("${auth.userCache.ttlMs:300000}") long ttlMs,
+                            @Value("${auth.userCache.maxSize:100000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached user for an email, loading it on a miss.
+     *
+     * - A copy is returned so that credential erasure by the caller never alters the cached entry.
+     *
+     * @param email The email address of the user.
+     * @param loader The function used to load users that are not cached.
+     * @return The user details.
+     */
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        return User.withUserDetails(cache.get(email, loader)).build();
+    }
+
+    /**
+     * Returns the cached user for an email without loading it, for callers that load users asynchronously.
+     *
+     * @param email The email address of the user.
+     * @return A copy of the cached user details, or null if the user is not cached.
+     */
+    public UserDetails getIfPresent(String email) {
+        UserDetails cached = cache.getIfPresent(email);
+        return cached == null ? null : User.withUserDetails(cached).build();
+    }
+
+    /**
+     * Stores a user loaded outside {@link #get(String, Function)}.
+     *
+     * @param email The email address of the user.
+     * @param userDetails The loaded user details.
+     */
+    public void put(String email, UserDetails userDetails) {
+        cache.put(email, User.withUserDetails(userDetails).build());
+    }
+
+    /**
+     * Removes a single user so that the next lookup reloads it from the database.
+     *
+     * @param email The email address of the user that changed.
+     */
+    public void evict(String email) {
+        if (email != null) {
+            cache.invalidate(email);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the hit, miss and eviction counters.
+     *
+     * @return The cache statistics.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "userDetails");
+    }
+}
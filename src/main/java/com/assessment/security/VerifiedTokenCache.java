@@ -0,0 +1,119 @@
+package com.assessment.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Verified Token Cache
+ * Remembers tokens whose signature has already been checked so that repeat requests
+ * with the same token skip HMAC verification and parsing.
+ *
+ * - Keys are SHA-256 digests of the token, so raw tokens are never held in memory.
+ * - Each entry expires at the token's own "exp" claim.
+ * - The number of entries is bounded by jwt.cacheMaxSize.
+ * - Hit and miss counts are published as cache.* metrics.
+ */
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final Cache<String, Claims> cache;
+
+    /**
+     * Constructor to build the cache with the configured size bound.
+     *
+     * @param maxSize The maximum number of verified tokens to keep.
+     */
+    public VerifiedTokenCache(@Value("${jwt.cacheMaxSize:100000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ExpireAtTokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the claims for a token, verifying it only if it is not already cached.
+     *
+     * @param token The JWT token.
+     * @param verifier The function used to verify tokens that are not cached.
+     * @return An Optional containing the verified claims, or empty if the token is invalid.
+     */
+    public Optional<Claims> verify(String token, Function<String, Optional<Claims>> verifier) {
+        String key = digest(token);
+        Claims claims = cache.getIfPresent(key);
+
+        if (claims != null) {
+            return Optional.of(claims);
+        }
+
+        Optional<Claims> verified = verifier.apply(token);
+        verified.ifPresent(value -> cache.put(key, value)); // Only valid tokens are cached
+        return verified;
+    }
+
+    /**
+     * Removes every cached token.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "verifiedTokens");
+    }
+
+    private static String digest(String token) {
+        MessageDigest sha256 = SHA_256.get();
+        return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    /**
+     * Expires each entry at the "exp" claim of the token it belongs to.
+     */
+    private static final class ExpireAtTokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0; // Tokens without an expiry are never cached
+            }
+            long remainingMs = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.assessment.service;
+
+import com.assessment.model.AuditEvent;
+import com.assessment.repository.AuditEventStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit Log
+ * Takes audit events from request threads without touching the database and writes them in batches
+ * from a single background thread. Disabled with audit.enabled=false.
+ *
+ * - Events go into a lock-free ring buffer of audit.bufferSize slots. A request thread only claims a slot.
+ * - The writer stores up to audit.batchSize events per insert, and waits at most audit.flushMs for a batch to fill.
+ * - When the buffer is full, audit.whenFull=drop discards the event at once; audit.whenFull=block lets the request
+ *   thread wait up to audit.blockMaxMs for space before discarding it. A request is never failed by auditing.
+ * - A batch that still fails after three attempts is discarded and counted.
+ * - On shutdown the writer stores what is left in the buffer before it stops.
+ * - Publishes audit.events.queued (events waiting), audit.write.lag (age of the oldest event in each written batch),
+ *   audit.events.written and audit.events.dropped (tagged full or write_failed).
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "audit.enabled", havingValue = "true", matchIfMissing = true)
+public class AuditLog implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+    private static final int WRITE_ATTEMPTS = 3;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5); // Adds at most this to the write lag
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final AuditEventStore store;
+    private final AuditRingBuffer<AuditEvent> buffer;
+    private final int batchSize;
+    private final long flushNanos;
+    private final boolean blockWhenFull;
+    private final long blockMaxNanos;
+    private final long retryMs;
+    private final Thread writer;
+    private final Counter written;
+    private final Counter droppedFull;
+    private final Counter droppedWriteFailed;
+    private final Timer lag;
+    private volatile boolean running = true;
+
+    /**
+     * Constructor to create the buffer, start the writer thread and register the metrics.
+     *
+     * @param store Where the events are written.
+     * @param bufferSize The number of events that may wait to be written (rounded up to a power of two).
+     * @param batchSize The largest number of events written in one insert.
+     * @param flushMs How long the writer waits for a batch to fill before writing it, in milliseconds.
+     * @param whenFull "drop" or "block": what recording does when the buffer is full.
+     * @param blockMaxMs How long recording may wait for space with whenFull=block, in milliseconds.
+     * @param retryMs How long to wait before retrying a failed write, in milliseconds.
+     * @param meterRegistry The registry the audit metrics are published to.
+     */
+    public AuditLog(AuditEventStore store,
+                    @Value("${audit.bufferSize:65536}") int bufferSize,
+                    @Value("${audit.batchSize:500}") int batchSize,
+                    @Value("${audit.flushMs:200}") long flushMs,
+                    @Value("${audit.whenFull:drop}") String whenFull,
+                    @Value("${audit.blockMaxMs:5}") long blockMaxMs,
+                    @Value("${audit.retryMs:1000}") long retryMs,
+                    MeterRegistry meterRegistry) {
+        this.store = store;
+        this.buffer = new AuditRingBuffer<>(bufferSize);
+        this.batchSize = batchSize;
+        this.flushNanos = TimeUnit.MILLISECONDS.toNanos(flushMs);
+        this.blockWhenFull = "block".equalsIgnoreCase(whenFull);
+        this.blockMaxNanos = TimeUnit.MILLISECONDS.toNanos(blockMaxMs);
+        this.retryMs = retryMs;
+
+        Gauge.builder("audit.events.queued", buffer, AuditRingBuffer::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+        this.lag = Timer.builder("audit.write.lag")
+                .description("Time from the oldest event of a batch being recorded to the batch being written")
+                .register(meterRegistry);
+        this.written = Counter.builder("audit.events.written")
+                .description("Audit events written to the store")
+                .register(meterRegistry);
+        this.droppedFull = dropped(meterRegistry, "full");
+        this.droppedWriteFailed = dropped(meterRegistry, "write_failed");
+
+        this.writer = new Thread(this::run, "audit-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    private static Counter dropped(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("audit.events.dropped")
+                .description("Audit events discarded")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues an event for writing.
+     *
+     * - Never throws and never waits on the database; see the class comment for what happens when the buffer is full.
+     *
+     * @param event The event to record.
+     */
+    public void record(AuditEvent event) {
+        if (buffer.offer(event)) {
+            return;
+        }
+        if (blockWhenFull && running) {
+            long deadline = System.nanoTime() + blockMaxNanos;
+            while (System.nanoTime() < deadline) {
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                if (buffer.offer(event)) {
+                    return;
+                }
+            }
+        }
+        droppedFull.increment();
+    }
+
+    /**
+     * Stops accepting waits for space, writes the events still in the buffer and stops the writer.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private void run() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        long batchStartedAt = 0;
+        while (running || buffer.size() > 0 || !batch.isEmpty()) {
+            int taken = buffer.drain(batch::add, batchSize - batch.size());
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            if (batchStartedAt == 0) {
+                batchStartedAt = System.nanoTime();
+            }
+            if (batch.size() >= batchSize || System.nanoTime() - batchStartedAt >= flushNanos || !running) {
+                write(batch);
+                batch.clear();
+                batchStartedAt = 0;
+            } else if (taken == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private void write(List<AuditEvent> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                store.insertAll(batch);
+                written.increment(batch.size());
+                lag.record(Duration.between(batch.get(0).getAt(), Instant.now()));
+                return;
+            } catch (RuntimeException e) {
+                if (attempt == WRITE_ATTEMPTS || !running) {
+                    log.warn("Discarding {} audit events after {} failed writes", batch.size(), attempt, e);
+                    droppedWriteFailed.increment(batch.size());
+                    return;
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(retryMs));
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.assessment.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * A bounded, lock-free queue for many producers and a single consumer.
+ *
+ * - Each slot carries a sequence number: a producer claims position p with a CAS on the tail once the slot's
+ *   sequence equals p, writes the element and publishes it by setting the sequence to p + 1. The consumer takes
+ *   the element once it sees p + 1 and frees the slot for the next lap by setting it to p + capacity.
+ * - Offering never waits: a full buffer is reported to the caller, who decides whether to drop or retry.
+ * - Only one thread may call {@link #drain}.
+ */
+final class AuditRingBuffer<E> {
+
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong(); // Next position a producer claims
+    private volatile long head; // Next position the consumer takes; written by the consumer only
+
+    /**
+     * Creates a buffer holding at least the given number of elements, rounded up to a power of two.
+     */
+    AuditRingBuffer(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        elements = new Object[size];
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * Adds an element unless the buffer is full.
+     *
+     * @return false if the buffer is full.
+     */
+    boolean offer(E element) {
+        long position;
+        int slot;
+        while (true) {
+            position = tail.get();
+            slot = (int) position & mask;
+            long free = sequences.get(slot) - position;
+            if (free == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (free < 0) {
+                return false; // The consumer has not taken the element from the previous lap yet
+            }
+            // Otherwise another producer claimed this position first; read the tail again
+        }
+        elements[slot] = element;
+        sequences.set(slot, position + 1); // Publishes the element written above
+        return true;
+    }
+
+    /**
+     * Hands up to max published elements to the sink, in the order their positions were claimed.
+     *
+     * @return The number of elements taken.
+     */
+    @SuppressWarnings("unchecked")
+    int drain(Consumer<? super E> sink, int max) {
+        long position = head;
+        int taken = 0;
+        while (taken < max) {
+            int slot = (int) position & mask;
+            if (sequences.get(slot) != position + 1) {
+                break; // Not claimed yet, or claimed but still being written
+            }
+            E element = (E) elements[slot];
+            elements[slot] = null;
+            sequences.set(slot, position + elements.length);
+            head = ++position;
+            taken++;
+            sink.accept(element);
+        }
+        return taken;
+    }
+
+    /**
+     * Returns the number of claimed positions not yet taken by the consumer.
+     */
+    long size() {
+        return Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return elements.length;
+    }
+}
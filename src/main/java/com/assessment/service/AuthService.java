@@ -1,101 +1,257 @@
 package com.assessment.service;
 
+import com.assessment.model.ApiResponse;
+import com.assessment.model.AuditEvent;
+import com.assessment.model.AuthResponse;
 import com.assessment.model.User;
 import com.assessment.repository.UserRepository;
-import com.assessment.security.JwtUtil;
+import com.assessment.security.PasswordHasher;
+import com.assessment.security.SigninRateLimiter;
+import com.assessment.security.TokenVersionRegistry;
+import com.assessment.security.UserDetailsCache;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
-import java.util.Map;
-import java.util.Optional;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Authentication Service
- * Handles user registration, authentication (login), and user retrieval by ID.
+ * Handles user registration, authentication (login), token refresh and revocation, and user retrieval by ID.
+ *
+ * - Signup and login start a refresh-token session and return a short-lived access token with a refresh token.
+ * - Only BCrypt runs on the PasswordHasher pool. The database writes that follow it run on Spring's task executor,
+ *   so MongoDB latency never holds a hashing thread.
  */
 @Service
 @RequiredArgsConstructor
+@Profile("!reactive")
 public class AuthService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
     
     private final UserRepository userRepository;
-    private final JwtUtil jwtUtil;
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final UserDetailsCache userDetailsCache;
+    private final ObjectProvider<TokenVersionRegistry> tokenVersionRegistry;
+    private final PasswordHasher passwordHasher;
+    private final RefreshTokenService refreshTokenService;
+    private final SigninRateLimiter signinRateLimiter;
+    private final ObjectProvider<MailDispatcher> mailDispatcher;
+    private final ObjectProvider<AuditLog> auditLog;
+
+    @Value("${auth.passwordPool.retryAfterSeconds:1}")
+    private int retryAfterSeconds; // Retry-After sent when the hashing queue is full
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private Executor ioExecutor; // Runs the work after hashing; the same executor async MVC requests use
 
     /**
      * Registers a new user in the system.
      * 
-     * - Checks if the email is already registered.
-     * - Hashes the password before storing it.
-     * - Generates a JWT token upon successful registration.
+     * - Hashes the password on the PasswordHasher pool before storing it.
+     * - Inserts the user in a single round trip; the unique email index rejects duplicates,
+     *   including concurrent signups for the same email.
+     * - Returns an access token and a refresh token upon successful registration.
+     * - Queues a welcome mail when mail.outbox.enabled=true; it is sent in the background (see MailDispatcher).
+     * - Responds 503 with Retry-After when the hashing pool is saturated.
      *
      * @param user The user details for registration.
-     * @return ResponseEntity with success or error message.
+     * @return A future completed with a ResponseEntity holding a success or error message.
      */
-    public ResponseEntity<?> registerUser(User user) {
-        Optional<User> existingUser = userRepository.findByEmail(user.getEmail());
-        
-        if (existingUser.isPresent()) {
-            return ResponseEntity.badRequest().body(Map.of(
-                "status", "error",
-                "message", "Email already exists"
-            ));
+    public CompletableFuture<ResponseEntity<?>> registerUser(User user) {
+        CompletableFuture<String> hash;
+        try {
+            hash = passwordHasher.encode(user.getPassword());
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(serviceUnavailable());
         }
 
-        user.setPassword(passwordEncoder.encode(user.getPassword())); // Encrypt password before saving
-        userRepository.save(user);
+        return hash.thenApplyAsync(encodedPassword -> {
+            user.setPassword(encodedPassword); // Encrypt password before saving
+            user.setLastModified(Instant.now());
+
+            try {
+                userRepository.insert(user);
+            } catch (DuplicateKeyException e) {
+                return ResponseEntity.badRequest().body(ApiResponse.error("Email already exists"));
+            }
 
-        String token = jwtUtil.generateToken(user.getEmail());
+            mailDispatcher.ifAvailable(dispatcher -> dispatcher.enqueueWelcome(user));
+            TokenPair tokens = refreshTokenService.startSession(user);
 
-        // Construct success response
-        return ResponseEntity.ok(Map.of(
-            "status", "success",
-            "message", "User registered successfully",
-            "token", token,
-            "userId", user.getId(),
-            "email", user.getEmail()
-        ));
+            // Construct success response
+            return ResponseEntity.ok(AuthResponse.success("User registered successfully",
+                tokens.accessToken(), tokens.refreshToken(), user.getId(), user.getEmail()));
+        }, ioExecutor);
     }
 
     /**
      * Authenticates a user based on email and password.
      * 
+     * - Responds 429 with Retry-After, before any database or BCrypt work, when the client address or the email
+     *   has used up its signin attempts (see SigninRateLimiter).
      * - Checks if the user exists.
-     * - Validates password using BCrypt.
-     * - Generates a JWT token upon successful login.
+     * - Validates password using BCrypt on the PasswordHasher pool.
+     * - Returns an access token and a refresh token upon successful login.
+     * - Rehashes the password in the background if it was stored with a lower BCrypt cost than auth.bcrypt.rehashStrength.
+     * - Responds 503 with Retry-After when the hashing pool is saturated.
+     * - Records the outcome in the AuditLog, off the request path.
      *
      * @param email The user's email.
      * @param password The user's password.
+     * @param clientAddress The IP address the request came from.
+     * @return A future completed with a ResponseEntity holding a success or error message.
+     */
+    public CompletableFuture<ResponseEntity<?>> login(String email, String password, String clientAddress) {
+        long retryAfter = signinRateLimiter.acquire(email, clientAddress);
+        if (retryAfter > 0) {
+            audit(AuditEvent.signinFailed(null, email, clientAddress, "rate_limited"));
+            return CompletableFuture.completedFuture(rateLimited(retryAfter));
+        }
+
+        User user = userRepository.findCredentialsByEmail(email).orElse(null);
+
+        if (user == null) {
+            audit(AuditEvent.signinFailed(null, email, clientAddress, "not_found"));
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error("User not found")));
+        }
+
+        CompletableFuture<Boolean> matches;
+        try {
+            matches = passwordHasher.matches(password, user.getPassword());
+        } catch (RejectedExecutionException e) {
+            audit(AuditEvent.signinFailed(user.getId(), email, clientAddress, "busy"));
+            return CompletableFuture.completedFuture(serviceUnavailable());
+        }
+
+        return matches.thenApplyAsync(matched -> {
+            if (!matched) {
+                audit(AuditEvent.signinFailed(user.getId(), email, clientAddress, "bad_credentials"));
+                return ResponseEntity.badRequest().body(ApiResponse.error("Invalid credentials"));
+            }
+
+            if (passwordHasher.needsRehash(user.getPassword())) {
+                upgradePasswordHash(user, password);
+            }
+
+            TokenPair tokens = refreshTokenService.startSession(user);
+            audit(AuditEvent.signinSucceeded(user.getId(), email, clientAddress));
+
+            // Construct success response
+            return ResponseEntity.ok(AuthResponse.success("User logged in successfully",
+                tokens.accessToken(), tokens.refreshToken(), user.getId(), user.getEmail()));
+        }, ioExecutor);
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and refresh token.
+     * 
+     * - The presented refresh token is used up; presenting it again revokes its whole session.
+     *
+     * @param refreshToken The refresh token returned by signup, login or a previous refresh.
+     * @return ResponseEntity with the new tokens, or 401 if the refresh token cannot be used.
+     */
+    public ResponseEntity<?> refresh(String refreshToken) {
+        return refreshTokenService.refresh(refreshToken)
+            .<ResponseEntity<?>>map(tokens -> ResponseEntity.ok(AuthResponse.success("Token refreshed successfully",
+                tokens.accessToken(), tokens.refreshToken(), null, null)))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ApiResponse.error("Invalid refresh token")));
+    }
+
+    /**
+     * Revokes every token issued to a user so far.
+     * 
+     * - Revokes the user's refresh-token sessions, which also rejects their access tokens.
+     * - Atomically raises the user's token version; tokens carrying an older version are rejected in stateless mode.
+     *   The user's profile version, and so its ETag, is unchanged.
+     * - Evicts the cached user and updates this node's TokenVersionRegistry immediately.
+     *
+     * @param id The unique ID of the user.
      * @return ResponseEntity with success or error message.
      */
-    public ResponseEntity<?> login(String email, String password) {
-        User user = userRepository.findByEmail(email).orElse(null);
+    public ResponseEntity<?> revokeTokens(String id) {
+        User user = userRepository.incrementTokenVersion(id).orElse(null);
 
         if (user == null) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
-                "status", "error",
-                "message", "User not found"
-            ));
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error("User not found"));
         }
 
-        if (!passwordEncoder.matches(password, user.getPassword())) {
-            return ResponseEntity.badRequest().body(Map.of(
-                "status", "error",
-                "message", "Invalid credentials"
-            ));
+        refreshTokenService.revokeUserSessions(user.getId());
+        userDetailsCache.evict(user.getEmail());
+        tokenVersionRegistry.ifAvailable(registry -> registry.record(user.getId(), user.getTokenVersion()));
+
+        return ResponseEntity.ok(AuthResponse.success("User tokens revoked successfully", null, null, user.getId(), null));
+    }
+
+    /**
+     * Replaces a user's password hash with one at the current BCrypt cost, off the request path.
+     * 
+     * - Best effort: if the hashing pool is busy or the update fails, the next login tries again.
+     * - The update only applies if the stored hash has not changed in the meantime.
+     *
+     * @param user The user who just logged in.
+     * @param password The password that was verified.
+     */
+    private void upgradePasswordHash(User user, String password) {
+        String currentHash = user.getPassword();
+        try {
+            passwordHasher.encode(password)
+                .thenAcceptAsync(newHash -> {
+                    if (userRepository.updatePasswordHash(user.getId(), currentHash, newHash) > 0) {
+                        userDetailsCache.evict(user.getEmail());
+                    }
+                }, ioExecutor)
+                .exceptionally(e -> {
+                    log.warn("Password rehash failed for user {}", user.getId(), e);
+                    return null;
+                });
+        } catch (RejectedExecutionException e) {
+            log.debug("Hashing pool busy, skipping password rehash for user {}", user.getId());
         }
+    }
+
+    /**
+     * Hands an event to the AuditLog, if auditing is enabled.
+     */
+    private void audit(AuditEvent event) {
+        auditLog.ifAvailable(events -> events.record(event));
+    }
 
-        String token = jwtUtil.generateToken(email);
+    /**
+     * Builds the response returned when the password hashing queue is full.
+     *
+     * @return A 503 response with a Retry-After header.
+     */
+    private ResponseEntity<?> serviceUnavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+            .body(ApiResponse.error("Too many authentication requests, please retry later"));
+    }
 
-        // Construct success response
-        return ResponseEntity.ok(Map.of(
-            "status", "success",
-            "message", "User logged in successfully",
-            "token", token,
-            "userId", user.getId(),
-            "email", user.getEmail()
-        ));
+    /**
+     * Builds the response returned when a client or an email has used up its signin attempts.
+     *
+     * @param retryAfter The seconds after which the next attempt will be allowed.
+     * @return A 429 response with a Retry-After header.
+     */
+    private ResponseEntity<?> rateLimited(long retryAfter) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+            .body(ApiResponse.error("Too many signin attempts, please retry later"));
     }
 
     /**
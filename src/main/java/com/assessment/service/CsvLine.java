@@ -0,0 +1,55 @@
+package com.assessment.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV Line Parser
+ * Splits one CSV line into fields, supporting double-quoted fields with embedded commas and escaped ("") quotes.
+ * Fields spanning several lines are not supported.
+ */
+final class CsvLine {
+
+    private CsvLine() {
+    }
+
+    /**
+     * Parses a single CSV line.
+     *
+     * @param line The line without its line terminator.
+     * @return The field values in order.
+     * @throws IllegalArgumentException if a quoted field is not closed.
+     */
+    static List<String> parse(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
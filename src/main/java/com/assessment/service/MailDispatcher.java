@@ -0,0 +1,299 @@
+package com.assessment.service;
+
+import com.assessment.model.MailJob;
+import com.assessment.model.User;
+import com.assessment.repository.MailOutbox;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mail Dispatcher
+ * Queues mails in the {@link MailOutbox} on the request path and sends them in the background,
+ * so a slow or unavailable mail server never delays signup. Enabled with mail.outbox.enabled=true
+ * (spring.mail.host must point at an SMTP server).
+ *
+ * - mail.outbox.senders threads each claim up to mail.outbox.batchSize due jobs and send them over a single
+ *   SMTP connection, which is opened once per batch rather than once per mail.
+ * - Sent jobs are deleted. A failed job is retried after an exponential backoff with jitter, starting at
+ *   mail.outbox.backoffMs and capped at mail.outbox.maxBackoffMs; after mail.outbox.maxAttempts failures,
+ *   or at once if the server rejects the recipient, it is kept as DEAD.
+ * - Jobs held by a dispatcher that stopped mid-batch are sent again once their lease (mail.outbox.leaseMs) runs out,
+ *   so a mail can be delivered twice but is not lost.
+ * - Publishes mail.sent, mail.retried and mail.dead.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "mail.outbox.enabled", havingValue = "true")
+public class MailDispatcher implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(MailDispatcher.class);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final MailOutbox outbox;
+    private final JavaMailSender mailSender;
+    private final String from;
+    private final String welcomeSubject;
+    private final int senders;
+    private final int batchSize;
+    private final long pollMs;
+    private final long leaseMs;
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final long maxBackoffMs;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter dead;
+    private ScheduledExecutorService executor;
+
+    /**
+     * Constructor to inject the outbox, the mail sender and the dispatch settings.
+     *
+     * @param outbox Where mails wait until they are sent.
+     * @param mailSender The SMTP client.
+     * @param from The sender address of every mail.
+     * @param welcomeSubject The subject of the welcome mail.
+     * @param senders The number of dispatcher threads, and so of SMTP connections open at once.
+     * @param batchSize The number of mails claimed and sent over one connection.
+     * @param pollMs How often each dispatcher thread looks for due mails, in milliseconds.
+     * @param leaseMs How long a claimed mail is held before another dispatcher may claim it, in milliseconds.
+     * @param maxAttempts The number of failed attempts after which a mail is dead.
+     * @param backoffMs The delay before the first retry, in milliseconds.
+     * @param maxBackoffMs The longest delay between retries, in milliseconds.
+     * @param meterRegistry The registry the dispatch metrics are published to.
+     */
+    public MailDispatcher(MailOutbox outbox,
+                          JavaMailSender mailSender,
+                          @Value("${mail.outbox.from}") String from,
+                          @Value("${mail.welcome.subject:Welcome}") String welcomeSubject,
+                          @Value("${mail.outbox.senders:2}") int senders,
+                          @Value("${mail.outbox.batchSize:50}") int batchSize,
+                          @Value("${mail.outbox.pollMs:1000}") long pollMs,
+                          @Value("${mail.outbox.leaseMs:600000}") long leaseMs,
+                          @Value("${mail.outbox.maxAttempts:8}") int maxAttempts,
+                          @Value("${mail.outbox.backoffMs:30000}") long backoffMs,
+                          @Value("${mail.outbox.maxBackoffMs:3600000}") long maxBackoffMs,
+                          MeterRegistry meterRegistry) {
+        this.outbox = outbox;
+        this.mailSender = mailSender;
+        this.from = from;
+        this.welcomeSubject = welcomeSubject;
+        this.senders = senders;
+        this.batchSize = batchSize;
+        this.pollMs = pollMs;
+        this.leaseMs = leaseMs;
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.sent = Counter.builder("mail.sent")
+                .description("Mails accepted by the SMTP server")
+                .register(meterRegistry);
+        this.retried = Counter.builder("mail.retried")
+                .description("Failed mail attempts scheduled for a retry")
+                .register(meterRegistry);
+        this.dead = Counter.builder("mail.dead")
+                .description("Mails given up on and kept in the outbox as DEAD")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues the welcome mail for a user who just signed up.
+     *
+     * - Only writes to the outbox; the mail is sent by a dispatcher thread.
+     * - Best effort: signup has already succeeded, so a failed write is logged rather than thrown.
+     *
+     * @param user The new user, with its ID assigned.
+     */
+    public void enqueueWelcome(User user) {
+        try {
+            outbox.enqueue(MailJob.welcome(user, Instant.now()));
+        } catch (DataAccessException e) {
+            log.warn("Could not queue the welcome mail for user {}", user.getId(), e);
+        }
+    }
+
+    /**
+     * Starts the dispatcher threads once the application is ready (and the outbox indexes exist).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newScheduledThreadPool(senders, runnable -> {
+            Thread thread = new Thread(runnable, "mail-dispatcher-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < senders; i++) {
+            executor.scheduleWithFixedDelay(this::drain, pollMs * i / senders, pollMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the dispatcher threads; mails they had claimed are sent again after their lease.
+     */
+    @Override
+    public synchronized void destroy() throws InterruptedException {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+            executor = null;
+        }
+    }
+
+    /**
+     * Sends batches until fewer than a full batch was due.
+     */
+    private void drain() {
+        try {
+            while (!Thread.currentThread().isInterrupted() && dispatchDue(Instant.now()) == batchSize) {
+                // The outbox is backed up; go straight on to the next batch
+            }
+        } catch (RuntimeException e) {
+            log.warn("Mail dispatch failed, retrying in {} ms", pollMs, e);
+        }
+    }
+
+    /**
+     * Claims one batch of due mails and sends it over one SMTP connection.
+     *
+     * @param now The current time.
+     * @return The number of mails claimed.
+     */
+    int dispatchDue(Instant now) {
+        String claimId = UUID.randomUUID().toString();
+        List<MailJob> jobs = outbox.claimDue(claimId, now, now.plusMillis(leaseMs), batchSize);
+        if (jobs.isEmpty()) {
+            return 0;
+        }
+
+        Map<MimeMessage, MailJob> messages = new LinkedHashMap<>();
+        for (MailJob job : jobs) {
+            try {
+                messages.put(render(job), job);
+            } catch (MessagingException e) {
+                fail(claimId, job, now, e, true); // A malformed address or unknown template will not improve
+            }
+        }
+        if (messages.isEmpty()) {
+            return jobs.size();
+        }
+
+        Map<Object, Exception> failures = send(messages);
+        List<String> sentIds = new ArrayList<>();
+        messages.forEach((message, job) -> {
+            Exception failure = failures.get(message);
+            if (failure == null) {
+                sentIds.add(job.getId());
+            } else {
+                fail(claimId, job, now, failure, isRejected(failure));
+            }
+        });
+        if (!sentIds.isEmpty()) {
+            outbox.delete(claimId, sentIds);
+            sent.increment(sentIds.size());
+        }
+        return jobs.size();
+    }
+
+    /**
+     * Sends the messages over one connection and returns the ones that failed, with their failures.
+     */
+    private Map<Object, Exception> send(Map<MimeMessage, MailJob> messages) {
+        try {
+            mailSender.send(messages.keySet().toArray(MimeMessage[]::new));
+            return Map.of();
+        } catch (MailSendException e) {
+            return e.getFailedMessages().isEmpty() ? allFailed(messages, e) : e.getFailedMessages();
+        } catch (MailException e) {
+            return allFailed(messages, e); // Authentication or preparation failed before anything was sent
+        }
+    }
+
+    private MimeMessage render(MailJob job) throws MessagingException {
+        if (!MailJob.WELCOME.equals(job.getTemplate())) {
+            throw new MessagingException("Unknown mail template " + job.getTemplate());
+        }
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        helper.setFrom(from);
+        helper.setTo(job.getTo());
+        helper.setSubject(welcomeSubject);
+        helper.setText("Hi " + (job.getFirstName() == null ? "there" : job.getFirstName()) + ",\n\n"
+                + "Your account " + job.getTo() + " is ready. Welcome aboard!\n");
+        return message;
+    }
+
+    /**
+     * Schedules a failed mail for a retry, or marks it dead if it is out of attempts or cannot succeed.
+     */
+    private void fail(String claimId, MailJob job, Instant now, Exception failure, boolean permanent) {
+        int attempts = job.getAttempts() + 1;
+        String error = truncate(String.valueOf(failure.getMessage()));
+        if (permanent || attempts >= maxAttempts) {
+            log.warn("Giving up on {} mail {} to user {} after {} attempts: {}",
+                    job.getTemplate(), job.getId(), job.getUserId(), attempts, error);
+            outbox.markDead(claimId, job.getId(), attempts, error);
+            dead.increment();
+        } else {
+            outbox.retry(claimId, job.getId(), attempts, now.plusMillis(backoff(attempts)), error);
+            retried.increment();
+        }
+    }
+
+    /**
+     * Returns the delay before the given attempt: doubling per attempt up to the cap, then randomized down
+     * to half of that, so mails that failed together do not all retry together.
+     */
+    long backoff(int attempts) {
+        long delay = Math.min(maxBackoffMs, backoffMs << Math.min(attempts - 1, 30));
+        return delay - ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    /**
+     * Whether the server refused the recipient outright (a 5xx reply), as opposed to a temporary failure.
+     */
+    private static boolean isRejected(Exception failure) {
+        return failure instanceof SendFailedException rejected
+                && rejected.getInvalidAddresses() != null && rejected.getInvalidAddresses().length > 0;
+    }
+
+    private static Map<Object, Exception> allFailed(Map<MimeMessage, MailJob> messages, Exception e) {
+        Map<Object, Exception> failures = new LinkedHashMap<>();
+        messages.keySet().forEach(message -> failures.put(message, e));
+        return failures;
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,184 @@
+package com.assessment.service;
+
+import com.assessment.model.ApiResponse;
+import com.assessment.model.AuthResponse;
+import com.assessment.model.User;
+import com.assessment.repository.ReactiveUserRepository;
+import com.assessment.security.JwtUtil;
+import com.assessment.security.PasswordHasher;
+import com.assessment.security.SigninRateLimiter;
+import com.assessment.security.TokenVersionRegistry;
+import com.assessment.security.UserDetailsCache;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import java.time.Instant;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Reactive Authentication Service
+ * Non-blocking counterpart of {@link AuthService} for the reactive profile.
+ * Handles user registration, authentication (login) and token revocation with the same responses.
+ *
+ * - Database access goes through ReactiveUserRepository.
+ * - BCrypt runs on the bounded PasswordHasher pool, never on the event loop.
+ * - Issues access tokens only: there are no refresh tokens or revocable sessions on this stack yet, so
+ *   application-reactive.yml keeps jwt.expirationMs at one day instead of the servlet stack's 15 minutes.
+ */
+@Service
+@RequiredArgsConstructor
+@Profile("reactive")
+public class ReactiveAuthService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveAuthService.class);
+
+    private final ReactiveUserRepository userRepository;
+    private final JwtUtil jwtUtil;
+    private final UserDetailsCache userDetailsCache;
+    private final ObjectProvider<TokenVersionRegistry> tokenVersionRegistry;
+    private final PasswordHasher passwordHasher;
+    private final SigninRateLimiter signinRateLimiter;
+
+    @Value("${auth.passwordPool.retryAfterSeconds:1}")
+    private int retryAfterSeconds; // Retry-After sent when the hashing queue is full
+
+    /**
+     * Registers a new user in the system.
+     * 
+     * - Hashes the password on the PasswordHasher pool before storing it.
+     * - Inserts the user; the unique email index rejects duplicates.
+     * - Generates a JWT token upon successful registration.
+     *
+     * @param user The user details for registration.
+     * @return A Mono emitting a ResponseEntity with a success or error message.
+     */
+    public Mono<ResponseEntity<?>> registerUser(User user) {
+        return Mono.fromFuture(() -> passwordHasher.encode(user.getPassword()))
+            .flatMap(encodedPassword -> {
+                user.setPassword(encodedPassword); // Encrypt password before saving
+                user.setLastModified(Instant.now());
+                return userRepository.insert(user);
+            })
+            .<ResponseEntity<?>>map(saved -> ResponseEntity.ok(AuthResponse.success("User registered successfully",
+                jwtUtil.generateToken(saved), null, saved.getId(), saved.getEmail())))
+            .onErrorResume(DuplicateKeyException.class, e -> Mono.just(ResponseEntity.badRequest().body(
+                ApiResponse.error("Email already exists"))))
+            .onErrorResume(RejectedExecutionException.class, e -> Mono.just(serviceUnavailable()));
+    }
+
+    /**
+     * Authenticates a user based on email and password.
+     * 
+     * - Responds 429 with Retry-After, before any database or BCrypt work, when the client address or the email
+     *   has used up its signin attempts (see SigninRateLimiter).
+     * - Checks if the user exists.
+     * - Validates password using BCrypt on the PasswordHasher pool.
+     * - Generates a JWT token upon successful login.
+     * - Rehashes the password in the background if it was stored with a lower BCrypt cost than auth.bcrypt.rehashStrength.
+     *
+     * @param email The user's email.
+     * @param password The user's password.
+     * @param clientAddress The IP address the request came from, or null if it is unknown.
+     * @return A Mono emitting a ResponseEntity with a success or error message.
+     */
+    public Mono<ResponseEntity<?>> login(String email, String password, String clientAddress) {
+        long retryAfter = signinRateLimiter.acquire(email, clientAddress);
+        if (retryAfter > 0) {
+            return Mono.just(rateLimited(retryAfter));
+        }
+
+        return userRepository.findCredentialsByEmail(email)
+            .flatMap(user -> Mono.fromFuture(() -> passwordHasher.matches(password, user.getPassword()))
+                .<ResponseEntity<?>>map(matched -> {
+                    if (!matched) {
+                        return ResponseEntity.badRequest().body(ApiResponse.error("Invalid credentials"));
+                    }
+
+                    if (passwordHasher.needsRehash(user.getPassword())) {
+                        upgradePasswordHash(user, password);
+                    }
+
+                    // Construct success response
+                    return ResponseEntity.ok(AuthResponse.success("User logged in successfully",
+                        jwtUtil.generateToken(user), null, user.getId(), user.getEmail()));
+                }))
+            .switchIfEmpty(Mono.fromSupplier(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(
+                ApiResponse.error("User not found"))))
+            .onErrorResume(RejectedExecutionException.class, e -> Mono.just(serviceUnavailable()));
+    }
+
+    /**
+     * Revokes every token issued to a user so far.
+     *
+     * @param id The unique ID of the user.
+     * @return A Mono emitting a ResponseEntity with a success or error message.
+     */
+    public Mono<ResponseEntity<?>> revokeTokens(String id) {
+        return userRepository.findById(id)
+            .flatMap(user -> {
+                user.setTokenVersion(user.getTokenVersion() + 1);
+                user.setTokenVersionChangedAt(Instant.now());
+                return userRepository.save(user);
+            })
+            .<ResponseEntity<?>>map(user -> {
+                userDetailsCache.evict(user.getEmail());
+                tokenVersionRegistry.ifAvailable(registry -> registry.record(user.getId(), user.getTokenVersion()));
+
+                return ResponseEntity.ok(AuthResponse.success("User tokens revoked successfully",
+                    null, null, user.getId(), null));
+            })
+            .switchIfEmpty(Mono.fromSupplier(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(
+                ApiResponse.error("User not found"))));
+    }
+
+    /**
+     * Replaces a user's password hash with one at the current BCrypt cost, off the request path.
+     *
+     * @param user The user who just logged in.
+     * @param password The password that was verified.
+     */
+    private void upgradePasswordHash(User user, String password) {
+        String currentHash = user.getPassword();
+        Mono.fromFuture(() -> passwordHasher.encode(password))
+            .flatMap(newHash -> userRepository.updatePasswordHash(user.getId(), currentHash, newHash))
+            .subscribe(
+                updated -> {
+                    if (updated > 0) {
+                        userDetailsCache.evict(user.getEmail());
+                    }
+                },
+                e -> log.debug("Password rehash skipped for user {}: {}", user.getId(), e.toString()));
+    }
+
+    /**
+     * Builds the response returned when the password hashing queue is full.
+     *
+     * @return A 503 response with a Retry-After header.
+     */
+    private ResponseEntity<?> serviceUnavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+            .body(ApiResponse.error("Too many authentication requests, please retry later"));
+    }
+
+    /**
+     * Builds the response returned when a client or an email has used up its signin attempts.
+     *
+     * @param retryAfter The seconds after which the next attempt will be allowed.
+     * @return A 429 response with a Retry-After header.
+     */
+    private ResponseEntity<?> rateLimited(long retryAfter) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+            .body(ApiResponse.error("Too many signin attempts, please retry later"));
+    }
+}
@@ -0,0 +1,150 @@
+package com.assessment.service;
+
+import com.assessment.model.RefreshToken;
+import com.assessment.model.User;
+import com.assessment.repository.RefreshTokenStore;
+import com.assessment.repository.UserRepository;
+import com.assessment.security.JwtUtil;
+import com.assessment.security.SessionRevocationList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Refresh Token Service
+ * Issues short-lived access tokens together with rotating refresh tokens, grouped in sessions.
+ *
+ * - A login starts a session; each refresh marks the presented token as used and issues a new
+ *   pair in the same session.
+ * - Presenting an already used refresh token means it was copied, so the whole session is revoked.
+ * - Revoking a session also rejects its unexpired access tokens, through the SessionRevocationList.
+ * - Refresh tokens are random 256-bit values; only their SHA-256 hashes are stored.
+ */
+@Service
+@Profile("!reactive")
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final RefreshTokenStore refreshTokenStore;
+    private final UserRepository userRepository;
+    private final JwtUtil jwtUtil;
+    private final SessionRevocationList sessionRevocationList;
+    private final Duration refreshExpiration;
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Constructor to inject the token store, user repository, JwtUtil and revocation list.
+     *
+     * @param refreshTokenStore The store refresh tokens and revoked sessions are kept in.
+     * @param userRepository Used to load the user when a token is refreshed.
+     * @param jwtUtil Used to sign access tokens.
+     * @param sessionRevocationList Updated immediately when a session is revoked on this node.
+     * @param refreshExpirationMs How long a refresh token stays valid, in milliseconds.
+     */
+    public RefreshTokenService(RefreshTokenStore refreshTokenStore, UserRepository userRepository, JwtUtil jwtUtil,
+                               SessionRevocationList sessionRevocationList,
+                               @Value("${jwt.refreshExpirationMs:2592000000}") long refreshExpirationMs) {
+        this.refreshTokenStore = refreshTokenStore;
+        this.userRepository = userRepository;
+        this.jwtUtil = jwtUtil;
+        this.sessionRevocationList = sessionRevocationList;
+        this.refreshExpiration = Duration.ofMillis(refreshExpirationMs);
+    }
+
+    /**
+     * Starts a new session for a user who has just authenticated.
+     *
+     * @param user The authenticated user; needs its id, email, role and token version.
+     * @return The session's first access and refresh tokens.
+     */
+    public TokenPair startSession(User user) {
+        return issue(user, randomToken());
+    }
+
+    /**
+     * Exchanges a refresh token for a new access and refresh token in the same session.
+     *
+     * @param refreshToken The refresh token presented by the client.
+     * @return The new pair, or empty if the token is unknown, expired, revoked or already used.
+     */
+    public Optional<TokenPair> refresh(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            return Optional.empty();
+        }
+        String id = hash(refreshToken);
+        Optional<RefreshToken> token = refreshTokenStore.markUsed(id, Instant.now());
+
+        if (token.isEmpty()) {
+            refreshTokenStore.findById(id)
+                    .filter(existing -> existing.getUsedAt() != null && !existing.isRevoked())
+                    .ifPresent(reused -> {
+                        log.warn("Refresh token reused, revoking session {} of user {}", reused.getSessionId(), reused.getUserId());
+                        revokeSession(reused.getSessionId());
+                    });
+            return Optional.empty();
+        }
+
+        return userRepository.findById(token.get().getUserId())
+                .map(user -> issue(user, token.get().getSessionId()));
+    }
+
+    /**
+     * Revokes a session: its refresh tokens stop working at once, and its access tokens are
+     * rejected on every node within one revocation refresh interval.
+     *
+     * @param sessionId The session to revoke.
+     */
+    public void revokeSession(String sessionId) {
+        Instant now = Instant.now();
+        Instant accessTokensExpireAt = now.plus(jwtUtil.getExpiration());
+        refreshTokenStore.revokeSession(sessionId, now, accessTokensExpireAt);
+        sessionRevocationList.record(sessionId, accessTokensExpireAt);
+    }
+
+    /**
+     * Revokes every active session of a user.
+     *
+     * @param userId The user whose sessions are revoked.
+     */
+    public void revokeUserSessions(String userId) {
+        Instant now = Instant.now();
+        Instant accessTokensExpireAt = now.plus(jwtUtil.getExpiration());
+        for (String sessionId : refreshTokenStore.revokeUserSessions(userId, now, accessTokensExpireAt)) {
+            sessionRevocationList.record(sessionId, accessTokensExpireAt);
+        }
+    }
+
+    private TokenPair issue(User user, String sessionId) {
+        String refreshToken = randomToken();
+        refreshTokenStore.insert(new RefreshToken(hash(refreshToken), user.getId(), sessionId,
+                Instant.now().plus(refreshExpiration), null, false));
+        return new TokenPair(jwtUtil.generateToken(user, sessionId), refreshToken);
+    }
+
+    private String randomToken() {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        return BASE64URL.encodeToString(bytes);
+    }
+
+    private static String hash(String refreshToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.US_ASCII));
+            return BASE64URL.encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.assessment.service;
+
+import com.assessment.model.ApiResponse;
+import com.assessment.model.IntrospectionResponse;
+import com.assessment.model.TokenIntrospection;
+import com.assessment.model.User;
+import com.assessment.repository.UserRepository;
+import com.assessment.security.JwtUtil;
+import com.assessment.security.SessionRevocationList;
+import com.assessment.security.TokenVersionRegistry;
+import com.assessment.security.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Token Introspection Service
+ * Tells other services whether a batch of access tokens is valid, and whose they are, in one round trip.
+ *
+ * - Signatures are checked through the VerifiedTokenCache, in parallel for batches of
+ *   auth.introspect.parallelThreshold tokens or more. Tokens of revoked sessions are inactive.
+ * - The owners of all tokens are loaded with a single $in query on email. A token is inactive if its user no longer
+ *   exists, if its uid claim names another account (the email was registered again after a deletion), or if its
+ *   token version is older than the user's (see AuthService.revokeTokens); the role is the current one.
+ * - Only the clients configured in auth.introspect.clients may call it (see IntrospectionClientFilter).
+ * - The response may be cached until the first active token in it expires, and for at most
+ *   auth.introspect.maxCacheSeconds, so a revocation reaches callers within that bound.
+ */
+@Service
+@Profile("!reactive")
+public class TokenIntrospectionService {
+
+    private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final SessionRevocationList sessionRevocationList;
+    private final UserRepository userRepository;
+    private final int maxBatch;
+    private final int parallelThreshold;
+    private final long maxCacheSeconds;
+    private final DistributionSummary batchSizes;
+
+    /**
+     * Constructor to inject the token verification and user lookup dependencies and the batch settings.
+     *
+     * @param jwtUtil Utility class for handling JWT operations.
+     * @param verifiedTokenCache Cache of tokens that have already been verified.
+     * @param sessionRevocationList The revoked refresh-token sessions.
+     * @param userRepository The repository the token owners are read from.
+     * @param maxBatch The largest number of tokens accepted in one request.
+     * @param parallelThreshold The batch size from which signatures are checked in parallel.
+     * @param maxCacheSeconds The longest time callers may cache a response.
+     * @param meterRegistry The registry the batch size summary is published to.
+     */
+    public TokenIntrospectionService(JwtUtil jwtUtil,
+                                     VerifiedTokenCache verifiedTokenCache,
+                                     SessionRevocationList sessionRevocationList,
+                                     UserRepository userRepository,
+                                     @Value("${auth.introspect.maxBatch:100}") int maxBatch,
+                                     @Value("${auth.introspect.parallelThreshold:16}") int parallelThreshold,
+                                     @Value("${auth.introspect.maxCacheSeconds:30}") long maxCacheSeconds,
+                                     MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.sessionRevocationList = sessionRevocationList;
+        this.userRepository = userRepository;
+        this.maxBatch = maxBatch;
+        this.parallelThreshold = parallelThreshold;
+        this.maxCacheSeconds = maxCacheSeconds;
+        this.batchSizes = DistributionSummary.builder("auth.introspect.batch")
+                .description("Tokens per introspection request")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Introspects a batch of access tokens.
+     *
+     * @param tokens The tokens, without the "Bearer " prefix.
+     * @return One result per token with a Cache-Control max-age, or 400 if the batch is empty or too large.
+     */
+    public ResponseEntity<?> introspect(List<String> tokens) {
+        if (tokens == null || tokens.isEmpty() || tokens.size() > maxBatch) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Send between 1 and " + maxBatch + " tokens"));
+        }
+        batchSizes.record(tokens.size());
+
+        List<Optional<Claims>> verified = (tokens.size() >= parallelThreshold ? tokens.parallelStream() : tokens.stream())
+                .map(this::verify)
+                .toList();
+
+        Set<String> emails = verified.stream()
+                .flatMap(Optional::stream)
+                .map(Claims::getSubject)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, User> owners = emails.isEmpty() ? Map.of() : userRepository.findTokenOwnersByEmailIn(emails).stream()
+                .collect(Collectors.toMap(User::getEmail, Function.identity(), (first, second) -> first));
+
+        long now = System.currentTimeMillis();
+        long maxAge = maxCacheSeconds;
+        List<TokenIntrospection> results = verified.stream()
+                .map(claims -> claims.map(verifiedClaims -> describe(verifiedClaims, owners, now)).orElse(TokenIntrospection.inactive()))
+                .toList();
+        for (TokenIntrospection result : results) {
+            if (result.active()) {
+                maxAge = Math.min(maxAge, Math.max(0, result.exp() - now / 1000));
+            }
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(maxAge)).cachePrivate())
+                .body(new IntrospectionResponse("success", results));
+    }
+
+    /**
+     * Verifies one token's signature and expiry, and drops it if its session was revoked.
+     */
+    private Optional<Claims> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        return verifiedTokenCache.verify(token, jwtUtil::verifyToken)
+                .filter(claims -> !sessionRevocationList.isRevoked(claims.get(JwtUtil.SESSION_ID_CLAIM, String.class)));
+    }
+
+    /**
+     * Checks a verified token against its owner as loaded by the batch query.
+     */
+    private static TokenIntrospection describe(Claims claims, Map<String, User> owners, long now) {
+        User owner = claims.getSubject() == null ? null : owners.get(claims.getSubject());
+        if (owner == null || claims.getExpiration() == null || claims.getExpiration().getTime() <= now) {
+            return TokenIntrospection.inactive();
+        }
+        String userId = claims.get(JwtUtil.USER_ID_CLAIM, String.class);
+        if (userId != null && !userId.equals(owner.getId())) {
+            return TokenIntrospection.inactive(); // Issued to an earlier account with the same email
+        }
+        if (TokenVersionRegistry.supports(claims)
+                && claims.get(JwtUtil.TOKEN_VERSION_CLAIM, Number.class).longValue() < owner.getTokenVersion()) {
+            return TokenIntrospection.inactive(); // Issued before the user's tokens were revoked
+        }
+        return new TokenIntrospection(true, owner.getEmail(), owner.getId(), owner.getRole(),
+                claims.getExpiration().getTime() / 1000);
+    }
+}
@@ -0,0 +1,10 @@
+package com.assessment.service;
+
+/**
+ * An access token and the refresh token that replaces it once it expires.
+ *
+ * @param accessToken The short-lived JWT sent with each request.
+ * @param refreshToken The opaque token exchanged at /api/auth/refresh for a new pair.
+ */
+public record TokenPair(String accessToken, String refreshToken) {
+}
@@ -0,0 +1,295 @@
+package com.assessment.service;
+
+import com.assessment.model.User;
+import com.assessment.repository.BulkInsertError;
+import com.assessment.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * User Import Service
+ * Imports users in bulk from a streamed NDJSON or CSV body, e.g. when migrating members from another platform.
+ *
+ * - Reads the body line by line and processes it in batches of users.import.batchSize rows,
+ *   so memory stays bounded regardless of upload size.
+ * - Hashes the passwords of each batch in parallel on a small dedicated pool (users.import.hashThreads, by default
+ *   a quarter of the processors). It never gets more than half of them, so an import cannot starve signin and
+ *   signup hashing on the PasswordHasher pool.
+ * - Writes each batch with one unordered bulk insert; rows rejected by the unique email index are reported as duplicates.
+ * - Invalid rows are reported with their line number and skipped without aborting the stream.
+ */
+@Service
+@Profile("!reactive")
+public class UserImportService implements DisposableBean {
+
+    public static final String CSV_HEADER = "firstName,lastName,email,mobileNumber,password,role";
+    private static final String DEFAULT_ROLE = "USER";
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ObjectReader userReader;
+    private final ExecutorService hashExecutor;
+
+    @Value("${users.import.batchSize:1000}")
+    private int batchSize; // Rows hashed and inserted together
+
+    @Value("${users.import.maxReportedFailures:1000}")
+    private int maxReportedFailures; // Failures listed in the response; the rest are only counted
+
+    /**
+     * Constructor to inject dependencies and create the hashing pool.
+     *
+     * @param userRepository The repository used to insert users.
+     * @param passwordEncoder The application's password encoder.
+     * @param validator Validates each imported user.
+     * @param objectMapper Used to parse NDJSON rows.
+     * @param hashThreads The number of hashing threads, capped at half the available processors;
+     *                    0 means a quarter of them (at least one).
+     */
+    public UserImportService(UserRepository userRepository, PasswordEncoder passwordEncoder, Validator validator,
+                             ObjectMapper objectMapper, @Value("${users.import.hashThreads:0}") int hashThreads) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.userReader = objectMapper.readerFor(User.class);
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        int threads = Math.min(hashThreads > 0 ? hashThreads : Math.max(1, processors / 4), Math.max(1, processors / 2));
+        AtomicInteger threadCount = new AtomicInteger();
+        this.hashExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "user-import-hasher-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Imports every row of an NDJSON or CSV body.
+     *
+     * - NDJSON: one User JSON object per line.
+     * - CSV: a header line naming the columns (see {@link #CSV_HEADER}), then one user per line.
+     * - Blank lines are ignored; a missing role defaults to USER.
+     *
+     * @param body The request body.
+     * @param csv true for CSV, false for NDJSON.
+     * @return The import summary: counts of imported, duplicate and invalid rows, plus the first failures.
+     * @throws IOException If the body cannot be read.
+     */
+    public Map<String, Object> importUsers(InputStream body, boolean csv) throws IOException {
+        ImportReport report = new ImportReport(maxReportedFailures);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+
+        String[] columns = null;
+        if (csv) {
+            String header = reader.readLine();
+            if (header == null) {
+                return report.toMap();
+            }
+            columns = CsvLine.parse(header).toArray(String[]::new);
+        }
+
+        List<Row> batch = new ArrayList<>(batchSize);
+        String line;
+        int lineNumber = csv ? 1 : 0;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            User user;
+            try {
+                user = csv ? fromCsv(columns, CsvLine.parse(line)) : userReader.readValue(line);
+            } catch (IOException | IllegalArgumentException e) {
+                report.invalid(lineNumber, null, "Malformed row");
+                continue;
+            }
+
+            String violation = validate(user);
+            if (violation != null) {
+                report.invalid(lineNumber, user.getEmail(), violation);
+                continue;
+            }
+
+            batch.add(new Row(lineNumber, user));
+            if (batch.size() == batchSize) {
+                writeBatch(batch, report);
+                batch.clear();
+            }
+        }
+        writeBatch(batch, report);
+
+        return report.toMap();
+    }
+
+    /**
+     * Hashes a batch of passwords in parallel, then inserts the batch with one unordered bulk write.
+     */
+    private void writeBatch(List<Row> batch, ImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<Future<String>> hashes = new ArrayList<>(batch.size());
+        for (Row row : batch) {
+            String rawPassword = row.user().getPassword();
+            hashes.add(hashExecutor.submit(() -> passwordEncoder.encode(rawPassword)));
+        }
+
+        Instant now = Instant.now();
+        List<User> users = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            User user = batch.get(i).user();
+            try {
+                user.setPassword(hashes.get(i).get());
+                user.setLastModified(now);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("User import interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Password hashing failed", e.getCause());
+            }
+            users.add(user);
+        }
+
+        List<BulkInsertError> errors = userRepository.insertUnordered(users);
+        for (BulkInsertError error : errors) {
+            Row row = batch.get(error.index());
+            if (error.isDuplicateKey()) {
+                report.duplicate(row.lineNumber(), row.user().getEmail());
+            } else {
+                report.invalid(row.lineNumber(), row.user().getEmail(), error.message());
+            }
+        }
+        report.imported(batch.size() - errors.size());
+    }
+
+    /**
+     * Prepares an imported user and returns the first validation failure, or null if it is valid.
+     */
+    private String validate(User user) {
+        user.setId(null); // Imported users always get new IDs
+        user.setTokenVersion(0);
+        user.setTokenVersionChangedAt(null);
+        if (user.getRole() == null || user.getRole().isBlank()) {
+            user.setRole(DEFAULT_ROLE);
+        }
+
+        Set<ConstraintViolation<User>> violations = validator.validate(user);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static User fromCsv(String[] columns, List<String> values) {
+        if (values.size() != columns.length) {
+            throw new IllegalArgumentException("Expected " + columns.length + " columns but found " + values.size());
+        }
+
+        User user = new User();
+        for (int i = 0; i < columns.length; i++) {
+            String value = values.get(i).isEmpty() ? null : values.get(i);
+            switch (columns[i].trim()) {
+                case "firstName" -> user.setFirstName(value);
+                case "lastName" -> user.setLastName(value);
+                case "email" -> user.setEmail(value);
+                case "mobileNumber" -> user.setMobileNumber(value);
+                case "password" -> user.setPassword(value);
+                case "role" -> user.setRole(value);
+                default -> { } // Unknown columns are ignored
+            }
+        }
+        return user;
+    }
+
+    @Override
+    public void destroy() {
+        hashExecutor.shutdown();
+    }
+
+    private record Row(int lineNumber, User user) {
+    }
+
+    /**
+     * Counts the outcome of every row and keeps the first failures for the response.
+     */
+    private static final class ImportReport {
+
+        private final int maxReportedFailures;
+        private final List<Map<String, Object>> failures = new ArrayList<>();
+        private long imported;
+        private long duplicates;
+        private long invalid;
+
+        ImportReport(int maxReportedFailures) {
+            this.maxReportedFailures = maxReportedFailures;
+        }
+
+        void imported(int count) {
+            imported += count;
+        }
+
+        void duplicate(int lineNumber, String email) {
+            duplicates++;
+            addFailure(lineNumber, email, "Email already exists");
+        }
+
+        void invalid(int lineNumber, String email, String reason) {
+            invalid++;
+            addFailure(lineNumber, email, reason);
+        }
+
+        private void addFailure(int lineNumber, String email, String reason) {
+            if (failures.size() < maxReportedFailures) {
+                Map<String, Object> failure = new LinkedHashMap<>();
+                failure.put("line", lineNumber);
+                if (email != null) {
+                    failure.put("email", email);
+                }
+                failure.put("reason", reason);
+                failures.add(failure);
+            }
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("status", "success");
+            body.put("message", "User import completed");
+            body.put("imported", imported);
+            body.put("duplicates", duplicates);
+            body.put("invalid", invalid);
+            body.put("failures", failures);
+            return body;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.assessment;
+
+import com.assessment.controller.ReactiveUserController;
+import com.assessment.security.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("reactive")
+class ReactiveProfileTests {
+
+	@Autowired
+	private ApplicationContext context;
+
+	@Test
+	void contextLoadsReactiveStack() {
+		assertNotNull(context.getBean(ReactiveUserController.class));
+		assertNotNull(context.getBean(SecurityWebFilterChain.class));
+		assertFalse(context.containsBean("userController"));
+		assertEquals(1, context.getBeanNamesForType(com.mongodb.reactivestreams.client.MongoClient.class).length);
+	}
+
+	@Test
+	void accessTokensKeepTheirLongerLifetimeWithoutRefreshTokens() {
+		assertEquals(Duration.ofDays(1), context.getBean(JwtUtil.class).getExpiration());
+	}
+
+	@Test
+	void userListingRequiresAuthentication() {
+		WebTestClient client = WebTestClient.bindToApplicationContext(context).build();
+
+		client.get().uri("/api/users").exchange().expectStatus().isUnauthorized();
+	}
+}
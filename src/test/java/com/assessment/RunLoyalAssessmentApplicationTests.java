@@ -1,13 +1,26 @@
 package com.assessment;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
 class RunLoyalAssessmentApplicationTests {
 
+	@Autowired
+	private ApplicationContext context;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void servletStackCreatesNoReactiveMongoClient() {
+		assertEquals(0, context.getBeanNamesForType(com.mongodb.reactivestreams.client.MongoClient.class).length);
+		assertEquals(1, context.getBeanNamesForType(com.mongodb.client.MongoClient.class).length);
+	}
+
 }
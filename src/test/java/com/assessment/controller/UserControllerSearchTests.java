@@ -0,0 +1,102 @@
+package com.assessment.controller;
+
+import com.assessment.model.User;
+import com.assessment.repository.UserRepository;
+import com.assessment.security.JwtUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs user listings through Spring MVC and the security filter chain, on the in-memory repository.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("in-memory")
+class UserControllerSearchTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private User insert(String email, String lastName, String role) {
+		User user = new User();
+		user.setFirstName("John");
+		user.setLastName(lastName);
+		user.setEmail(email);
+		user.setMobileNumber("123");
+		user.setPassword("$2a$04$abcdefghijklmnopqrstuvABCDEFGHIJKLMNOPQRSTUVWXYZ01234");
+		user.setRole(role);
+		return userRepository.insert(user);
+	}
+
+	private MockHttpServletRequestBuilder listUsers(String token) {
+		return get("/api/users").header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+	}
+
+	@Test
+	void pagesByLastNameContinuePastUsersWithoutOne() throws Exception {
+		String token = jwtUtil.generateToken(insert("search-admin@example.com", "Admin", "ADMIN"));
+		insert("search-null-1@example.com", null, "SEARCH_NULLS");
+		insert("search-null-2@example.com", null, "SEARCH_NULLS");
+		insert("search-named@example.com", "Named", "SEARCH_NULLS");
+
+		List<String> emails = new ArrayList<>();
+		String cursor = null;
+		do {
+			MockHttpServletRequestBuilder page = listUsers(token).param("role", "SEARCH_NULLS")
+					.param("sort", "lastName").param("limit", "1");
+			if (cursor != null) {
+				page.param("cursor", cursor);
+			}
+			JsonNode body = objectMapper.readTree(mockMvc.perform(page)
+					.andExpect(status().isOk())
+					.andReturn().getResponse().getContentAsString());
+			body.get("users").forEach(user -> emails.add(user.get("email").asText()));
+			cursor = body.path("nextCursor").textValue();
+		} while (cursor != null);
+
+		assertEquals(3, emails.size(), "Pages: " + emails);
+		assertEquals(List.of("search-null-1@example.com", "search-null-2@example.com"), emails.subList(0, 2).stream().sorted().toList());
+		assertEquals("search-named@example.com", emails.get(2));
+	}
+
+	@Test
+	void prefixFiltersSortByTheirOwnFieldUnlessAMobileNumberNarrowsTheSearch() throws Exception {
+		String token = jwtUtil.generateToken(insert("search-prefix-admin@example.com", "Admin", "ADMIN"));
+		insert("search-prefix-b@example.com", "Able", "USER");
+		insert("search-prefix-a@example.com", "Baker", "USER");
+
+		mockMvc.perform(listUsers(token).param("emailPrefix", "search-prefix-"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.users[0].email").value("search-prefix-a@example.com"))
+				.andExpect(jsonPath("$.users[2].email").value("search-prefix-b@example.com"));
+
+		mockMvc.perform(listUsers(token).param("emailPrefix", "search-prefix-").param("sort", "id"))
+				.andExpect(status().isBadRequest());
+
+		mockMvc.perform(listUsers(token).param("emailPrefix", "search-prefix-").param("mobileNumber", "123").param("sort", "id"))
+				.andExpect(status().isOk());
+	}
+}
@@ -0,0 +1,77 @@
+package com.assessment.controller;
+
+import com.assessment.model.User;
+import com.assessment.repository.UserRepository;
+import com.assessment.security.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs GET /api/users/stream through Spring MVC and the security filter chain, on the in-memory repository.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("in-memory")
+class UserControllerStreamTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	private User insert(String email, String role) {
+		User user = new User();
+		user.setFirstName("John");
+		user.setLastName("Doe");
+		user.setEmail(email);
+		user.setMobileNumber("123");
+		user.setPassword("$2a$04$abcdefghijklmnopqrstuvABCDEFGHIJKLMNOPQRSTUVWXYZ01234");
+		user.setRole(role);
+		return userRepository.insert(user);
+	}
+
+	@Test
+	void streamsEveryUserAsNdjsonWithoutPasswordHashes() throws Exception {
+		String token = jwtUtil.generateToken(insert("stream-admin@example.com", "ADMIN"));
+		insert("stream-user@example.com", "USER");
+
+		MvcResult started = mockMvc.perform(get("/api/users/stream").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		String body = mockMvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+				.andReturn().getResponse().getContentAsString();
+
+		String[] lines = body.split("\n");
+		assertEquals(userRepository.count(), lines.length);
+		assertTrue(body.contains("\"email\":\"stream-user@example.com\""));
+		assertFalse(body.contains("password") || body.contains("$2a$"), body);
+	}
+
+	@Test
+	void streamIsForAdminsOnly() throws Exception {
+		String token = jwtUtil.generateToken(insert("stream-other@example.com", "USER"));
+
+		mockMvc.perform(get("/api/users/stream").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(get("/api/users/stream"))
+				.andExpect(status().isForbidden());
+	}
+}
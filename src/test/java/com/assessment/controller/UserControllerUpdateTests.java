@@ -0,0 +1,92 @@
+package com.assessment.controller;
+
+import com.assessment.model.User;
+import com.assessment.repository.UserRepository;
+import com.assessment.security.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs profile updates through Spring MVC and the security filter chain, on the in-memory repository.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("in-memory")
+class UserControllerUpdateTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	private User insert(String email) {
+		User user = new User();
+		user.setFirstName("John");
+		user.setLastName("Doe");
+		user.setEmail(email);
+		user.setMobileNumber("123");
+		user.setPassword("$2a$04$abcdefghijklmnopqrstuvABCDEFGHIJKLMNOPQRSTUVWXYZ01234");
+		user.setRole("USER");
+		return userRepository.insert(user);
+	}
+
+	@Test
+	void ifMatchComparesStrongly() throws Exception {
+		User user = insert("update-ifmatch@example.com");
+		String token = jwtUtil.generateToken(user);
+
+		mockMvc.perform(patch("/api/user/" + user.getId()).header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+						.header(HttpHeaders.IF_MATCH, "W/\"0\"")
+						.contentType(MediaType.APPLICATION_JSON).content("{\"firstName\":\"Weak\"}"))
+				.andExpect(status().isPreconditionFailed());
+		assertEquals("John", userRepository.findById(user.getId()).orElseThrow().getFirstName());
+
+		mockMvc.perform(patch("/api/user/" + user.getId()).header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+						.header(HttpHeaders.IF_MATCH, "\"0\"")
+						.contentType(MediaType.APPLICATION_JSON).content("{\"firstName\":\"Strong\"}"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+	}
+
+	@Test
+	void putWithoutNamesChangesNothingAndSucceeds() throws Exception {
+		User user = insert("update-put@example.com");
+		User other = insert("update-put-other@example.com");
+		String token = jwtUtil.generateToken(user);
+
+		mockMvc.perform(put("/api/user/update/" + user.getId()).header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+						.contentType(MediaType.APPLICATION_JSON).content("{}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.user.firstName").value("John"))
+				.andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+		assertEquals(0, userRepository.findById(user.getId()).orElseThrow().getVersion());
+
+		mockMvc.perform(put("/api/user/update/" + other.getId()).header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+						.contentType(MediaType.APPLICATION_JSON).content("{}"))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void patchWithoutFieldsIsRejected() throws Exception {
+		User user = insert("update-patch-empty@example.com");
+
+		mockMvc.perform(patch("/api/user/" + user.getId()).header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateToken(user))
+						.contentType(MediaType.APPLICATION_JSON).content("{}"))
+				.andExpect(status().isBadRequest());
+	}
+}
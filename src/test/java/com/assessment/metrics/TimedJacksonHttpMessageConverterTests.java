@@ -0,0 +1,63 @@
+package com.assessment.metrics;
+
+import com.assessment.model.UserPageResponse;
+import com.assessment.model.UserView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimedJacksonHttpMessageConverterTests {
+
+	@Test
+	void writeRecordsSerializationTimePerBodyType() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		TimedJacksonHttpMessageConverter converter = new TimedJacksonHttpMessageConverter(new ObjectMapper(), registry);
+		MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+		converter.write(Map.of("token", "abc"), MediaType.APPLICATION_JSON, output);
+		converter.write(Map.of("token", "def"), MediaType.APPLICATION_JSON, new MockHttpOutputMessage());
+
+		assertEquals("{\"token\":\"abc\"}", output.getBodyAsString());
+		Timer timer = registry.find("http.response.serialization").timer();
+		assertNotNull(timer);
+		assertEquals(2, timer.count());
+	}
+
+	@Test
+	void binaryFormatsRoundTripAndAreTimedByFormat() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		UserPageResponse page = new UserPageResponse("success", "Fetched users successfully", 1,
+				List.of(new UserView("64b7f0c2e4b0a1a2b3c4d5e6", "John", "Doe", "john@example.com", "123", "USER", 3)), null);
+		MockHttpOutputMessage json = new MockHttpOutputMessage();
+		new TimedJacksonHttpMessageConverter(new ObjectMapper(), registry).write(page, MediaType.APPLICATION_JSON, json);
+
+		for (AbstractJackson2HttpMessageConverter converter : List.of(
+				new TimedCborHttpMessageConverter(new ObjectMapper(new CBORFactory()), registry),
+				new TimedSmileHttpMessageConverter(new ObjectMapper(new SmileFactory()), registry))) {
+			MediaType mediaType = converter.getSupportedMediaTypes().get(0);
+			MockHttpOutputMessage output = new MockHttpOutputMessage();
+			converter.write(page, mediaType, output);
+
+			assertEquals(mediaType, output.getHeaders().getContentType());
+			assertTrue(output.getBodyAsBytes().length < json.getBodyAsBytes().length, mediaType.toString());
+			assertEquals(page, converter.read(UserPageResponse.class, new MockHttpInputMessage(output.getBodyAsBytes())));
+		}
+
+		for (String format : List.of("json", "cbor", "smile")) {
+			Timer timer = registry.find("http.response.serialization").tags("type", "UserPageResponse", "format", format).timer();
+			assertNotNull(timer, format);
+			assertEquals(1, timer.count());
+		}
+	}
+}
@@ -0,0 +1,133 @@
+package com.assessment.repository;
+
+import com.assessment.model.User;
+import com.assessment.model.UserView;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryUserRepositoryTests {
+
+	private final InMemoryUserRepository repository = new InMemoryUserRepository();
+
+	private static User user(String email) {
+		User user = new User();
+		user.setFirstName("John");
+		user.setLastName("Doe");
+		user.setEmail(email);
+		user.setMobileNumber("1234567890");
+		user.setPassword("hash");
+		user.setRole("USER");
+		return user;
+	}
+
+	@Test
+	void insertAssignsIdAndEnforcesUniqueEmail() {
+		User saved = repository.insert(user("john@example.com"));
+
+		assertNotNull(saved.getId());
+		assertEquals(saved.getId(), repository.findByEmail("john@example.com").orElseThrow().getId());
+		assertThrows(DuplicateKeyException.class, () -> repository.save(user("john@example.com")));
+
+		List<BulkInsertError> errors = repository.insertUnordered(List.of(user("jane@example.com"), user("john@example.com")));
+		assertEquals(1, errors.size());
+		assertEquals(1, errors.get(0).index());
+		assertTrue(errors.get(0).isDuplicateKey());
+		assertEquals(2, repository.count());
+	}
+
+	@Test
+	void saveMovesEmailIndexAndReturnsCopies() {
+		User saved = repository.insert(user("john@example.com"));
+		saved.setEmail("johnny@example.com");
+		assertEquals("john@example.com", repository.findById(saved.getId()).orElseThrow().getEmail());
+
+		repository.save(saved);
+
+		assertTrue(repository.findByEmail("john@example.com").isEmpty());
+		assertTrue(repository.findByEmail("johnny@example.com").isPresent());
+		repository.insert(user("john@example.com")); // The old email is free again
+	}
+
+	@Test
+	void keysetPagesFollowIdOrder() {
+		for (int i = 0; i < 5; i++) {
+			repository.insert(user("user" + i + "@example.com"));
+		}
+
+		List<UserView> first = repository.search(UserSearch.all(), null, 3);
+		List<UserView> rest = repository.search(UserSearch.all(), new UserSearch.Position(null, first.get(2).id()), 3);
+
+		assertEquals(3, first.size());
+		assertEquals(2, rest.size());
+		assertTrue(first.get(2).id().compareTo(rest.get(0).id()) < 0);
+		assertEquals(5, repository.streamViewsBy().count());
+	}
+
+	@Test
+	void searchFiltersAndPagesInSortOrder() {
+		String[] lastNames = { "Smith", "Adams", "Smythe", "Baker", "Smith" };
+		for (int i = 0; i < lastNames.length; i++) {
+			User user = user("user" + i + "@example.com");
+			user.setLastName(lastNames[i]);
+			user.setRole(i == 1 ? "ADMIN" : "USER");
+			repository.insert(user);
+		}
+		UserSearch smiths = new UserSearch("USER", null, "Sm", null, UserSearch.SortKey.LAST_NAME);
+
+		List<UserView> first = repository.search(smiths, null, 2);
+		UserView last = first.get(1);
+		List<UserView> rest = repository.search(smiths, new UserSearch.Position(last.lastName(), last.id()), 2);
+
+		assertEquals(List.of("Smith", "Smith"), first.stream().map(UserView::lastName).toList());
+		assertEquals(List.of("Smythe"), rest.stream().map(UserView::lastName).toList());
+		assertEquals(3, repository.countMatching(smiths));
+		assertEquals(1, repository.countMatching(new UserSearch(null, "user1@", null, null, UserSearch.SortKey.ID)));
+	}
+
+	@Test
+	void updateFieldsChecksOwnerAndVersion() {
+		String id = repository.insert(user("john@example.com")).getId();
+
+		assertTrue(repository.updateFields(id, "other@example.com", null, Map.of("firstName", "Jack")).isEmpty());
+		assertTrue(repository.updateFields(id, null, 5L, Map.of("firstName", "Jack")).isEmpty());
+
+		Optional<UserView> updated = repository.updateFields(id, "john@example.com", 0L, Map.of("firstName", "Jack"));
+		assertEquals("Jack", updated.orElseThrow().firstName());
+		assertEquals(1, updated.get().version());
+		assertEquals(1, repository.updatePasswordHash(id, "hash", "newHash"));
+		assertEquals(0, repository.updatePasswordHash(id, "hash", "otherHash"));
+	}
+
+	@Test
+	void collectionVersionChangesOnEveryWrite() {
+		String empty = repository.collectionVersion();
+		String id = repository.insert(user("john@example.com")).getId();
+		String inserted = repository.collectionVersion();
+		assertNotEquals(empty, inserted);
+		assertEquals(inserted, repository.collectionVersion());
+
+		repository.updateFields(id, null, 5L, Map.of("firstName", "Jack")); // Stale version, nothing written
+		assertEquals(inserted, repository.collectionVersion());
+
+		assertNotNull(repository.updateFields(id, null, 0L, Map.of("firstName", "Jack")).orElseThrow());
+		assertNotEquals(inserted, repository.collectionVersion());
+		assertNotNull(repository.findById(id).orElseThrow().getLastModified());
+	}
+
+	@Test
+	void incrementTokenVersionKeepsProfileVersion() {
+		String id = repository.insert(user("john@example.com")).getId();
+
+		User revoked = repository.incrementTokenVersion(id).orElseThrow();
+
+		assertEquals(1, revoked.getTokenVersion());
+		assertNotNull(revoked.getTokenVersionChangedAt());
+		assertEquals(0, repository.findViewById(id).orElseThrow().version());
+		assertTrue(repository.incrementTokenVersion("missing").isEmpty());
+	}
+}
@@ -0,0 +1,123 @@
+package com.assessment.repository;
+
+import com.assessment.model.UserView;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * A stand-in for a single-node replica set: a users collection with an oplog of bounded length,
+ * read through the same scan and resumable change stream contract as {@link MongoUserChangeFeed}.
+ */
+class LocalChangeFeed implements UserChangeFeed {
+
+	private final Map<String, UserChange> users = new ConcurrentSkipListMap<>();
+	private final List<UserChange> oplog = new ArrayList<>();
+	private final int oplogSize;
+	private final AtomicInteger scans = new AtomicInteger();
+	private long truncated; // Sequence number of the oldest change still in the oplog
+	private boolean failNextPoll;
+
+	LocalChangeFeed(int oplogSize) {
+		this.oplogSize = oplogSize;
+	}
+
+	synchronized void upsert(UserView user) {
+		write(new UserChange(user.id(), user, Instant.now()));
+	}
+
+	synchronized void delete(String id) {
+		write(UserChange.deleted(id));
+	}
+
+	/**
+	 * Makes the next poll of an open stream fail, as a dropped connection would.
+	 */
+	synchronized void failNextPoll() {
+		failNextPoll = true;
+	}
+
+	int scans() {
+		return scans.get();
+	}
+
+	@Override
+	public synchronized ChangeCursor watch(String resumeToken) {
+		long from = resumeToken == null ? truncated + oplog.size() : Long.parseLong(resumeToken);
+		if (from < truncated) {
+			throw new HistoryLostException("Resume point " + from + " has left the oplog", null);
+		}
+		return new Cursor(from);
+	}
+
+	@Override
+	public void scan(Consumer<UserChange> sink) {
+		scans.incrementAndGet();
+		users.values().forEach(sink);
+	}
+
+	private void write(UserChange change) {
+		if (change.isDelete()) {
+			users.remove(change.id());
+		} else {
+			users.put(change.id(), change);
+		}
+		oplog.add(change);
+		if (oplog.size() > oplogSize) {
+			oplog.remove(0);
+			truncated++;
+		}
+		notifyAll();
+	}
+
+	private final class Cursor implements ChangeCursor {
+
+		private long position; // Sequence number of the next change to return
+
+		Cursor(long position) {
+			this.position = position;
+		}
+
+		@Override
+		public UserChange tryNext() {
+			synchronized (LocalChangeFeed.this) {
+				if (failNextPoll) {
+					failNextPoll = false;
+					throw new IllegalStateException("Connection reset");
+				}
+				if (position < truncated) {
+					throw new HistoryLostException("Cursor fell off the oplog", null);
+				}
+				if (!drained()) {
+					return oplog.get((int) (position++ - truncated));
+				}
+				try {
+					LocalChangeFeed.this.wait(10); // Like maxAwaitTime
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return null;
+			}
+		}
+
+		@Override
+		public boolean drained() {
+			synchronized (LocalChangeFeed.this) {
+				return position >= truncated + oplog.size();
+			}
+		}
+
+		@Override
+		public String resumeToken() {
+			return Long.toString(position);
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
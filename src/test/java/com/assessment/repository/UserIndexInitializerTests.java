@@ -0,0 +1,49 @@
+package com.assessment.repository;
+
+import com.assessment.model.AuditEvent;
+import com.assessment.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UserIndexInitializerTests {
+
+	private UserIndexInitializer initializer(MongoTemplate mongoTemplate, boolean auditEnabled) {
+		MongoMappingContext mappingContext = new MongoMappingContext();
+		mappingContext.setSimpleTypeHolder(MongoCustomConversions.create(conversions -> {}).getSimpleTypeHolder());
+		UserIndexInitializer initializer = new UserIndexInitializer(mongoTemplate, mappingContext);
+		ReflectionTestUtils.setField(initializer, "auditEnabled", auditEnabled);
+		ReflectionTestUtils.setField(initializer, "auditCollectionType", "timeseries");
+		ReflectionTestUtils.setField(initializer, "auditRetentionDays", 365L);
+		return initializer;
+	}
+
+	@Test
+	void createsTheAuditCollectionWhenItIsMissing() {
+		MongoTemplate mongoTemplate = mock(MongoTemplate.class, RETURNS_MOCKS);
+		when(mongoTemplate.collectionExists(AuditEvent.class)).thenReturn(false);
+
+		initializer(mongoTemplate, true).ensureIndexes();
+
+		verify(mongoTemplate).createCollection(eq(AuditEvent.class), any(CollectionOptions.class));
+	}
+
+	@Test
+	void leavesTheAuditCollectionAloneWhenAuditingIsDisabled() {
+		// A time-series collection needs MongoDB 5.0+, so it must not be required when nothing is audited
+		MongoTemplate mongoTemplate = mock(MongoTemplate.class, RETURNS_MOCKS);
+
+		initializer(mongoTemplate, false).ensureIndexes();
+
+		verify(mongoTemplate, never()).collectionExists(AuditEvent.class);
+		verify(mongoTemplate, never()).createCollection(eq(AuditEvent.class), any(CollectionOptions.class));
+		verify(mongoTemplate).indexOps(User.class);
+	}
+}
@@ -0,0 +1,186 @@
+package com.assessment.repository;
+
+import com.assessment.model.User;
+import com.assessment.model.UserView;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks the read model's queries against the in-memory repository and its updater against {@link LocalChangeFeed}.
+ *
+ * - The last test follows a real change stream; set MONGO_TEST_URI to a replica set (a single node started
+ *   with --replSet and rs.initiate() is enough) to run it.
+ */
+class UserReadModelTests {
+
+	private static UserView user(String lastName, String email, String role, long version) {
+		return new UserView(new ObjectId().toHexString(), "John", lastName, email, "123", role, version);
+	}
+
+	private static UserChange change(UserView user) {
+		return new UserChange(user.id(), user, Instant.now());
+	}
+
+	@Test
+	void searchesAndCountsLikeTheRepository() {
+		InMemoryUserRepository repository = new InMemoryUserRepository();
+		UserReadModel model = new UserReadModel();
+		Random random = new Random(42);
+		String[] lastNames = { "Smith", "Smythe", "Adams", "Baker", "Sm", null };
+		for (int i = 0; i < 60; i++) {
+			User user = new User();
+			user.setFirstName("John");
+			user.setLastName(lastNames[random.nextInt(lastNames.length)]);
+			user.setEmail("user" + random.nextInt(1000) + "-" + i + "@example.com");
+			user.setMobileNumber(random.nextBoolean() ? "123" : "456");
+			user.setRole(random.nextInt(4) == 0 ? "ADMIN" : "USER");
+			model.apply(change(UserView.of(repository.insert(user))));
+		}
+
+		for (UserSearch.SortKey sortKey : UserSearch.SortKey.values()) {
+			for (UserSearch search : List.of(
+					new UserSearch(null, null, null, null, sortKey),
+					new UserSearch("ADMIN", null, null, null, sortKey),
+					new UserSearch("USER", "user1", null, null, sortKey),
+					new UserSearch(null, null, "Sm", "456", sortKey),
+					new UserSearch("USER", null, "Smith", null, sortKey))) {
+				assertEquals(allPages(repository, search), allPages(model, search), search.toString());
+				assertEquals(repository.countMatching(search), model.countMatching(search), search.toString());
+			}
+		}
+		assertEquals(repository.estimatedCount(), model.estimatedCount());
+	}
+
+	@Test
+	void updatesMoveUsersBetweenIndexesAndOlderVersionsAreIgnored() {
+		UserReadModel model = new UserReadModel();
+		UserView john = user("Doe", "john@example.com", "USER", 0);
+		model.apply(change(john));
+		String inserted = model.collectionVersion();
+
+		UserView renamed = new UserView(john.id(), "John", "Roe", "johnny@example.com", "123", "ADMIN", 1);
+		model.apply(change(renamed));
+		String updated = model.collectionVersion();
+		model.apply(change(john)); // Replayed after a scan that already saw version 1
+		assertNotEquals(inserted, updated); // Even within the same millisecond
+		assertEquals(updated, model.collectionVersion());
+
+		assertEquals(renamed, model.findViewById(john.id()).orElseThrow());
+		assertEquals(List.of(renamed), model.search(new UserSearch("ADMIN", "johnny", "Ro", null, UserSearch.SortKey.EMAIL), null, 10));
+		assertEquals(0, model.countMatching(new UserSearch("USER", null, null, null, UserSearch.SortKey.ID)));
+		assertTrue(model.search(new UserSearch(null, "john@", null, null, UserSearch.SortKey.EMAIL), null, 10).isEmpty());
+		assertTrue(model.search(new UserSearch(null, null, "Doe", null, UserSearch.SortKey.LAST_NAME), null, 10).isEmpty());
+
+		model.apply(UserChange.deleted(john.id()));
+		assertTrue(model.findViewById(john.id()).isEmpty());
+		assertEquals(0, model.countMatching(new UserSearch("ADMIN", null, null, null, UserSearch.SortKey.ID)));
+		assertNotEquals(updated, model.collectionVersion());
+		assertNotEquals(new UserReadModel().collectionVersion(), new UserReadModel().collectionVersion()); // Each copy has its own epoch
+	}
+
+	@Test
+	void updaterFollowsTheStreamResumesAfterFailuresAndFallsBackWhenStale() throws InterruptedException {
+		LocalChangeFeed feed = new LocalChangeFeed(5);
+		for (int i = 0; i < 3; i++) {
+			feed.upsert(user("Doe", "user" + i + "@example.com", "USER", 0));
+		}
+		UserReadModelUpdater updater = new UserReadModelUpdater(feed, 200, 10);
+		assertTrue(updater.readModel().isEmpty());
+
+		updater.start();
+		try {
+			await(() -> updater.readModel().isPresent());
+			assertEquals(3, updater.readModel().get().estimatedCount());
+			assertTrue(updater.stalenessMillis() <= 200);
+
+			UserView jane = user("Roe", "jane@example.com", "ADMIN", 0);
+			feed.upsert(jane);
+			await(() -> updater.readModel().orElseThrow().findViewById(jane.id()).isPresent());
+
+			feed.failNextPoll(); // Resumed from its token, without a new scan
+			feed.delete(jane.id());
+			await(() -> updater.readModel().orElseThrow().findViewById(jane.id()).isEmpty());
+			assertEquals(1, feed.scans());
+
+			synchronized (feed) { // Holds the stream back until the oplog has moved past its token
+				feed.failNextPoll();
+				for (int i = 0; i < 10; i++) {
+					feed.upsert(user("Poe", "late" + i + "@example.com", "USER", 0));
+				}
+			}
+			await(() -> feed.scans() == 2 && updater.readModel().orElseThrow().estimatedCount() == 13);
+		} finally {
+			updater.stop();
+		}
+
+		Thread.sleep(300);
+		assertTrue(updater.readModel().isEmpty(), "A model that stopped following must not serve reads");
+	}
+
+	@Test
+	void mongoChangeStreamFeedsTheReadModel() throws InterruptedException {
+		String uri = System.getenv("MONGO_TEST_URI");
+		assumeTrue(uri != null, "Set MONGO_TEST_URI to a replica set to follow a real change stream");
+
+		try (MongoClient client = MongoClients.create(uri)) {
+			MongoTemplate template = new MongoTemplate(client, "runloyal_read_model");
+			template.dropCollection(User.class);
+			template.createCollection(User.class);
+			User john = new User();
+			john.setEmail("john@example.com");
+			john.setPassword("hash");
+			john.setRole("USER");
+			template.insert(john);
+
+			UserReadModelUpdater updater = new UserReadModelUpdater(new MongoUserChangeFeed(template, 100), 2000, 100);
+			updater.start();
+			try {
+				await(() -> updater.readModel().isPresent());
+				template.updateFirst(Query.query(Criteria.where("_id").is(john.getId())),
+						new Update().set("role", "ADMIN").inc("version", 1), User.class);
+				await(() -> updater.readModel().orElseThrow().findViewById(john.getId())
+						.map(user -> user.role().equals("ADMIN")).orElse(false));
+
+				template.remove(Query.query(Criteria.where("_id").is(john.getId())), User.class);
+				await(() -> updater.readModel().orElseThrow().estimatedCount() == 0);
+			} finally {
+				updater.stop();
+				template.dropCollection(User.class);
+			}
+		}
+	}
+
+	private static List<UserView> allPages(UserViewQueries queries, UserSearch search) {
+		List<UserView> all = new ArrayList<>();
+		UserSearch.Position after = null;
+		List<UserView> page;
+		while (!(page = queries.search(search, after, 7)).isEmpty()) {
+			all.addAll(page);
+			UserView last = page.get(page.size() - 1);
+			after = new UserSearch.Position(search.sortKey().sortValue(last), last.id());
+		}
+		return all;
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for the read model");
+			Thread.sleep(5);
+		}
+	}
+}
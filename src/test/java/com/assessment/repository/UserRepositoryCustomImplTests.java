@@ -0,0 +1,60 @@
+package com.assessment.repository;
+
+import com.assessment.model.User;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UserRepositoryCustomImplTests {
+
+	@Test
+	void versionZeroAlsoMatchesUsersStoredBeforeVersioning() {
+		Document unversioned = UserRepositoryCustomImpl.atVersion(Criteria.where("_id").is("a"), 0).getCriteriaObject();
+		Document versioned = UserRepositoryCustomImpl.atVersion(Criteria.where("_id").is("a"), 3).getCriteriaObject();
+
+		// $in with null matches a missing field as well as an explicit 0
+		assertEquals(new Document("$in", Arrays.asList(0L, null)), unversioned.get("version"));
+		assertEquals(3L, versioned.get("version"));
+	}
+
+	@Test
+	void everyWriteMovesTheCollectionVersionOnAfterItIsMade() {
+		MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+		UserRepositoryCustomImpl repository = new UserRepositoryCustomImpl(mongoTemplate);
+		User user = new User();
+		when(mongoTemplate.insert(user)).thenReturn(user);
+
+		repository.insert(user);
+
+		InOrder order = inOrder(mongoTemplate);
+		order.verify(mongoTemplate).insert(user);
+		order.verify(mongoTemplate).upsert(any(Query.class), any(Update.class), eq(UserWriteCounter.COLLECTION));
+
+		repository.updateFields("a", null, 3L, Map.of("firstName", "John")); // No user matched
+		verify(mongoTemplate, times(1)).upsert(any(Query.class), any(Update.class), eq(UserWriteCounter.COLLECTION));
+
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class)))
+				.thenReturn(user);
+		repository.updateFields("a", null, null, Map.of("firstName", "John"));
+		verify(mongoTemplate, times(2)).upsert(any(Query.class), any(Update.class), eq(UserWriteCounter.COLLECTION));
+	}
+
+	@Test
+	void collectionVersionCountsWritesRatherThanReadingAClock() {
+		assertEquals("0.0", UserWriteCounter.version(null, 0));
+		assertEquals("z.2", UserWriteCounter.version(new Document("writes", 35L), 2));
+		assertNotEquals(UserWriteCounter.version(new Document("writes", 1), 2), UserWriteCounter.version(new Document("writes", 2), 2));
+	}
+}
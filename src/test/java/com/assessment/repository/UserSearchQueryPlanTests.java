@@ -0,0 +1,201 @@
+package com.assessment.repository;
+
+import com.assessment.model.User;
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that every filter and sort key the user search supports is answered from an index, in order.
+ *
+ * - The offline tests are heuristics over the indexes declared on User, so they run without a database:
+ *   a filter needs an index that leads with one of its fields, and a page's hint must name a declared index
+ *   that is its equality filters followed by its sort order. They do not run the planner, so they cannot prove
+ *   which plan wins or that it has no blocking SORT stage.
+ * - The explain test asks a real MongoDB for the winning plans and fails on a COLLSCAN, an in-memory SORT, or an
+ *   index walk that examines many more keys than it returns; set MONGO_TEST_URI to run it.
+ */
+class UserSearchQueryPlanTests {
+
+	@Test
+	void prefixBoundsCoverExactlyTheStringsWithThePrefix() {
+		assertEquals("abd", UserSearch.successor("abc"));
+		assertEquals("a", UserSearch.successor("`"));
+		assertEquals("ab" + new String(Character.toChars(0x1F601)), UserSearch.successor("ab" + new String(Character.toChars(0x1F600))));
+		assertEquals("b", UserSearch.successor("a" + new String(Character.toChars(Character.MAX_CODE_POINT))));
+		assertNull(UserSearch.successor(""));
+	}
+
+	@Test
+	void everySupportedQueryLeadsWithAnIndexedField() {
+		// Heuristic: a leading indexed field keeps the plan off a COLLSCAN, but says nothing about its sort
+		Set<String> leadingFields = declaredIndexes().stream().map(index -> index.get(0)).collect(Collectors.toSet());
+
+		for (Query query : supportedQueries()) {
+			Set<String> filtered = query.getQueryObject().keySet();
+			if (filtered.isEmpty()) {
+				String sortField = query.getSortObject().keySet().iterator().next();
+				assertTrue(leadingFields.contains(sortField), "Unindexed sort: " + query);
+			} else {
+				assertTrue(filtered.stream().anyMatch(leadingFields::contains), "Collection scan: " + query);
+			}
+		}
+	}
+
+	@Test
+	void everyPageIsHintedToAnIndexThatReturnsItInOrder() {
+		// Heuristic: an index of equality filters followed by the sort order needs no SORT stage
+		Set<List<String>> indexes = declaredIndexes();
+
+		for (Query query : supportedQueries()) {
+			List<String> sort = List.copyOf(query.getSortObject().keySet());
+			if (sort.isEmpty()) {
+				continue; // A count
+			}
+			List<String> hint = List.copyOf(Document.parse(query.getHint()).keySet());
+			assertTrue(indexes.contains(hint), "Hint names no declared index: " + query);
+			assertEquals(sort, hint.subList(hint.size() - sort.size(), hint.size()), "Index does not provide the sort: " + query);
+			for (String field : hint.subList(0, hint.size() - sort.size())) {
+				Object condition = query.getQueryObject().get(field);
+				assertTrue(condition != null && !(condition instanceof Document), "Index prefix is not an equality filter: " + query);
+			}
+		}
+	}
+
+	@Test
+	void aPageEndingOnANullLastNameResumesAmongTheNullsThenTheStrings() {
+		String id = "0123456789abcdef01234567";
+		Query query = new UserSearch(null, null, null, null, UserSearch.SortKey.LAST_NAME)
+				.pageQuery(new UserSearch.Position(null, id), 10);
+
+		assertEquals(Document.parse("{$or: [{lastName: null, _id: {$gt: '" + id + "'}}, {lastName: {$gte: ''}}]}"),
+				query.getQueryObject());
+	}
+
+	@Test
+	void prefixFiltersBoundTheIndexWalkUnlessAMobileNumberDoes() {
+		assertEquals(UserSearch.SortKey.EMAIL, UserSearch.of(null, "user1", "Last1", null, null).sortKey());
+		assertEquals(UserSearch.SortKey.LAST_NAME, UserSearch.of("USER", null, "Last1", null, null).sortKey());
+		assertEquals(UserSearch.SortKey.ID, UserSearch.of(null, "user1", null, "+15551", null).sortKey());
+		assertThrows(IllegalArgumentException.class, () -> UserSearch.of(null, "user1", null, null, "id"));
+		assertThrows(IllegalArgumentException.class, () -> UserSearch.of("USER", null, "Last1", null, "email"));
+
+		for (Query query : supportedQueries()) {
+			if (query.getHint() == null || query.getQueryObject().containsKey("mobileNumber")) {
+				continue;
+			}
+			boolean hasPrefix = query.getQueryObject().values().stream().anyMatch(Document.class::isInstance);
+			List<String> hint = List.copyOf(Document.parse(query.getHint()).keySet());
+			String walked = hint.stream().filter(field -> !query.getQueryObject().containsKey(field)
+					|| query.getQueryObject().get(field) instanceof Document).findFirst().orElseThrow();
+			assertEquals(hasPrefix, query.getQueryObject().get(walked) instanceof Document,
+					"Prefix does not bound the walk of " + hint + ": " + query);
+		}
+	}
+
+	@Test
+	void winningPlansNeverScanTheCollectionOrSortInMemory() {
+		String uri = System.getenv("MONGO_TEST_URI");
+		assumeTrue(uri != null, "Set MONGO_TEST_URI to check query plans against a MongoDB server");
+
+		try (MongoClient client = MongoClients.create(uri)) {
+			MongoTemplate template = new MongoTemplate(client, "runloyal_query_plans");
+			template.dropCollection(User.class);
+			new UserIndexInitializer(template, (MongoMappingContext) template.getConverter().getMappingContext()).ensureIndexes();
+			for (int i = 0; i < 100; i++) {
+				template.insert(new Document(Map.of("firstName", "First" + i, "lastName", "Last" + i,
+						"email", "user" + i + "@example.com", "mobileNumber", "+1555" + i, "role", i % 10 == 0 ? "ADMIN" : "USER")), "users");
+			}
+
+			try {
+				for (Query query : supportedQueries()) {
+					FindIterable<Document> find = template.getCollection("users")
+							.find(query.getQueryObject())
+							.sort(query.getSortObject())
+							.limit(query.getLimit());
+					if (query.getHint() != null) {
+						find.hint(Document.parse(query.getHint()));
+					}
+					Document explain = find.explain(ExplainVerbosity.EXECUTION_STATS);
+					Document winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+					assertFalse(containsStage(winningPlan, "COLLSCAN"), "Collection scan for " + query + ": " + winningPlan.toJson());
+					assertFalse(containsStage(winningPlan, "SORT"), "In-memory sort for " + query + ": " + winningPlan.toJson());
+					// A walk from MinKey to MaxKey examines every key; a bounded one stops just past the last match
+					Document stats = explain.get("executionStats", Document.class);
+					int returned = stats.getInteger("nReturned");
+					assertTrue(stats.getInteger("totalKeysExamined") <= returned + 2,
+							"Examined " + stats.get("totalKeysExamined") + " keys for " + returned + " users: " + query);
+				}
+			} finally {
+				template.dropCollection(User.class);
+			}
+		}
+	}
+
+	/**
+	 * Every combination of filters with every sort key the search accepts, as first pages, plus the count of every
+	 * filter combination.
+	 */
+	private static List<Query> supportedQueries() {
+		List<Query> queries = new ArrayList<>();
+		for (int filters = 0; filters < 16; filters++) {
+			for (UserSearch.SortKey sortKey : UserSearch.SortKey.values()) {
+				UserSearch search = new UserSearch(
+						(filters & 1) != 0 ? "USER" : null,
+						(filters & 2) != 0 ? "user1" : null,
+						(filters & 4) != 0 ? "Last1" : null,
+						(filters & 8) != 0 ? "+15551" : null,
+						sortKey);
+				if (search.isBoundedByIndex()) {
+					queries.add(search.pageQuery(null, 50));
+				}
+				if (search.hasFilters() && sortKey == UserSearch.SortKey.ID) {
+					queries.add(search.countQuery());
+				}
+			}
+		}
+		return queries;
+	}
+
+	/**
+	 * The keys of every index declared on User, plus the _id index MongoDB creates itself.
+	 */
+	private static Set<List<String>> declaredIndexes() {
+		MongoMappingContext mappingContext = new MongoMappingContext();
+		mappingContext.setSimpleTypeHolder(MongoCustomConversions.create(conversions -> {}).getSimpleTypeHolder());
+		Set<List<String>> indexes = StreamSupport.stream(new MongoPersistentEntityIndexResolver(mappingContext)
+						.resolveIndexFor(User.class).spliterator(), false)
+				.map(index -> List.copyOf(index.getIndexKeys().keySet()))
+				.collect(Collectors.toSet());
+		indexes.add(List.of("_id"));
+		return indexes;
+	}
+
+	private static boolean containsStage(Object plan, String stage) {
+		if (plan instanceof Document document) {
+			return stage.equals(document.get("stage"))
+					|| document.values().stream().anyMatch(value -> containsStage(value, stage));
+		}
+		if (plan instanceof Iterable<?> values) {
+			return StreamSupport.stream(values.spliterator(), false).anyMatch(value -> containsStage(value, stage));
+		}
+		return false;
+	}
+}
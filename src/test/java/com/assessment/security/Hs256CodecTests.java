@@ -0,0 +1,107 @@
+package com.assessment.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+import java.security.Key;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Hs256CodecTests {
+
+	private final Key key = Keys.hmacShaKeyFor(Base64.getEncoder().encode("testSecretKeyThatIsAtLeast32CharactersLong!".getBytes()));
+	private final Hs256Codec codec = new Hs256Codec(key.getEncoded());
+	private final JwtParser jjwt = Jwts.parserBuilder().setSigningKey(key).build();
+
+	private static long nowSeconds() {
+		return System.currentTimeMillis() / 1000;
+	}
+
+	@Test
+	void jjwtVerifiesCodecTokens() {
+		String token = codec.encode("john@example.com", "65f1c0ffee", 3L, "ADMIN", "s1", nowSeconds(), nowSeconds() + 60);
+
+		Claims claims = jjwt.parseClaimsJws(token).getBody();
+
+		assertEquals("john@example.com", claims.getSubject());
+		assertEquals("65f1c0ffee", claims.get(JwtUtil.USER_ID_CLAIM));
+		assertEquals(3, claims.get(JwtUtil.TOKEN_VERSION_CLAIM, Number.class).intValue());
+		assertEquals("ADMIN", claims.get(JwtUtil.ROLE_CLAIM));
+		assertEquals("s1", claims.get(JwtUtil.SESSION_ID_CLAIM));
+	}
+
+	@Test
+	void codecDecodesJjwtTokensToTheSameClaims() {
+		String token = Jwts.builder()
+				.setSubject("j\u00f6hn@example.com")
+				.claim(JwtUtil.USER_ID_CLAIM, "65f1c0ffee")
+				.claim(JwtUtil.TOKEN_VERSION_CLAIM, 7L)
+				.setIssuedAt(new Date())
+				.setExpiration(new Date(System.currentTimeMillis() + 60_000))
+				.claim(JwtUtil.ROLE_CLAIM, "USER")
+				.signWith(key, SignatureAlgorithm.HS256)
+				.compact();
+
+		assertTrue(token.startsWith(Hs256Codec.HEADER + "."));
+		assertEquals(jjwt.parseClaimsJws(token).getBody(), codec.decode(token));
+	}
+
+	@Test
+	void decodeRejectsTamperedAndExpiredTokens() {
+		String token = codec.encode("john@example.com", null, null, null, null, nowSeconds(), nowSeconds() + 60);
+		int signatureStart = token.lastIndexOf('.') + 1; // All six bits of the first signature character are used
+		char first = token.charAt(signatureStart);
+		String tampered = token.substring(0, signatureStart) + (first == 'A' ? 'B' : 'A') + token.substring(signatureStart + 1);
+		String expired = codec.encode("john@example.com", null, null, null, null, nowSeconds() - 120, nowSeconds() - 60);
+
+		assertEquals("john@example.com", codec.decode(token).getSubject());
+		assertThrows(SignatureException.class, () -> codec.decode(tampered));
+		assertThrows(ExpiredJwtException.class, () -> codec.decode(expired));
+	}
+
+	@Test
+	void decodeRejectsNonCanonicalSignatureEndings() {
+		String token = codec.encode("john@example.com", null, null, null, null, nowSeconds(), nowSeconds() + 60);
+
+		// 32 bytes take 43 characters; the low two bits of the last one carry no signature bits
+		for (String variant : withUnusedBitsSet(token)) {
+			assertThrows(SignatureException.class, () -> codec.decode(variant), variant);
+		}
+	}
+
+	static List<String> withUnusedBitsSet(String token) {
+		String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+		int last = alphabet.indexOf(token.charAt(token.length() - 1));
+		return IntStream.rangeClosed(1, 3)
+				.mapToObj(bits -> token.substring(0, token.length() - 1) + alphabet.charAt(last | bits))
+				.toList();
+	}
+
+	@Test
+	void nonStandardTokensAreLeftToJjwt() {
+		String withOtherClaim = Jwts.builder()
+				.setSubject("john@example.com")
+				.setNotBefore(new Date())
+				.signWith(key, SignatureAlgorithm.HS256)
+				.compact();
+		String withTypHeader = Jwts.builder()
+				.setHeaderParam("typ", "JWT")
+				.setSubject("john@example.com")
+				.signWith(key, SignatureAlgorithm.HS256)
+				.compact();
+
+		assertNull(codec.decode(withOtherClaim));
+		assertNull(codec.decode(withTypHeader));
+		assertNull(codec.decode("not-a-token"));
+		assertNull(codec.encode("john\"@example.com", null, null, null, null, nowSeconds(), nowSeconds() + 60));
+	}
+}
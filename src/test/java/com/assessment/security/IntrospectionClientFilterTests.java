@@ -0,0 +1,35 @@
+package com.assessment.security;
+
+import org.junit.jupiter.api.Test;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntrospectionClientFilterTests {
+
+	private static String basic(String credentials) {
+		return "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void onlyConfiguredClientsWithTheirOwnSecretAreAuthenticated() {
+		IntrospectionClientFilter filter = new IntrospectionClientFilter("orders:s3cret, billing:other:secret");
+
+		assertEquals("orders", filter.authenticatedClient(basic("orders:s3cret")));
+		assertEquals("billing", filter.authenticatedClient(basic("billing:other:secret")));
+		assertNull(filter.authenticatedClient(basic("orders:other:secret")));
+		assertNull(filter.authenticatedClient(basic("unknown:s3cret")));
+		assertNull(filter.authenticatedClient(basic("orders")));
+		assertNull(filter.authenticatedClient("Basic not base64!"));
+		assertNull(filter.authenticatedClient("Bearer s3cret"));
+		assertNull(filter.authenticatedClient(null));
+	}
+
+	@Test
+	void nobodyIsAuthenticatedWithoutConfiguredClients() {
+		assertNull(new IntrospectionClientFilter("").authenticatedClient(basic(":")));
+		assertThrows(IllegalArgumentException.class, () -> new IntrospectionClientFilter("orders"));
+		assertThrows(IllegalArgumentException.class, () -> new IntrospectionClientFilter("orders:"));
+	}
+}
@@ -0,0 +1,107 @@
+package com.assessment.security;
+
+import com.assessment.model.User;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTests {
+
+	private JwtUtil jwtUtil;
+
+	@BeforeEach
+	void setUp() {
+		jwtUtil = new JwtUtil("testSecretKeyThatIsAtLeast32CharactersLong!");
+		ReflectionTestUtils.setField(jwtUtil, "expirationMs", 60_000);
+	}
+
+	@Test
+	void verifyTokenReturnsClaimsForValidToken() {
+		String token = jwtUtil.generateToken("john@example.com");
+
+		Optional<Claims> claims = jwtUtil.verifyToken(token);
+
+		assertTrue(claims.isPresent());
+		assertEquals("john@example.com", claims.get().getSubject());
+		assertTrue(jwtUtil.validateToken(token));
+	}
+
+	@Test
+	void verifyTokenRejectsTamperedToken() {
+		String token = jwtUtil.generateToken("john@example.com");
+
+		assertTrue(jwtUtil.verifyToken(token + "x").isEmpty());
+		assertFalse(jwtUtil.validateToken("not-a-token"));
+	}
+
+	@Test
+	void subjectsNeedingEscapesFallBackToJjwt() {
+		String token = jwtUtil.generateToken("\"quoted\"@example.com");
+
+		assertEquals("\"quoted\"@example.com", jwtUtil.extractUsername(token));
+	}
+
+	@Test
+	void nonCanonicalSignatureEndingsAreRejectedOnBothPaths() {
+		for (String token : List.of(jwtUtil.generateToken("john@example.com"), jwtUtil.generateToken("\"quoted\"@example.com"))) {
+			assertTrue(jwtUtil.verifyToken(token).isPresent());
+			for (String variant : Hs256CodecTests.withUnusedBitsSet(token)) {
+				assertTrue(jwtUtil.verifyToken(variant).isEmpty(), variant);
+			}
+		}
+	}
+
+	@Test
+	void generateTokenForUserEmbedsStatelessClaims() {
+		User user = new User();
+		user.setId("user-1");
+		user.setEmail("john@example.com");
+		user.setRole("ADMIN");
+		user.setTokenVersion(3);
+
+		Claims claims = jwtUtil.verifyToken(jwtUtil.generateToken(user)).orElseThrow();
+
+		assertEquals("john@example.com", claims.getSubject());
+		assertEquals("user-1", claims.get(JwtUtil.USER_ID_CLAIM, String.class));
+		assertEquals("ADMIN", claims.get(JwtUtil.ROLE_CLAIM, String.class));
+		assertEquals(3L, claims.get(JwtUtil.TOKEN_VERSION_CLAIM, Number.class).longValue());
+	}
+
+	@Test
+	void verifiedTokenCacheVerifiesEachTokenOnce() {
+		VerifiedTokenCache cache = new VerifiedTokenCache(10);
+		AtomicInteger verifications = new AtomicInteger();
+		String token = jwtUtil.generateToken("john@example.com");
+
+		for (int i = 0; i < 3; i++) {
+			Optional<Claims> claims = cache.verify(token, t -> {
+				verifications.incrementAndGet();
+				return jwtUtil.verifyToken(t);
+			});
+			assertEquals("john@example.com", claims.map(Claims::getSubject).orElse(null));
+		}
+
+		assertEquals(1, verifications.get());
+	}
+
+	@Test
+	void verifiedTokenCacheDoesNotCacheInvalidTokens() {
+		VerifiedTokenCache cache = new VerifiedTokenCache(10);
+		AtomicInteger verifications = new AtomicInteger();
+
+		for (int i = 0; i < 2; i++) {
+			assertTrue(cache.verify("bad-token", t -> {
+				verifications.incrementAndGet();
+				return jwtUtil.verifyToken(t);
+			}).isEmpty());
+		}
+
+		assertEquals(2, verifications.get());
+	}
+}
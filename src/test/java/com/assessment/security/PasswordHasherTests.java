@@ -0,0 +1,71 @@
+package com.assessment.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTests {
+
+	private static PasswordHasher newHasher(int threads, int queueCapacity, SimpleMeterRegistry registry) {
+		BCryptCalibration calibration = new BCryptCalibration(10, 0, 4, 31, 0);
+		return new PasswordHasher(new BCryptPasswordEncoder(calibration.getStrength()), calibration,
+				threads, queueCapacity, registry);
+	}
+
+	@Test
+	void encodedPasswordMatches() throws Exception {
+		PasswordHasher hasher = newHasher(1, 10, new SimpleMeterRegistry());
+
+		String hash = hasher.encode("securepassword").get();
+
+		assertTrue(hasher.matches("securepassword", hash).get());
+		assertFalse(hasher.matches("wrongpassword", hash).get());
+		hasher.destroy();
+	}
+
+	@Test
+	void rejectsWhenQueueIsFull() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		PasswordHasher hasher = newHasher(1, 1, registry);
+
+		hasher.encode("running");
+		hasher.encode("queued");
+
+		assertThrows(RejectedExecutionException.class, () -> hasher.encode("rejected"));
+		assertEquals(1.0, registry.get("auth.password.rejected").counter().count());
+		hasher.destroy();
+	}
+
+	@Test
+	void onlyHashesBelowTheRehashCostNeedRehash() {
+		BCryptCalibration calibration = new BCryptCalibration(10, 0, 4, 31, 0);
+
+		assertFalse(calibration.needsRehash(new BCryptPasswordEncoder(10).encode("securepassword")));
+		assertTrue(calibration.needsRehash(new BCryptPasswordEncoder(4).encode("securepassword")));
+		assertFalse(calibration.needsRehash(new BCryptPasswordEncoder(12).encode("securepassword")), "Never downgraded");
+		assertFalse(calibration.needsRehash("not-a-bcrypt-hash"));
+
+		BCryptCalibration calibrated = new BCryptCalibration(0, 60_000, 4, 6, 5); // Calibrates to 6
+		assertFalse(calibrated.needsRehash(new BCryptPasswordEncoder(5).encode("securepassword")));
+		assertTrue(calibrated.needsRehash(new BCryptPasswordEncoder(4).encode("securepassword")));
+	}
+
+	@Test
+	void defaultSettingsUpgradeHashesBelowTheCalibratedCost() {
+		BCryptCalibration calibrated = new BCryptCalibration(0, 60_000, 10, 12, 0); // Calibrates to 12
+		assertEquals(12, calibrated.getStrength());
+
+		assertTrue(calibrated.needsRehash(new BCryptPasswordEncoder(10).encode("securepassword")));
+		assertFalse(calibrated.needsRehash(new BCryptPasswordEncoder(11).encode("securepassword")), "Within one step of drift");
+	}
+
+	@Test
+	void calibrationStaysWithinBounds() {
+		assertEquals(4, new BCryptCalibration(0, 1, 4, 6, 0).getStrength());
+		int strength = new BCryptCalibration(0, 60_000, 4, 6, 0).getStrength();
+		assertEquals(6, strength);
+	}
+}
@@ -0,0 +1,41 @@
+package com.assessment.security;
+
+import com.assessment.repository.InMemoryRefreshTokenStore;
+import org.junit.jupiter.api.Test;
+import java.time.Instant;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionRevocationListTests {
+
+	@Test
+	void bloomFilterHasNoFalseNegativesAndFewFalsePositives() {
+		BloomFilter filter = new BloomFilter(1000, 0.01);
+		IntStream.range(0, 1000).forEach(i -> filter.put("revoked-" + i));
+
+		assertTrue(IntStream.range(0, 1000).allMatch(i -> filter.mightContain("revoked-" + i)));
+		long falsePositives = IntStream.range(0, 10_000).filter(i -> filter.mightContain("active-" + i)).count();
+		assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+	}
+
+	@Test
+	void refreshLoadsRevocationsFromOtherNodesAndDropsExpiredOnes() {
+		InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore();
+		SessionRevocationList list = new SessionRevocationList(store, 2, 0.01);
+		Instant now = Instant.now();
+
+		store.revokeSession("remote", now, now.plusSeconds(60));
+		list.record("expired", now.minusSeconds(1));
+		for (int i = 0; i < 5; i++) {
+			list.record("local-" + i, now.plusSeconds(60)); // Grows past the filter's capacity
+		}
+		list.refresh();
+
+		assertTrue(list.isRevoked("remote"));
+		assertTrue(IntStream.range(0, 5).allMatch(i -> list.isRevoked("local-" + i)));
+		assertFalse(list.isRevoked("expired"));
+		assertFalse(list.isRevoked("active"));
+		assertFalse(list.isRevoked(null));
+	}
+}
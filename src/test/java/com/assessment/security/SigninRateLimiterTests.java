@@ -0,0 +1,66 @@
+package com.assessment.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SigninRateLimiterTests {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	@Test
+	void bucketsAllowABurstThenRefillAtTheConfiguredRate() {
+		StripedTokenBuckets buckets = new StripedTokenBuckets(4, 1000, 3, SECOND);
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, buckets.tryAcquire("key", 0));
+		}
+		assertEquals(SECOND, buckets.tryAcquire("key", 0));
+		assertEquals(SECOND / 2, buckets.tryAcquire("key", SECOND / 2));
+		assertEquals(0, buckets.tryAcquire("key", SECOND));
+		assertEquals(0, buckets.tryAcquire("other", SECOND)); // Keys have separate buckets
+	}
+
+	@Test
+	void sweepDropsOnlyRefilledBucketsAndStripesStayBounded() {
+		StripedTokenBuckets buckets = new StripedTokenBuckets(4, 8, 2, SECOND);
+		buckets.tryAcquire("idle", 0);
+		buckets.tryAcquire("busy", 0);
+		buckets.tryAcquire("busy", 0);
+
+		assertEquals(1, buckets.sweep(SECOND)); // "idle" is full again, "busy" still has one token to regain
+		assertEquals(1, buckets.size());
+		assertEquals(1, buckets.sweep(2 * SECOND));
+
+		for (int i = 0; i < 1000; i++) {
+			buckets.tryAcquire("key-" + i, 0);
+		}
+		assertTrue(buckets.size() <= 8, "buckets: " + buckets.size());
+	}
+
+	@Test
+	void limiterChecksTheAddressBeforeTheEmailAndCountsRejections() {
+		SigninRateLimiter limiter = new SigninRateLimiter(true, 4, 2, 60_000, 1000, 1, 60_000, 1000);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		limiter.bindTo(registry);
+
+		assertEquals(0, limiter.acquire("john@example.com", "10.0.0.1"));
+		assertEquals(60, limiter.acquire("JOHN@example.com", "10.0.0.2")); // Same email, other address
+		assertEquals(0, limiter.acquire("jane@example.com", "10.0.0.1"));
+		assertTrue(limiter.acquire("mary@example.com", "10.0.0.1") > 0); // Address exhausted first
+		assertEquals(0, limiter.acquire("mary@example.com", "10.0.0.3")); // So mary's budget is untouched
+
+		assertEquals(1, registry.get("auth.signin.rejected").tag("limit", "email").counter().count());
+		assertEquals(1, registry.get("auth.signin.rejected").tag("limit", "address").counter().count());
+	}
+
+	@Test
+	void ipv6ClientsShareTheirSlash64() {
+		assertEquals(SigninRateLimiter.addressKey("2001:db8:1:2::1"), SigninRateLimiter.addressKey("2001:db8:1:2:ffff::7"));
+		assertNotEquals(SigninRateLimiter.addressKey("2001:db8:1:2::1"), SigninRateLimiter.addressKey("2001:db8:1:3::1"));
+		assertEquals("192.0.2.1", SigninRateLimiter.addressKey("192.0.2.1"));
+		assertEquals("192.0.2.1", SigninRateLimiter.addressKey("::ffff:192.0.2.1"));
+	}
+}
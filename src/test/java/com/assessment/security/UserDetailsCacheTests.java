@@ -0,0 +1,51 @@
+package com.assessment.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserDetailsCacheTests {
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	private final Function<String, UserDetails> loader = email -> {
+		loads.incrementAndGet();
+		return User.withUsername(email).password("hash").roles("USER").build();
+	};
+
+	@Test
+	void repeatedLookupsHitTheCache() {
+		UserDetailsCache cache = new UserDetailsCache(60_000, 100);
+
+		cache.get("john@example.com", loader);
+		cache.get("john@example.com", loader);
+
+		assertEquals(1, loads.get());
+		assertEquals(1, cache.stats().hitCount());
+		assertEquals(1, cache.stats().missCount());
+	}
+
+	@Test
+	void evictForcesReload() {
+		UserDetailsCache cache = new UserDetailsCache(60_000, 100);
+
+		cache.get("john@example.com", loader);
+		cache.evict("john@example.com");
+		cache.get("john@example.com", loader);
+
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void returnedCopiesDoNotShareErasedCredentials() {
+		UserDetailsCache cache = new UserDetailsCache(60_000, 100);
+
+		((User) cache.get("john@example.com", loader)).eraseCredentials();
+
+		assertEquals("hash", cache.get("john@example.com", loader).getPassword());
+	}
+}
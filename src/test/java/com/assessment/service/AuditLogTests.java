@@ -0,0 +1,193 @@
+package com.assessment.service;
+
+import com.assessment.model.AuditEvent;
+import com.assessment.repository.AuditEventStore;
+import com.assessment.repository.InMemoryAuditEventStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditLogTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private static AuditEvent event(int i) {
+		return AuditEvent.signinFailed(null, "user" + i + "@example.com", "10.0.0.1", "bad_credentials");
+	}
+
+	private double dropped(String reason) {
+		return meterRegistry.get("audit.events.dropped").tag("reason", reason).counter().count();
+	}
+
+	@Test
+	void ringBufferHandsOverEveryElementOnceAndInOrderPerProducer() throws InterruptedException {
+		AuditRingBuffer<long[]> buffer = new AuditRingBuffer<>(64);
+		int producers = 4;
+		int perProducer = 20_000;
+		List<Thread> threads = new ArrayList<>();
+		for (int p = 0; p < producers; p++) {
+			long producer = p;
+			Thread thread = new Thread(() -> {
+				for (long i = 0; i < perProducer; i++) {
+					while (!buffer.offer(new long[] { producer, i })) {
+						Thread.yield(); // Lets the consumer run on a single CPU
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+
+		long[] next = new long[producers];
+		int total = 0;
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (total < producers * perProducer) {
+			assertTrue(System.currentTimeMillis() < deadline, "Timed out after " + total + " elements");
+			int taken = buffer.drain(element -> assertEquals(next[(int) element[0]]++, element[1]), 100);
+			if (taken == 0) {
+				Thread.yield();
+			}
+			total += taken;
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(0, buffer.size());
+	}
+
+	@Test
+	void ringBufferRejectsOffersWhenFull() {
+		AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(3);
+		assertEquals(4, buffer.capacity());
+		for (int i = 0; i < 4; i++) {
+			assertTrue(buffer.offer(i));
+		}
+		assertFalse(buffer.offer(4));
+
+		List<Integer> taken = new ArrayList<>();
+		assertEquals(2, buffer.drain(taken::add, 2));
+		assertTrue(buffer.offer(4));
+		assertEquals(3, buffer.drain(taken::add, 10));
+		assertEquals(List.of(0, 1, 2, 3, 4), taken);
+	}
+
+	@Test
+	void eventsAreWrittenInBatches() throws InterruptedException {
+		InMemoryAuditEventStore store = new InMemoryAuditEventStore();
+		AuditLog auditLog = new AuditLog(store, 1024, 100, 50, "drop", 0, 1, meterRegistry);
+		try {
+			for (int i = 0; i < 250; i++) {
+				auditLog.record(event(i));
+			}
+			await(() -> store.findAll().size() == 250);
+			assertTrue(store.inserts() <= 5, store.inserts() + " inserts");
+			assertEquals("user0@example.com", store.findAll().get(0).getEmail());
+			assertEquals(250, meterRegistry.get("audit.events.written").counter().count());
+		} finally {
+			auditLog.destroy();
+		}
+	}
+
+	@Test
+	void fullBufferDropsOrBlocksAndShutdownFlushes() throws InterruptedException {
+		CountDownLatch writing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		InMemoryAuditEventStore stored = new InMemoryAuditEventStore();
+		AuditEventStore stalling = events -> {
+			writing.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			stored.insertAll(events);
+		};
+		AuditLog dropping = new AuditLog(stalling, 4, 2, 10_000, "drop", 0, 1, meterRegistry);
+		try {
+			dropping.record(event(0));
+			dropping.record(event(1));
+			assertTrue(writing.await(5, TimeUnit.SECONDS)); // The writer holds a full batch of 2
+
+			for (int i = 2; i < 12; i++) {
+				dropping.record(event(i));
+			}
+			assertEquals(6, dropped("full"));
+			assertEquals(4.0, meterRegistry.get("audit.events.queued").gauge().value());
+		} finally {
+			release.countDown();
+			dropping.destroy();
+		}
+		assertEquals(6, stored.findAll().size(), "Shutdown writes the events left in the buffer");
+	}
+
+	@Test
+	void blockingPolicyWaitsForSpace() throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger stored = new AtomicInteger();
+		AuditEventStore stalling = events -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			stored.addAndGet(events.size());
+		};
+		AuditLog blocking = new AuditLog(stalling, 2, 1, 0, "block", 5_000, 1, meterRegistry);
+		try {
+			for (int i = 0; i < 3; i++) {
+				blocking.record(event(i)); // One held by the writer, two in the buffer
+			}
+			await(() -> meterRegistry.get("audit.events.queued").gauge().value() == 2);
+
+			new Thread(() -> {
+				sleep(50);
+				release.countDown();
+			}).start();
+			blocking.record(event(3)); // Waits until the writer frees a slot
+			assertEquals(0, dropped("full"));
+		} finally {
+			release.countDown();
+			blocking.destroy();
+		}
+		assertEquals(4, stored.get());
+	}
+
+	@Test
+	void failedWritesAreRetriedThenDropped() throws InterruptedException {
+		AtomicInteger attempts = new AtomicInteger();
+		AuditLog auditLog = new AuditLog(events -> {
+			attempts.incrementAndGet();
+			throw new IllegalStateException("Not writable");
+		}, 16, 10, 0, "drop", 0, 1, meterRegistry);
+		try {
+			auditLog.record(event(0));
+			await(() -> dropped("write_failed") == 1);
+			assertEquals(3, attempts.get());
+		} finally {
+			auditLog.destroy();
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for the audit writer");
+			Thread.sleep(5);
+		}
+	}
+}
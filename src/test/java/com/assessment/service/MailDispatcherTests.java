@@ -0,0 +1,166 @@
+package com.assessment.service;
+
+import com.assessment.model.MailJob;
+import com.assessment.model.User;
+import com.assessment.repository.InMemoryMailOutbox;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sends queued mails to an embedded GreenMail SMTP server.
+ */
+class MailDispatcherTests {
+
+	private GreenMail greenMail;
+	private InMemoryMailOutbox outbox;
+	private SimpleMeterRegistry meterRegistry;
+
+	@BeforeEach
+	void setUp() {
+		greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+		greenMail.start();
+		outbox = new InMemoryMailOutbox();
+		meterRegistry = new SimpleMeterRegistry();
+	}
+
+	@AfterEach
+	void tearDown() {
+		greenMail.stop();
+	}
+
+	private MailDispatcher dispatcher(JavaMailSender mailSender, int batchSize, int maxAttempts) {
+		return new MailDispatcher(outbox, mailSender, "no-reply@example.com", "Welcome", 1, batchSize, 10,
+				60_000, maxAttempts, 1_000, 60_000, meterRegistry);
+	}
+
+	private static JavaMailSenderImpl mailSender(int port) {
+		JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+		mailSender.setHost("127.0.0.1");
+		mailSender.setPort(port);
+		return mailSender;
+	}
+
+	private static User user(int i) {
+		User user = new User();
+		user.setId("user" + i);
+		user.setFirstName("John");
+		user.setEmail("john" + i + "@example.com");
+		return user;
+	}
+
+	private double counter(String name) {
+		return meterRegistry.get(name).counter().count();
+	}
+
+	@Test
+	void dispatchSendsDueMailsInBatchesAndDeletesThem() throws Exception {
+		MailDispatcher dispatcher = dispatcher(mailSender(greenMail.getSmtp().getPort()), 10, 3);
+		for (int i = 0; i < 25; i++) {
+			dispatcher.enqueueWelcome(user(i));
+		}
+		assertEquals(0, greenMail.getReceivedMessages().length);
+
+		Instant now = Instant.now();
+		assertEquals(10, dispatcher.dispatchDue(now));
+		assertEquals(10, dispatcher.dispatchDue(now));
+		assertEquals(5, dispatcher.dispatchDue(now));
+		assertEquals(0, dispatcher.dispatchDue(now));
+
+		MimeMessage[] received = greenMail.getReceivedMessages();
+		assertEquals(25, received.length);
+		assertEquals("Welcome", received[0].getSubject());
+		assertTrue(outbox.findAll().isEmpty());
+		assertEquals(25, counter("mail.sent"));
+	}
+
+	@Test
+	void failedMailsBackOffThenDie() throws IOException {
+		int closedPort;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			closedPort = socket.getLocalPort();
+		}
+		MailDispatcher dispatcher = dispatcher(mailSender(closedPort), 10, 3);
+		dispatcher.enqueueWelcome(user(1));
+
+		Instant now = Instant.now();
+		assertEquals(1, dispatcher.dispatchDue(now));
+		MailJob job = outbox.findAll().get(0);
+		assertEquals(MailJob.PENDING, job.getStatus());
+		assertEquals(1, job.getAttempts());
+		assertNotNull(job.getLastError());
+		long delay = Duration.between(now, job.getNextAttemptAt()).toMillis();
+		assertTrue(delay >= 500 && delay <= 1_000, "Backoff of " + delay + " ms");
+		assertEquals(0, dispatcher.dispatchDue(now), "Not due again before its backoff");
+
+		assertEquals(1, dispatcher.dispatchDue(now.plusSeconds(60)));
+		assertEquals(1, dispatcher.dispatchDue(now.plusSeconds(120)));
+		job = outbox.findAll().get(0);
+		assertEquals(MailJob.DEAD, job.getStatus());
+		assertEquals(3, job.getAttempts());
+		assertEquals(0, dispatcher.dispatchDue(now.plusSeconds(3600)));
+		assertEquals(2, counter("mail.retried"));
+		assertEquals(1, counter("mail.dead"));
+	}
+
+	@Test
+	void backoffDoublesUpToTheCap() {
+		MailDispatcher dispatcher = dispatcher(mailSender(greenMail.getSmtp().getPort()), 10, 3);
+		for (int attempts = 1; attempts <= 40; attempts++) {
+			long full = Math.min(60_000, 1_000L << Math.min(attempts - 1, 30));
+			long delay = dispatcher.backoff(attempts);
+			assertTrue(delay >= full / 2 && delay <= full, attempts + " attempts: " + delay + " ms");
+		}
+	}
+
+	@Test
+	void signupQueuesMailWhileTheMailServerStalls() throws Exception {
+		CountDownLatch sending = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		JavaMailSenderImpl stalling = new JavaMailSenderImpl() {
+			@Override
+			public void send(MimeMessage... mimeMessages) {
+				sending.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				super.send(mimeMessages);
+			}
+		};
+		stalling.setHost("127.0.0.1");
+		stalling.setPort(greenMail.getSmtp().getPort());
+		MailDispatcher dispatcher = dispatcher(stalling, 10, 3);
+
+		dispatcher.start();
+		try {
+			dispatcher.enqueueWelcome(user(1));
+			assertTrue(sending.await(5, TimeUnit.SECONDS));
+
+			dispatcher.enqueueWelcome(user(2)); // Returns although the dispatcher is stuck on the server
+			assertEquals(1, release.getCount());
+			assertEquals(2, outbox.findAll().size());
+
+			release.countDown();
+			assertTrue(greenMail.waitForIncomingEmail(5_000, 2));
+		} finally {
+			release.countDown();
+			dispatcher.destroy();
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package com.assessment.service;
+
+import com.assessment.model.User;
+import com.assessment.repository.InMemoryRefreshTokenStore;
+import com.assessment.repository.InMemoryUserRepository;
+import com.assessment.security.JwtUtil;
+import com.assessment.security.SessionRevocationList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RefreshTokenServiceTests {
+
+	private JwtUtil jwtUtil;
+	private SessionRevocationList revocationList;
+	private RefreshTokenService service;
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		jwtUtil = new JwtUtil("testSecretKeyThatIsAtLeast32CharactersLong!");
+		ReflectionTestUtils.setField(jwtUtil, "expirationMs", 60_000);
+		InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore();
+		InMemoryUserRepository users = new InMemoryUserRepository();
+		revocationList = new SessionRevocationList(store, 100, 0.01);
+		service = new RefreshTokenService(store, users, jwtUtil, revocationList, 3_600_000);
+
+		user = new User();
+		user.setEmail("john@example.com");
+		user.setRole("USER");
+		users.insert(user);
+	}
+
+	private String sessionOf(TokenPair tokens) {
+		return jwtUtil.verifyToken(tokens.accessToken()).orElseThrow().get(JwtUtil.SESSION_ID_CLAIM, String.class);
+	}
+
+	@Test
+	void refreshRotatesTokensWithinTheSession() {
+		TokenPair first = service.startSession(user);
+
+		TokenPair second = service.refresh(first.refreshToken()).orElseThrow();
+
+		assertNotEquals(first.refreshToken(), second.refreshToken());
+		assertEquals(sessionOf(first), sessionOf(second));
+		assertEquals("john@example.com", jwtUtil.extractUsername(second.accessToken()));
+		assertTrue(service.refresh("unknown").isEmpty());
+	}
+
+	@Test
+	void reusingARefreshTokenRevokesTheSession() {
+		TokenPair first = service.startSession(user);
+		TokenPair second = service.refresh(first.refreshToken()).orElseThrow();
+		TokenPair otherSession = service.startSession(user);
+
+		assertTrue(service.refresh(first.refreshToken()).isEmpty()); // Replayed
+
+		assertTrue(revocationList.isRevoked(sessionOf(second)));
+		assertTrue(service.refresh(second.refreshToken()).isEmpty());
+		assertFalse(revocationList.isRevoked(sessionOf(otherSession)));
+	}
+
+	@Test
+	void revokeUserSessionsRevokesEverySession() {
+		TokenPair first = service.startSession(user);
+		TokenPair second = service.startSession(user);
+
+		service.revokeUserSessions(user.getId());
+
+		assertTrue(revocationList.isRevoked(sessionOf(first)));
+		assertTrue(revocationList.isRevoked(sessionOf(second)));
+		assertTrue(service.refresh(first.refreshToken()).isEmpty());
+	}
+}
@@ -0,0 +1,165 @@
+package com.assessment.service;
+
+import com.assessment.model.IntrospectionResponse;
+import com.assessment.model.TokenIntrospection;
+import com.assessment.model.User;
+import com.assessment.repository.InMemoryRefreshTokenStore;
+import com.assessment.repository.InMemoryUserRepository;
+import com.assessment.security.JwtUtil;
+import com.assessment.security.SessionRevocationList;
+import com.assessment.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenIntrospectionServiceTests {
+
+	/**
+	 * Counts lookups, to check that a batch costs one query whatever its size.
+	 */
+	private static class CountingUserRepository extends InMemoryUserRepository {
+		final AtomicInteger batchQueries = new AtomicInteger();
+		final AtomicInteger singleQueries = new AtomicInteger();
+
+		@Override
+		public List<User> findTokenOwnersByEmailIn(Collection<String> emails) {
+			batchQueries.incrementAndGet();
+			return super.findTokenOwnersByEmailIn(emails);
+		}
+
+		@Override
+		public Optional<User> findCredentialsByEmail(String email) {
+			singleQueries.incrementAndGet();
+			return super.findCredentialsByEmail(email);
+		}
+	}
+
+	private JwtUtil jwtUtil;
+	private CountingUserRepository users;
+	private RefreshTokenService sessions;
+	private TokenIntrospectionService service;
+
+	@BeforeEach
+	void setUp() {
+		jwtUtil = new JwtUtil("testSecretKeyThatIsAtLeast32CharactersLong!");
+		ReflectionTestUtils.setField(jwtUtil, "expirationMs", 60_000);
+		InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore();
+		users = new CountingUserRepository();
+		SessionRevocationList revocationList = new SessionRevocationList(store, 100, 0.01);
+		sessions = new RefreshTokenService(store, users, jwtUtil, revocationList, 3_600_000);
+		service = new TokenIntrospectionService(jwtUtil, new VerifiedTokenCache(1000), revocationList, users,
+				100, 16, 30, new SimpleMeterRegistry());
+	}
+
+	private User user(String email, String role) {
+		User user = new User();
+		user.setEmail(email);
+		user.setRole(role);
+		return users.insert(user);
+	}
+
+	private List<TokenIntrospection> results(ResponseEntity<?> response) {
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		return ((IntrospectionResponse) response.getBody()).tokens();
+	}
+
+	private static long maxAge(ResponseEntity<?> response) {
+		return Long.parseLong(response.getHeaders().getCacheControl().replaceAll(".*max-age=(\\d+).*", "$1"));
+	}
+
+	@Test
+	void reportsEachTokenInOrderFromOneUserQuery() {
+		User john = user("john@example.com", "USER");
+		User jane = user("jane@example.com", "ADMIN");
+		User gone = user("gone@example.com", "USER");
+		String johnToken = sessions.startSession(john).accessToken();
+		String janeToken = sessions.startSession(jane).accessToken();
+		String goneToken = sessions.startSession(gone).accessToken();
+		String revokedToken = sessions.startSession(john).accessToken();
+		users.deleteById(gone.getId());
+		sessions.revokeSession(jwtUtil.verifyToken(revokedToken).orElseThrow().get(JwtUtil.SESSION_ID_CLAIM, String.class));
+
+		ResponseEntity<?> response = service.introspect(
+				List.of(johnToken, "not-a-token", janeToken, goneToken, revokedToken));
+
+		List<TokenIntrospection> results = results(response);
+		assertEquals(5, results.size());
+		assertTrue(results.get(0).active());
+		assertEquals("john@example.com", results.get(0).sub());
+		assertEquals(john.getId(), results.get(0).userId());
+		assertEquals("USER", results.get(0).role());
+		assertEquals(TokenIntrospection.inactive(), results.get(1));
+		assertEquals("ADMIN", results.get(2).role());
+		assertFalse(results.get(3).active(), "The user no longer exists");
+		assertFalse(results.get(4).active(), "The session was revoked");
+
+		assertEquals(1, users.batchQueries.get());
+		assertEquals(0, users.singleQueries.get());
+		assertTrue(maxAge(response) > 0 && maxAge(response) <= 30, response.getHeaders().getCacheControl());
+		assertTrue(response.getHeaders().getCacheControl().contains("private"));
+	}
+
+	@Test
+	void cacheLifetimeEndsWhenTheFirstActiveTokenExpires() {
+		User john = user("john@example.com", "USER");
+		String longLived = sessions.startSession(john).accessToken();
+		ReflectionTestUtils.setField(jwtUtil, "expirationMs", 10_000);
+		String shortLived = sessions.startSession(john).accessToken();
+
+		assertTrue(maxAge(service.introspect(List.of(longLived, shortLived))) <= 10);
+	}
+
+	@Test
+	void revokedTokenVersionsAreInactive() {
+		User john = user("john@example.com", "USER");
+		String token = sessions.startSession(john).accessToken();
+		users.incrementTokenVersion(john.getId());
+
+		assertFalse(results(service.introspect(List.of(token))).get(0).active());
+	}
+
+	@Test
+	void tokensOfADeletedAccountStayInactiveWhenItsEmailIsRegisteredAgain() {
+		User old = user("john@example.com", "ADMIN");
+		String token = sessions.startSession(old).accessToken();
+		users.deleteById(old.getId());
+		user("john@example.com", "USER");
+
+		assertFalse(results(service.introspect(List.of(token))).get(0).active());
+	}
+
+	@Test
+	void largeBatchesAreVerifiedInParallelWithOneQuery() {
+		List<String> tokens = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			tokens.add(sessions.startSession(user("user" + i + "@example.com", "USER")).accessToken());
+		}
+		Collections.shuffle(tokens);
+
+		List<TokenIntrospection> results = results(service.introspect(tokens));
+
+		for (int i = 0; i < tokens.size(); i++) {
+			assertTrue(results.get(i).active());
+			assertEquals(jwtUtil.extractUsername(tokens.get(i)), results.get(i).sub());
+		}
+		assertEquals(1, users.batchQueries.get());
+	}
+
+	@Test
+	void rejectsEmptyAndOversizedBatches() {
+		assertEquals(HttpStatus.BAD_REQUEST, service.introspect(List.of()).getStatusCode());
+		assertEquals(HttpStatus.BAD_REQUEST, service.introspect(null).getStatusCode());
+		assertEquals(HttpStatus.BAD_REQUEST, service.introspect(Collections.nCopies(101, "token")).getStatusCode());
+	}
+}
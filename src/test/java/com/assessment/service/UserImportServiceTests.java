@@ -0,0 +1,99 @@
+package com.assessment.service;
+
+import com.assessment.model.User;
+import com.assessment.repository.BulkInsertError;
+import com.assessment.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class UserImportServiceTests {
+
+	private UserRepository userRepository;
+	private UserImportService importService;
+	private final List<List<User>> batches = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		userRepository = mock(UserRepository.class);
+		when(userRepository.insertUnordered(anyList())).thenAnswer(invocation -> {
+			List<User> users = invocation.getArgument(0);
+			batches.add(List.copyOf(users));
+			// Reject the second user of the first batch as a duplicate
+			return batches.size() == 1 && users.size() > 1
+					? List.of(new BulkInsertError(1, BulkInsertError.DUPLICATE_KEY, "E11000 duplicate key"))
+					: List.of();
+		});
+
+		importService = new UserImportService(userRepository, new BCryptPasswordEncoder(4),
+				Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), 2);
+		ReflectionTestUtils.setField(importService, "batchSize", 2);
+		ReflectionTestUtils.setField(importService, "maxReportedFailures", 10);
+	}
+
+	@AfterEach
+	void tearDown() {
+		importService.destroy();
+	}
+
+	@Test
+	void importsCsvInBatchesAndReportsFailuresPerLine() throws Exception {
+		String csv = String.join("\n",
+				UserImportService.CSV_HEADER,
+				"John,Doe,john@example.com,5550001,secret1,",
+				"Jane,Doe,jane@example.com,5550002,secret2,ADMIN",
+				"X,Doe,bad-email,5550003,secret3,",
+				"\"Mary, Ann\",Smith,mary@example.com,5550004,secret4,USER");
+
+		Map<String, Object> report = importService.importUsers(stream(csv), true);
+
+		assertEquals(2L, report.get("imported"));
+		assertEquals(1L, report.get("duplicates"));
+		assertEquals(1L, report.get("invalid"));
+		assertEquals(2, batches.size());
+		assertEquals("Mary, Ann", batches.get(1).get(0).getFirstName());
+
+		User john = batches.get(0).get(0);
+		assertEquals("USER", john.getRole());
+		assertTrue(new BCryptPasswordEncoder().matches("secret1", john.getPassword()));
+
+		@SuppressWarnings("unchecked")
+		List<Map<String, Object>> failures = (List<Map<String, Object>>) report.get("failures");
+		assertEquals(3, failures.get(0).get("line"));
+		assertEquals("Email already exists", failures.get(0).get("reason"));
+		assertEquals(4, failures.get(1).get("line"));
+	}
+
+	@Test
+	void skipsMalformedNdjsonRowsWithoutAborting() throws Exception {
+		String ndjson = String.join("\n",
+				"{\"firstName\":\"John\",\"lastName\":\"Doe\",\"email\":\"john@example.com\",\"mobileNumber\":\"5550001\",\"password\":\"secret1\"}",
+				"{not json",
+				"",
+				"{\"firstName\":\"Jane\",\"lastName\":\"Doe\",\"email\":\"jane@example.com\",\"mobileNumber\":\"5550002\",\"password\":\"secret2\"}");
+
+		Map<String, Object> report = importService.importUsers(stream(ndjson), false);
+
+		assertEquals(1L, report.get("imported"));
+		assertEquals(1L, report.get("duplicates"));
+		assertEquals(1L, report.get("invalid"));
+		verify(userRepository, times(1)).insertUnordered(anyList());
+	}
+
+	private static ByteArrayInputStream stream(String body) {
+		return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+	}
+}